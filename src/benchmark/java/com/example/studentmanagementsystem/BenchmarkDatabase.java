@@ -0,0 +1,105 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.dataset.DatasetGenerator;
+import com.example.studentmanagementsystem.dataset.DatasetSource;
+import com.example.studentmanagementsystem.dataset.JdbcDatasetWriter;
+import com.example.studentmanagementsystem.enrollment.ClassroomSeats;
+import com.example.studentmanagementsystem.enrollment.EnrollmentCounters;
+import com.example.studentmanagementsystem.search.ClassroomSearchIndex;
+import com.example.studentmanagementsystem.search.StudentSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The BenchmarkDatabase class.
+ * Starts the application without its web server, and fills the database with a given number of students through
+ * batched JDBC inserts, so benchmarks measure the application against data of a known size. There is one classroom
+ * for every fifty students, students are enrolled in three of them on average, and classroom popularity follows a
+ * Zipf distribution. The data only depends on the number of students.
+ * @author Jorge Vasquez
+ * @since 1.8
+ * @see DatasetGenerator
+ */
+public final class BenchmarkDatabase {
+
+    public static final int STUDENTS_PER_CLASSROOM = 50;
+    public static final int CLASSROOMS_PER_STUDENT = 3;
+    public static final double CLASSROOM_SKEW = 1.0;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Starts the application and fills its database.
+     * @param studentCount the number of students
+     * @return the application context, to be closed once the benchmark is done
+     */
+    public static ConfigurableApplicationContext start(int studentCount) {
+        ConfigurableApplicationContext context = open();
+        load(context, dataset(studentCount));
+        return context;
+    }
+
+    /**
+     * Starts the application on the database it is configured with, without filling it.
+     * @param args the command line arguments, such as <code>--spring.profiles.active=persistent</code>
+     * @return the application context, to be closed once the benchmark is done
+     */
+    public static ConfigurableApplicationContext open(String... args) {
+        return new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                .web(false)
+                .properties("spring.main.banner-mode=off",
+                            "logging.level.root=WARN",
+                            "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run(args);
+    }
+
+    /**
+     * @param studentCount the number of students
+     * @return the generator of the dataset filling the database
+     */
+    public static DatasetGenerator dataset(int studentCount) {
+        return new DatasetGenerator(studentCount, classroomCount(studentCount), CLASSROOMS_PER_STUDENT, CLASSROOM_SKEW,
+                                    studentCount);
+    }
+
+    /**
+     * Inserts a dataset into the database of a started application, clears the second level cache, and reloads the
+     * search indexes, enrollment counters and classroom seats so they hold it.
+     * @param context the application context
+     * @param source  the source of the dataset
+     */
+    public static void load(ConfigurableApplicationContext context, DatasetSource source) {
+        try (JdbcDatasetWriter writer = new JdbcDatasetWriter(context.getBean(JdbcTemplate.class))) {
+            source.copyTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        context.getBean(SecondLevelCacheEvictor.class).evictAll();
+        context.getBean(StudentSearchIndex.class).load();
+        context.getBean(ClassroomSearchIndex.class).load();
+        context.getBean(EnrollmentCounters.class).load();
+        context.getBean(ClassroomSeats.class).load();
+    }
+
+    /**
+     * @param studentCount the number of students
+     * @return the number of classrooms created for the given number of students
+     */
+    public static int classroomCount(int studentCount) {
+        return Math.max(CLASSROOMS_PER_STUDENT, studentCount / STUDENTS_PER_CLASSROOM);
+    }
+
+    /**
+     * @param index the classroom index, starting at zero
+     * @return the code of the classroom
+     */
+    public static String classroomCode(int index) {
+        return DatasetGenerator.classroomCode(index);
+    }
+}
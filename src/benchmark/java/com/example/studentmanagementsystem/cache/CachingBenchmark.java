@@ -0,0 +1,99 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.BenchmarkDatabase;
+import com.example.studentmanagementsystem.controller.StudentApiController;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CachingBenchmark class.
+ * Compares <code>getStudentById</code> answered from <code>studentCache</code> with the same lookup made on the
+ * controller itself, bypassing the cache, for the students of the hot set. The hot set is loaded into the cache
+ * before measuring, and is smaller than the cache, so every cached lookup is a hit.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=CachingBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachingBenchmark {
+
+    private static final int STUDENT_COUNT = 10000;
+    private static final String SUMMARY_FIELDS = "id,firstName,lastName";
+
+    @Param({"100", "1000"})
+    private int hotSetSize;
+
+    private ConfigurableApplicationContext context;
+    private StudentApiController cachedController;
+    private StudentApiController uncachedController;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws StudentNotFoundException, InvalidFieldsException {
+        context = BenchmarkDatabase.start(STUDENT_COUNT);
+        cachedController = context.getBean(StudentApiController.class);
+        uncachedController = AopTestUtils.getUltimateTargetObject(cachedController);
+        for (int id = 1; id <= hotSetSize; id++) {
+            cachedController.getStudentById(id, null);
+            cachedController.getStudentById(id, SUMMARY_FIELDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<MappingJacksonValue> getStudentByIdCached() throws StudentNotFoundException,
+                                                                           InvalidFieldsException {
+        return cachedController.getStudentById(nextStudentId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<MappingJacksonValue> getStudentByIdUncached() throws StudentNotFoundException,
+                                                                             InvalidFieldsException {
+        return uncachedController.getStudentById(nextStudentId(), null);
+    }
+
+    @Benchmark
+    public ResponseEntity<MappingJacksonValue> getStudentSummaryByIdCached() throws StudentNotFoundException,
+                                                                                  InvalidFieldsException {
+        return cachedController.getStudentById(nextStudentId(), SUMMARY_FIELDS);
+    }
+
+    @Benchmark
+    public ResponseEntity<MappingJacksonValue> getStudentSummaryByIdUncached() throws StudentNotFoundException,
+                                                                                    InvalidFieldsException {
+        return uncachedController.getStudentById(nextStudentId(), SUMMARY_FIELDS);
+    }
+
+    private int nextStudentId() {
+        next = next % hotSetSize + 1;
+        return next;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The DatasetGenerator class.
+ * Generates students, classrooms and enrollments from a seed, so the same settings always give the same rows.
+ * Student ids run from one to the number of students. Names follow the distribution of {@link Names}, the number of
+ * classrooms of every student follows a Poisson distribution around the given average, and classrooms are picked
+ * following a Zipf distribution over a shuffled popularity ranking, so a few classrooms are crowded while most have
+ * few students, with no relation between popularity and code. Run as a program, it writes a seed file with the
+ * settings read from the <code>dataset.*</code> system properties.
+ * @author Jorge Vasquez
+ * @since 1.8
+ * @see SeedFile
+ */
+public final class DatasetGenerator implements DatasetSource {
+
+    private static final String[] SUBJECTS = {"Programacion", "Calculo", "Algebra lineal", "Fisica", "Bases de datos",
+                                              "Redes", "Sistemas operativos", "Estadistica", "Compiladores",
+                                              "Inteligencia artificial", "Ingenieria de software", "Arquitectura",
+                                              "Matematica discreta", "Economia", "Quimica", "Ingles tecnico"};
+    private static final int MAX_ATTEMPTS_PER_ENROLLMENT = 20;
+
+    private final int students;
+    private final int classrooms;
+    private final double enrollmentsPerStudent;
+    private final double skew;
+    private final long seed;
+
+    /**
+     * Creates a new instance of DatasetGenerator.
+     * @param students              the number of students
+     * @param classrooms            the number of classrooms
+     * @param enrollmentsPerStudent the average number of classrooms of every student
+     * @param skew                  the exponent of the Zipf distribution of classroom popularity, zero for uniform
+     * @param seed                  the seed of every random choice
+     */
+    public DatasetGenerator(int students, int classrooms, double enrollmentsPerStudent, double skew, long seed) {
+        if (students < 0 || classrooms <= 0 || enrollmentsPerStudent < 0 || skew < 0) {
+            throw new IllegalArgumentException("The sizes, the average enrollments and the skew must not be negative, "
+                                               + "and there must be at least one classroom");
+        }
+        this.students = students;
+        this.classrooms = classrooms;
+        this.enrollmentsPerStudent = enrollmentsPerStudent;
+        this.skew = skew;
+        this.seed = seed;
+    }
+
+    /**
+     * Writes a seed file.
+     * @param args not used, the settings are read from the <code>dataset.*</code> system properties
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int students = Integer.getInteger("dataset.students", 100000);
+        int classrooms = Integer.getInteger("dataset.classrooms", Math.max(1, students / 50));
+        double enrollmentsPerStudent = Double.parseDouble(System.getProperty("dataset.enrollments", "3"));
+        double skew = Double.parseDouble(System.getProperty("dataset.skew", "1"));
+        DatasetGenerator generator = new DatasetGenerator(students, classrooms, enrollmentsPerStudent, skew,
+                                                          Long.getLong("dataset.seed", 42L));
+        Path file = Paths.get(System.getProperty("dataset.file", "target/dataset.tsv.gz"));
+        long start = System.currentTimeMillis();
+        try (DatasetWriter writer = SeedFile.writer(file, generator.toString())) {
+            generator.copyTo(writer);
+        }
+        System.out.printf("Wrote %s to %s in %d ms%n", generator, file.toAbsolutePath(),
+                          System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @param index the classroom index, starting at zero
+     * @return the code of the classroom
+     */
+    public static String classroomCode(int index) {
+        return String.format("INF-%05d", index);
+    }
+
+    /**
+     * @param index the classroom index, starting at zero
+     * @return the title of the classroom, its subject followed by its section number
+     */
+    public static String title(int index) {
+        return SUBJECTS[index % SUBJECTS.length] + " " + section(index);
+    }
+
+    @Override
+    public void copyTo(DatasetWriter writer) throws IOException {
+        Random random = new Random(seed);
+        for (int i = 0; i < classrooms; i++) {
+            String subject = SUBJECTS[i % SUBJECTS.length];
+            writer.classroom(classroomCode(i), title(i),
+                             "Curso de " + subject.toLowerCase(Locale.ROOT) + ", seccion " + section(i));
+        }
+        int[] ranking = shuffledIndexes(classrooms, random);
+        ZipfDistribution popularity = new ZipfDistribution(classrooms, skew);
+        Set<Integer> enrolled = new LinkedHashSet<>();
+        for (int id = 1; id <= students; id++) {
+            writer.student(id, Names.firstName(random), Names.lastName(random));
+            int count = Math.min(poisson(enrollmentsPerStudent, random), classrooms);
+            enrolled.clear();
+            for (int attempt = 0; enrolled.size() < count && attempt < count * MAX_ATTEMPTS_PER_ENROLLMENT; attempt++) {
+                enrolled.add(ranking[popularity.sample(random)]);
+            }
+            for (int classroom : enrolled) {
+                writer.enrollment(id, classroomCode(classroom));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("students=%d classrooms=%d enrollments=%.2f skew=%.2f seed=%d",
+                             students, classrooms, enrollmentsPerStudent, skew, seed);
+    }
+
+    private static int section(int index) {
+        return index / SUBJECTS.length + 1;
+    }
+
+    private static int[] shuffledIndexes(int size, Random random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int other = random.nextInt(i + 1);
+            int swapped = indexes[i];
+            indexes[i] = indexes[other];
+            indexes[other] = swapped;
+        }
+        return indexes;
+    }
+
+    private static int poisson(double mean, Random random) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.io.IOException;
+
+/**
+ * The DatasetSource interface.
+ * Something a dataset can be read from, such as a generator or a seed file.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface DatasetSource {
+
+    /**
+     * Writes every row of the dataset, without closing the writer.
+     * @param writer the writer receiving the rows
+     * @throws IOException if the rows cannot be read or written
+     */
+    void copyTo(DatasetWriter writer) throws IOException;
+}
@@ -0,0 +1,37 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The DatasetWriter interface.
+ * Receives the rows of a dataset, every classroom first, and then every student followed by its enrollments. Rows
+ * may be buffered until the writer is closed.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public interface DatasetWriter extends Closeable {
+
+    /**
+     * @param code        the classroom code
+     * @param title       the classroom title
+     * @param description the classroom description
+     * @throws IOException if the row cannot be written
+     */
+    void classroom(String code, String title, String description) throws IOException;
+
+    /**
+     * @param id        the student id
+     * @param firstName the student first name
+     * @param lastName  the student last name
+     * @throws IOException if the row cannot be written
+     */
+    void student(int id, String firstName, String lastName) throws IOException;
+
+    /**
+     * @param studentId     the id of a student already written
+     * @param classroomCode the code of a classroom already written
+     * @throws IOException if the row cannot be written
+     */
+    void enrollment(int studentId, String classroomCode) throws IOException;
+}
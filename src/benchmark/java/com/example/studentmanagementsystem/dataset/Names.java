@@ -0,0 +1,53 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.util.Random;
+
+/**
+ * The Names class.
+ * Draws first and last names following a Zipf distribution over lists sorted from the most common name, so a few
+ * names are shared by many students and most are rare, as in real registers. Searches by name then hit result sets
+ * of very different sizes.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class Names {
+
+    private static final String[] FIRST_NAMES = {"Maria", "Jose", "Juan", "Ana", "Carlos", "Luis", "Carmen", "Jorge",
+                                                 "Laura", "Pedro", "Lucia", "Miguel", "Elena", "Javier", "Rosa",
+                                                 "Antonio", "Isabel", "Manuel", "Sofia", "Francisco", "Paula",
+                                                 "David", "Marta", "Daniel", "Cristina", "Alejandro", "Raquel",
+                                                 "Pablo", "Sara", "Sergio", "Teresa", "Fernando", "Pilar", "Diego",
+                                                 "Beatriz", "Andres", "Silvia", "Ricardo", "Natalia", "Gabriel",
+                                                 "Valeria", "Mateo", "Camila", "Ignacio", "Victoria", "Hugo",
+                                                 "Adriana", "Ramon", "Julia", "Esteban"};
+    private static final String[] LAST_NAMES = {"Garcia", "Rodriguez", "Gonzalez", "Fernandez", "Lopez", "Martinez",
+                                                "Sanchez", "Perez", "Gomez", "Martin", "Jimenez", "Ruiz",
+                                                "Hernandez", "Diaz", "Moreno", "Munoz", "Alvarez", "Romero",
+                                                "Alonso", "Gutierrez", "Navarro", "Torres", "Dominguez", "Vasquez",
+                                                "Ramos", "Gil", "Ramirez", "Serrano", "Blanco", "Molina", "Morales",
+                                                "Suarez", "Ortega", "Delgado", "Castro", "Ortiz", "Rubio", "Marin",
+                                                "Sanz", "Nunez", "Iglesias", "Medina", "Garrido", "Cortes",
+                                                "Castillo", "Santos", "Lozano", "Guerrero", "Cano", "Prieto"};
+    private static final double EXPONENT = 1.0;
+    private static final ZipfDistribution FIRST_NAME_DISTRIBUTION = new ZipfDistribution(FIRST_NAMES.length, EXPONENT);
+    private static final ZipfDistribution LAST_NAME_DISTRIBUTION = new ZipfDistribution(LAST_NAMES.length, EXPONENT);
+
+    private Names() {
+    }
+
+    /**
+     * @param random the source of the draw
+     * @return a first name
+     */
+    public static String firstName(Random random) {
+        return FIRST_NAMES[FIRST_NAME_DISTRIBUTION.sample(random)];
+    }
+
+    /**
+     * @param random the source of the draw
+     * @return a last name
+     */
+    public static String lastName(Random random) {
+        return LAST_NAMES[LAST_NAME_DISTRIBUTION.sample(random)];
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The SeedFile class.
+ * Stores a dataset as gzipped tab separated lines, one per row: <code>C code title description</code> for a
+ * classroom, <code>S id firstName lastName</code> for a student and <code>E studentId classroomCode</code> for an
+ * enrollment, in the order the rows were written. Lines starting with <code>#</code> are comments, the first one
+ * describing how the dataset was generated. Values must not hold tabs or line breaks.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class SeedFile {
+
+    private static final char SEPARATOR = '\t';
+
+    private SeedFile() {
+    }
+
+    /**
+     * Creates a writer storing a dataset in a file, which is replaced if it exists.
+     * @param file    the file
+     * @param comment the description of the dataset, written in the first line
+     * @return the writer, which must be closed
+     * @throws IOException if the file cannot be created
+     */
+    public static DatasetWriter writer(Path file, String comment) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Writer output = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)),
+                                                                  StandardCharsets.UTF_8));
+        output.write("# " + comment + "\n");
+        return new DatasetWriter() {
+            @Override
+            public void classroom(String code, String title, String description) throws IOException {
+                writeLine('C', code, title, description);
+            }
+
+            @Override
+            public void student(int id, String firstName, String lastName) throws IOException {
+                writeLine('S', String.valueOf(id), firstName, lastName);
+            }
+
+            @Override
+            public void enrollment(int studentId, String classroomCode) throws IOException {
+                writeLine('E', String.valueOf(studentId), classroomCode);
+            }
+
+            @Override
+            public void close() throws IOException {
+                output.close();
+            }
+
+            private void writeLine(char type, String... values) throws IOException {
+                output.write(type);
+                for (String value : values) {
+                    output.write(SEPARATOR);
+                    output.write(value == null ? "" : value);
+                }
+                output.write('\n');
+            }
+        };
+    }
+
+    /**
+     * @param file the file
+     * @return a source reading the dataset stored in the file
+     */
+    public static DatasetSource source(Path file) {
+        return writer -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                int number = 0;
+                while ((line = reader.readLine()) != null) {
+                    number++;
+                    if (line.isEmpty() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    String[] values = line.split(String.valueOf(SEPARATOR), -1);
+                    if (values[0].equals("C") && values.length == 4) {
+                        writer.classroom(values[1], values[2], values[3]);
+                    } else if (values[0].equals("S") && values.length == 4) {
+                        writer.student(Integer.parseInt(values[1]), values[2], values[3]);
+                    } else if (values[0].equals("E") && values.length == 3) {
+                        writer.enrollment(Integer.parseInt(values[1]), values[2]);
+                    } else {
+                        throw new IOException("Line " + number + " of " + file + " is not a dataset row");
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.studentmanagementsystem.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The ZipfDistribution class.
+ * Draws ranks from zero to a given size, the probability of every rank being inversely proportional to a power of
+ * its position, so the first ranks are drawn far more often than the last ones. An exponent of zero draws every rank
+ * equally often. The cumulative probabilities are computed once, and every draw is a binary search.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * Creates a new instance of ZipfDistribution.
+     * @param size     the number of ranks
+     * @param exponent the skew, zero for a uniform distribution
+     */
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("The size must be positive and the exponent must not be negative");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    /**
+     * @return the number of ranks
+     */
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * Draws a rank.
+     * @param random the source of the draw
+     * @return the rank, from zero to the size excluded
+     */
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
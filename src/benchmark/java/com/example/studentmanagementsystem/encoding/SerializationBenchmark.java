@@ -0,0 +1,157 @@
+package com.example.studentmanagementsystem.encoding;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The SerializationBenchmark class.
+ * Compares the cost of encoding a search page in every format the API negotiates: JSON, gzipped JSON, Smile and
+ * CBOR. Pages hold students with their classrooms, as <code>/students/search</code> returns them, or classroom
+ * summaries, as <code>/classes/search</code> does. The encoded size of every page is printed once per fork.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=SerializationBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int CLASSROOM_COUNT = 50;
+    private static final int CLASSROOMS_PER_STUDENT = 4;
+    private static final String[] FIRST_NAMES = {"Jorge", "Maria", "Jose", "Ana", "Luis", "Carmen", "Juan", "Rosa",
+                                                 "Carlos", "Lucia", "Pedro", "Elena"};
+    private static final String[] LAST_NAMES = {"Vasquez", "Lopez", "Perez", "Garcia", "Martinez", "Rodriguez",
+                                                "Fernandez", "Gonzalez", "Sanchez", "Ramirez"};
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper json;
+    private ObjectMapper smile;
+    private ObjectMapper cbor;
+    private List<Student> students;
+    private List<ClassroomSummary> classrooms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = mapper(new JsonFactory());
+        smile = mapper(new SmileFactory());
+        cbor = mapper(new CBORFactory());
+        Random random = new Random(42);
+        List<Classroom> catalog = new ArrayList<>();
+        for (int i = 0; i < CLASSROOM_COUNT; i++) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(String.format("INF-%03d", i));
+            classroom.setTitle("Programacion " + i);
+            classroom.setDescription("Fundamentos de programacion, estructuras de datos y algoritmos, nivel " + i);
+            catalog.add(classroom);
+        }
+        students = new ArrayList<>();
+        classrooms = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Student student = new Student();
+            student.setId(i + 1);
+            student.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            student.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            Set<Classroom> enrolled = new LinkedHashSet<>();
+            while (enrolled.size() < CLASSROOMS_PER_STUDENT) {
+                enrolled.add(catalog.get(random.nextInt(CLASSROOM_COUNT)));
+            }
+            student.setClassrooms(enrolled);
+            students.add(student);
+            Classroom classroom = catalog.get(i % CLASSROOM_COUNT);
+            classrooms.add(new ClassroomSummary(String.format("INF-%04d", i), classroom.getTitle(),
+                                                classroom.getDescription(), null, 0));
+        }
+        System.out.printf("Page of %d students: json=%d gzip=%d smile=%d cbor=%d bytes%n", pageSize,
+                          studentsAsJson().length, studentsAsGzipJson().length, studentsAsSmile().length,
+                          studentsAsCbor().length);
+        System.out.printf("Page of %d classrooms: json=%d gzip=%d smile=%d cbor=%d bytes%n", pageSize,
+                          classroomsAsJson().length, classroomsAsGzipJson().length, classroomsAsSmile().length,
+                          classroomsAsCbor().length);
+    }
+
+    @Benchmark
+    public byte[] studentsAsJson() throws IOException {
+        return json.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] studentsAsGzipJson() throws IOException {
+        return gzip(json, students);
+    }
+
+    @Benchmark
+    public byte[] studentsAsSmile() throws IOException {
+        return smile.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] studentsAsCbor() throws IOException {
+        return cbor.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] classroomsAsJson() throws IOException {
+        return json.writeValueAsBytes(classrooms);
+    }
+
+    @Benchmark
+    public byte[] classroomsAsGzipJson() throws IOException {
+        return gzip(json, classrooms);
+    }
+
+    @Benchmark
+    public byte[] classroomsAsSmile() throws IOException {
+        return smile.writeValueAsBytes(classrooms);
+    }
+
+    @Benchmark
+    public byte[] classroomsAsCbor() throws IOException {
+        return cbor.writeValueAsBytes(classrooms);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory).setFilterProvider(FieldSelection.defaultFilters());
+    }
+
+    private static byte[] gzip(ObjectMapper mapper, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, value);
+        }
+        return bytes.toByteArray();
+    }
+}
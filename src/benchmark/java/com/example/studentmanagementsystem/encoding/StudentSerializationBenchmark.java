@@ -0,0 +1,78 @@
+package com.example.studentmanagementsystem.encoding;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The StudentSerializationBenchmark class.
+ * Measures the JSON encoding of a single student, as <code>/students?id=</code> returns it, with its classrooms and
+ * without them, the latter through the same field selection filters as <code>fields=id,firstName,lastName</code>.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=StudentSerializationBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentSerializationBenchmark {
+
+    @Param({"0", "4", "16"})
+    private int classroomCount;
+
+    private ObjectMapper json;
+    private ObjectWriter withoutClassrooms;
+    private Student student;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidFieldsException {
+        student = new Student();
+        student.setId(1);
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        Set<Classroom> classrooms = new LinkedHashSet<>();
+        for (int i = 0; i < classroomCount; i++) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(String.format("INF-%03d", i));
+            classroom.setTitle("Programacion " + i);
+            classroom.setDescription("Fundamentos de programacion, estructuras de datos y algoritmos, nivel " + i);
+            classrooms.add(classroom);
+        }
+        student.setClassrooms(classrooms);
+        json = new ObjectMapper().setFilterProvider(FieldSelection.defaultFilters());
+        withoutClassrooms = json.writer(FieldSelection.ofStudent("id,firstName,lastName").apply(student).getFilters());
+    }
+
+    @Benchmark
+    public byte[] studentWithClassrooms() throws IOException {
+        return json.writeValueAsBytes(student);
+    }
+
+    @Benchmark
+    public byte[] studentWithoutClassrooms() throws IOException {
+        return withoutClassrooms.writeValueAsBytes(student);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.studentmanagementsystem.load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The LoadClient class.
+ * Sends the requests of a load test over HTTP/1.1, reading every response to its end so connections are kept alive
+ * and reused. Responses are not compressed, so the latencies measure the application rather than gzip. Thread safe.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LoadClient {
+
+    private static final int TIMEOUT_MILLIS = 60000;
+
+    private final String baseUrl;
+
+    /**
+     * Creates a new instance of LoadClient.
+     * @param baseUrl     the base URL of the application, without a trailing slash
+     * @param connections the number of connections kept alive
+     */
+    LoadClient(String baseUrl, int connections) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(connections));
+    }
+
+    /**
+     * @return the base URL of the application
+     */
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Sends a request and waits for the whole response.
+     * @param request the request
+     * @return the response
+     * @throws IOException if the request cannot be sent or the response cannot be read
+     */
+    Response send(LoadRequest request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + request.getPath()).openConnection();
+        connection.setRequestMethod(request.getMethod());
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        if (request.getBody() != null) {
+            byte[] body = request.getBody().getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream inputStream = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream()
+                                                                             : connection.getErrorStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (inputStream != null) {
+            try (InputStream responseStream = inputStream) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = responseStream.read(buffer)) >= 0) {
+                    body.write(buffer, 0, read);
+                }
+            }
+        }
+        return new Response(status, body.toByteArray());
+    }
+
+    /**
+     * The status and body of a response.
+     */
+    static final class Response {
+
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        /**
+         * @return the HTTP status code
+         */
+        int getStatus() {
+            return status;
+        }
+
+        /**
+         * @return true if the status is a 2xx one
+         */
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * @return the body
+         */
+        byte[] getBody() {
+            return body;
+        }
+    }
+}
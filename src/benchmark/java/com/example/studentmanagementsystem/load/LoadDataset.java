@@ -0,0 +1,203 @@
+package com.example.studentmanagementsystem.load;
+
+import com.example.studentmanagementsystem.dataset.DatasetSource;
+import com.example.studentmanagementsystem.dataset.DatasetWriter;
+import com.example.studentmanagementsystem.dataset.Names;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The LoadDataset class.
+ * The ids of the students and the codes of the classrooms a load test works on. They are either read from the
+ * database of an application started by the load test, or created through the bulk endpoints of a running one, where
+ * classroom codes get a prefix so the data of several runs can live together.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LoadDataset {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int[] studentIds;
+    private final String[] classroomCodes;
+
+    private LoadDataset(int[] studentIds, String[] classroomCodes) {
+        this.studentIds = studentIds;
+        this.classroomCodes = classroomCodes;
+    }
+
+    /**
+     * Reads the students and classrooms already in a database.
+     * @param jdbcTemplate reference to the JdbcTemplate of the application database
+     * @return the dataset
+     */
+    static LoadDataset of(JdbcTemplate jdbcTemplate) {
+        List<Integer> studentIds = jdbcTemplate.queryForList("SELECT id FROM student ORDER BY id", Integer.class);
+        List<String> classroomCodes = jdbcTemplate.queryForList("SELECT code FROM classroom ORDER BY code", String.class);
+        if (studentIds.isEmpty() || classroomCodes.isEmpty()) {
+            throw new IllegalStateException("The dataset must hold at least one student and one classroom");
+        }
+        return new LoadDataset(studentIds.stream().mapToInt(Integer::intValue).toArray(),
+                               classroomCodes.toArray(new String[0]));
+    }
+
+    /**
+     * Creates the students, classrooms and enrollments of a dataset through the bulk endpoints of the application.
+     * @param client the client of the application under test
+     * @param source the source of the dataset
+     * @return the dataset, with the ids given by the application
+     * @throws IOException if the data cannot be created
+     */
+    static LoadDataset create(LoadClient client, DatasetSource source) throws IOException {
+        String prefix = "L" + Long.toString(System.currentTimeMillis() / 1000 % 46656, 36).toUpperCase() + "-";
+        ApiWriter writer = new ApiWriter(client, prefix);
+        source.copyTo(writer);
+        writer.close();
+        return new LoadDataset(writer.studentIds.values().stream().mapToInt(Integer::intValue).toArray(),
+                               writer.classroomCodes.toArray(new String[0]));
+    }
+
+    /**
+     * Writes a student with random names as JSON.
+     * @param id     the id of the student, or null for a new student
+     * @param random the source of the random names
+     * @return the JSON document
+     */
+    static String studentJson(Integer id, Random random) {
+        ObjectNode student = objectMapper.createObjectNode();
+        if (id != null) {
+            student.put("id", id);
+        }
+        student.put("firstName", Names.firstName(random));
+        student.put("lastName", Names.lastName(random));
+        return student.toString();
+    }
+
+    /**
+     * @param random the source of the random choice
+     * @return the id of a random student of the dataset
+     */
+    int studentId(Random random) {
+        return studentIds[random.nextInt(studentIds.length)];
+    }
+
+    /**
+     * @param random the source of the random choice
+     * @return the code of a random classroom of the dataset
+     */
+    String classroomCode(Random random) {
+        return classroomCodes[random.nextInt(classroomCodes.length)];
+    }
+
+    /**
+     * @return the number of classrooms of the dataset
+     */
+    int classroomCount() {
+        return classroomCodes.length;
+    }
+
+    private static JsonNode importRows(LoadClient client, String path, ArrayNode rows) throws IOException {
+        LoadClient.Response response = client.send(LoadRequest.post(path, rows.toString()));
+        JsonNode result = objectMapper.readTree(check(response, "import rows through " + path));
+        if (result.get("failed").asInt() > 0) {
+            throw new IOException(result.get("failed").asInt() + " rows could not be imported through " + path);
+        }
+        return result.get("rows");
+    }
+
+    private static byte[] check(LoadClient.Response response, String action) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("Could not " + action + ", the application answered " + response.getStatus());
+        }
+        return response.getBody();
+    }
+
+    /**
+     * Sends the rows of a dataset to the bulk endpoints, mapping the generated student ids to the ones given by the
+     * application. Enrollments are sent by classroom once every student is created.
+     */
+    private static final class ApiWriter implements DatasetWriter {
+
+        private final LoadClient client;
+        private final String prefix;
+        private final List<String> classroomCodes = new ArrayList<>();
+        private final ArrayNode classrooms = objectMapper.createArrayNode();
+        private final ArrayNode students = objectMapper.createArrayNode();
+        private final List<Integer> pendingStudentIds = new ArrayList<>();
+        private final Map<Integer, Integer> studentIds = new LinkedHashMap<>();
+        private final Map<String, List<Integer>> enrollments = new HashMap<>();
+
+        private ApiWriter(LoadClient client, String prefix) {
+            this.client = client;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public void classroom(String code, String title, String description) throws IOException {
+            classroomCodes.add(prefix + code);
+            classrooms.addObject().put("code", prefix + code).put("title", title).put("description", description);
+            if (classrooms.size() == BATCH_SIZE) {
+                flushClassrooms();
+            }
+        }
+
+        @Override
+        public void student(int id, String firstName, String lastName) throws IOException {
+            flushClassrooms();
+            pendingStudentIds.add(id);
+            students.addObject().put("firstName", firstName).put("lastName", lastName);
+            if (students.size() == BATCH_SIZE) {
+                flushStudents();
+            }
+        }
+
+        @Override
+        public void enrollment(int studentId, String classroomCode) {
+            enrollments.computeIfAbsent(prefix + classroomCode, key -> new ArrayList<>()).add(studentId);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushClassrooms();
+            flushStudents();
+            for (Map.Entry<String, List<Integer>> entry : enrollments.entrySet()) {
+                List<Integer> ids = new ArrayList<>(entry.getValue().size());
+                entry.getValue().forEach(id -> ids.add(studentIds.get(id)));
+                String body = objectMapper.writeValueAsString(ids);
+                check(client.send(LoadRequest.post("/classes/" + entry.getKey() + "/students", body)),
+                      "enroll students");
+            }
+            enrollments.clear();
+        }
+
+        private void flushClassrooms() throws IOException {
+            if (classrooms.size() > 0) {
+                importRows(client, "/classes/bulk", classrooms);
+                classrooms.removeAll();
+            }
+        }
+
+        private void flushStudents() throws IOException {
+            if (students.size() > 0) {
+                JsonNode rows = importRows(client, "/students/bulk", students);
+                for (int i = 0; i < rows.size(); i++) {
+                    studentIds.put(pendingStudentIds.get(i), rows.get(i).get("id").asInt());
+                }
+                students.removeAll();
+                pendingStudentIds.clear();
+            }
+        }
+    }
+}
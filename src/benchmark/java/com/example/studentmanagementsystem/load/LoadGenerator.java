@@ -0,0 +1,113 @@
+package com.example.studentmanagementsystem.load;
+
+import com.example.studentmanagementsystem.BenchmarkDatabase;
+import com.example.studentmanagementsystem.StudentManagementSystemApplication;
+import com.example.studentmanagementsystem.dataset.DatasetGenerator;
+import com.example.studentmanagementsystem.dataset.DatasetSource;
+import com.example.studentmanagementsystem.dataset.SeedFile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The LoadGenerator class.
+ * Drives the HTTP endpoints of the application with a mix of operations in open loop: requests are scheduled at a
+ * constant rate, whatever the response times are, and run by a fixed number of client threads, so when the
+ * application falls behind the scheduled requests queue up and their waiting time shows in the response times, as it
+ * would for real users. The dataset, generated or read from a seed file, is loaded first, then the workload runs for
+ * a warmup period whose latencies are discarded, and then for the measured period. Without a base URL the application
+ * is started in this JVM on a random port, with its default configuration, and the dataset is inserted through JDBC.
+ * Otherwise it is created through the bulk endpoints of the running application.
+ * @author Jorge Vasquez
+ * @since 1.8
+ * @see LoadTestOptions
+ */
+public final class LoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 120;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        String url = options.getUrl();
+        if (url == null) {
+            context = new SpringApplicationBuilder(StudentManagementSystemApplication.class)
+                    .properties("server.port=0",
+                                "spring.main.banner-mode=off",
+                                "logging.level.root=WARN")
+                    .run(args);
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadClient client = new LoadClient(url, options.getConnections());
+            Random random = new Random(options.getSeed());
+            System.out.printf("Load test of %s with %s%n", client.getBaseUrl(), options);
+            DatasetSource source = options.getSeedFile() != null
+                                   ? SeedFile.source(options.getSeedFile())
+                                   : new DatasetGenerator(options.getStudents(), options.getClassrooms(),
+                                                          BenchmarkDatabase.CLASSROOMS_PER_STUDENT,
+                                                          BenchmarkDatabase.CLASSROOM_SKEW, options.getSeed());
+            long start = System.currentTimeMillis();
+            LoadDataset dataset;
+            if (context != null) {
+                BenchmarkDatabase.load(context, source);
+                dataset = LoadDataset.of(context.getBean(JdbcTemplate.class));
+            } else {
+                dataset = LoadDataset.create(client, source);
+            }
+            System.out.printf("Loaded the dataset in %d ms%n", System.currentTimeMillis() - start);
+            if (options.getWarmupSeconds() > 0) {
+                System.out.printf("Warming up for %d s%n", options.getWarmupSeconds());
+                run(client, dataset, options, options.getWarmupSeconds(), random);
+            }
+            System.out.printf("Measuring for %d s%n", options.getDurationSeconds());
+            run(client, dataset, options, options.getDurationSeconds(), random).print(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static LoadReport run(LoadClient client, LoadDataset dataset, LoadTestOptions options, int seconds,
+                                  Random random) throws InterruptedException {
+        Map<Operation, OperationRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : options.getMix().getOperations()) {
+            recorders.put(operation, new OperationRecorder(operation));
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("load-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConnections(), threadFactory);
+        long requests = Math.round(options.getRate() * seconds);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            for (long delay = scheduled - System.nanoTime(); delay > 0; delay = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = options.getMix().next(random);
+            LoadRequest request = operation.request(dataset, random);
+            OperationRecorder recorder = recorders.get(operation);
+            executor.execute(() -> recorder.send(client, request, scheduled));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            System.out.printf("Requests still running after %d s were abandoned%n", DRAIN_TIMEOUT_SECONDS);
+        }
+        return new LoadReport(recorders.values(), options.getRate(), System.nanoTime() - start);
+    }
+}
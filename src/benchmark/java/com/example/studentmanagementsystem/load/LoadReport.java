@@ -0,0 +1,91 @@
+package com.example.studentmanagementsystem.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoadReport class.
+ * Prints the throughput and the latency percentiles of every endpoint driven by a load test, and of all of them
+ * together. Percentiles are response times corrected for coordinated omission, except the last column, which is the
+ * 99th percentile of the service time.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LoadReport {
+
+    private static final String ROW_FORMAT = "%-36s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n";
+    private static final double KEEP_UP_RATIO = 0.95;
+
+    private final Collection<OperationRecorder> recorders;
+    private final double targetRate;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new instance of LoadReport.
+     * @param recorders    the recorders of every operation
+     * @param targetRate   the number of requests scheduled every second
+     * @param elapsedNanos the time from the first scheduled request to the last completed one
+     */
+    LoadReport(Collection<OperationRecorder> recorders, double targetRate, long elapsedNanos) {
+        this.recorders = recorders;
+        this.targetRate = targetRate;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Prints the report.
+     * @param out the stream to print to
+     */
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Histogram allResponseTimes = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        Map<String, Long> errors = new TreeMap<>();
+        out.printf(ROW_FORMAT, "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                   "Max ms", "Svc p99");
+        for (OperationRecorder recorder : recorders) {
+            Histogram responseTimes = recorder.getResponseTimes().copy();
+            Histogram serviceTimes = recorder.getServiceTimes().copy();
+            if (responseTimes.getTotalCount() == 0) {
+                continue;
+            }
+            long errorCount = 0;
+            for (Map.Entry<Integer, Long> entry : recorder.getErrors().entrySet()) {
+                errorCount += entry.getValue();
+                String status = entry.getKey() == OperationRecorder.NO_RESPONSE ? "no response"
+                                                                                 : "HTTP " + entry.getKey();
+                errors.merge(recorder.getOperation().getEndpoint() + ": " + status, entry.getValue(), Long::sum);
+            }
+            printRow(out, recorder.getOperation().getEndpoint(), responseTimes, serviceTimes, errorCount, seconds);
+            allResponseTimes.add(responseTimes);
+            allServiceTimes.add(serviceTimes);
+        }
+        long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+        printRow(out, "All", allResponseTimes, allServiceTimes, errorCount, seconds);
+        errors.forEach((error, count) -> out.printf("Failed %s: %d%n", error, count));
+        double achievedRate = allResponseTimes.getTotalCount() / seconds;
+        out.printf("Scheduled %.1f requests/s, completed %.1f requests/s over %.1f s%n", targetRate, achievedRate,
+                   seconds);
+        if (achievedRate < targetRate * KEEP_UP_RATIO) {
+            out.println("The application did not keep up with the scheduled rate, response times include the backlog");
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram responseTimes, Histogram serviceTimes,
+                                 long errorCount, double seconds) {
+        out.printf(ROW_FORMAT, name, responseTimes.getTotalCount(), errorCount,
+                   String.format("%.1f", responseTimes.getTotalCount() / seconds),
+                   millis(responseTimes.getValueAtPercentile(50)), millis(responseTimes.getValueAtPercentile(90)),
+                   millis(responseTimes.getValueAtPercentile(99)), millis(responseTimes.getValueAtPercentile(99.9)),
+                   millis(responseTimes.getMaxValue()), millis(serviceTimes.getValueAtPercentile(99)));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
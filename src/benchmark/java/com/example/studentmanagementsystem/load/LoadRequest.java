@@ -0,0 +1,75 @@
+package com.example.studentmanagementsystem.load;
+
+/**
+ * The LoadRequest class.
+ * An HTTP request sent by the load test, with its JSON body if any.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LoadRequest {
+
+    private final String method;
+    private final String path;
+    private final String body;
+
+    private LoadRequest(String method, String path, String body) {
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+
+    /**
+     * @param path the path and query
+     * @return a GET request
+     */
+    static LoadRequest get(String path) {
+        return new LoadRequest("GET", path, null);
+    }
+
+    /**
+     * @param path the path and query
+     * @param body the JSON body, or null for none
+     * @return a POST request
+     */
+    static LoadRequest post(String path, String body) {
+        return new LoadRequest("POST", path, body);
+    }
+
+    /**
+     * @param path the path and query
+     * @param body the JSON body
+     * @return a PUT request
+     */
+    static LoadRequest put(String path, String body) {
+        return new LoadRequest("PUT", path, body);
+    }
+
+    /**
+     * @param path the path and query
+     * @return a DELETE request
+     */
+    static LoadRequest delete(String path) {
+        return new LoadRequest("DELETE", path, null);
+    }
+
+    /**
+     * @return the HTTP method
+     */
+    String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the path and query, relative to the base URL
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the JSON body, or null if there is none
+     */
+    String getBody() {
+        return body;
+    }
+}
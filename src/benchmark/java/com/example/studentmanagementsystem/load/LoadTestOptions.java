@@ -0,0 +1,140 @@
+package com.example.studentmanagementsystem.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The LoadTestOptions class.
+ * Settings of a load test, read from the <code>load.*</code> system properties. Without a base URL the application
+ * is started in the same JVM, on a random port. Without a seed file the dataset is generated from the seed.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LoadTestOptions {
+
+    private final String url;
+    private final double rate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final WorkloadMix mix;
+    private final Path seedFile;
+    private final int students;
+    private final int classrooms;
+    private final int connections;
+    private final long seed;
+
+    private LoadTestOptions(String url, double rate, int warmupSeconds, int durationSeconds, WorkloadMix mix,
+                            Path seedFile, int students, int classrooms, int connections, long seed) {
+        if (rate <= 0 || warmupSeconds < 0 || durationSeconds <= 0 || students <= 0 || classrooms <= 0
+            || connections <= 0) {
+            throw new IllegalArgumentException("The rate, duration, data sizes and connections must be positive");
+        }
+        this.url = url;
+        this.rate = rate;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.mix = mix;
+        this.seedFile = seedFile;
+        this.students = students;
+        this.classrooms = classrooms;
+        this.connections = connections;
+        this.seed = seed;
+    }
+
+    /**
+     * Reads the options from the system properties, using the defaults for the missing ones.
+     * @return the options
+     */
+    static LoadTestOptions fromSystemProperties() {
+        String url = System.getProperty("load.url", "").trim();
+        String seedFile = System.getProperty("load.seed-file", "").trim();
+        return new LoadTestOptions(url.isEmpty() ? null : url,
+                                   Double.parseDouble(System.getProperty("load.rate", "200")),
+                                   Integer.getInteger("load.warmup", 10),
+                                   Integer.getInteger("load.duration", 60),
+                                   WorkloadMix.parse(System.getProperty("load.mix", "mixed")),
+                                   seedFile.isEmpty() ? null : Paths.get(seedFile),
+                                   Integer.getInteger("load.students", 10000),
+                                   Integer.getInteger("load.classrooms", 200),
+                                   Integer.getInteger("load.connections", 64),
+                                   Long.getLong("load.seed", 42L));
+    }
+
+    /**
+     * @return the base URL of the application under test, or null to start it in this JVM
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the number of requests started every second
+     */
+    double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return the seconds the workload runs before latencies are recorded
+     */
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /**
+     * @return the seconds the workload runs while latencies are recorded
+     */
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * @return the mix of operations
+     */
+    WorkloadMix getMix() {
+        return mix;
+    }
+
+    /**
+     * @return the seed file holding the dataset, or null to generate it
+     */
+    Path getSeedFile() {
+        return seedFile;
+    }
+
+    /**
+     * @return the number of students generated before the test
+     */
+    int getStudents() {
+        return students;
+    }
+
+    /**
+     * @return the number of classrooms generated before the test
+     */
+    int getClassrooms() {
+        return classrooms;
+    }
+
+    /**
+     * @return the maximum number of requests in flight, which is also the number of client threads
+     */
+    int getConnections() {
+        return connections;
+    }
+
+    /**
+     * @return the seed of the random choices, so runs can be repeated
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        String dataset = seedFile != null ? "seed-file=" + seedFile
+                                          : "students=" + students + " classrooms=" + classrooms;
+        return String.format("rate=%.1f/s warmup=%ds duration=%ds mix=%s %s connections=%d seed=%d",
+                             rate, warmupSeconds, durationSeconds, mix, dataset, connections, seed);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.studentmanagementsystem.load;
+
+import com.example.studentmanagementsystem.dataset.DatasetGenerator;
+import com.example.studentmanagementsystem.dataset.Names;
+
+import java.util.Random;
+
+/**
+ * The Operation enum.
+ * The requests a load test can send, each one against a real endpoint and random data of the seeded dataset.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+enum Operation {
+
+    GET_STUDENT("GET /students") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.get("/students?id=" + dataset.studentId(random));
+        }
+    },
+    GET_CLASSROOM("GET /classes") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.get("/classes?code=" + dataset.classroomCode(random));
+        }
+    },
+    GET_STUDENT_CLASSROOMS("GET /students/classes") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.get("/students/classes?id=" + dataset.studentId(random));
+        }
+    },
+    GET_CLASSROOM_STUDENTS("GET /classes/students") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.get("/classes/students?code=" + dataset.classroomCode(random));
+        }
+    },
+    SEARCH_STUDENTS("GET /students/search") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            String lastName = Names.lastName(random);
+            return LoadRequest.get("/students/search?lastName="
+                                   + lastName.substring(0, Math.min(lastName.length(), 3 + random.nextInt(3)))
+                                   + "&size=20");
+        }
+    },
+    SEARCH_CLASSROOMS("GET /classes/search") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            String title = DatasetGenerator.title(random.nextInt(dataset.classroomCount()));
+            return LoadRequest.get("/classes/search?title=" + title.replace(' ', '+') + "&size=20");
+        }
+    },
+    ENROLL("POST /students/{id}/class/{code}") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.post("/students/" + dataset.studentId(random) + "/class/" + dataset.classroomCode(random),
+                                    null);
+        }
+    },
+    DROP("DELETE /students/{id}/class/{code}") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.delete("/students/" + dataset.studentId(random) + "/class/" + dataset.classroomCode(random));
+        }
+    },
+    CREATE_STUDENT("POST /students") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.post("/students", LoadDataset.studentJson(null, random));
+        }
+    },
+    UPDATE_STUDENT("PUT /students") {
+        @Override
+        LoadRequest request(LoadDataset dataset, Random random) {
+            return LoadRequest.put("/students", LoadDataset.studentJson(dataset.studentId(random), random));
+        }
+    };
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return the method and path template of the endpoint
+     */
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Creates the next request of this operation.
+     * @param dataset the seeded dataset
+     * @param random  the source of the random choices
+     * @return the request
+     */
+    abstract LoadRequest request(LoadDataset dataset, Random random);
+}
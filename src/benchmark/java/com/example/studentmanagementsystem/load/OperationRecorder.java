@@ -0,0 +1,100 @@
+package com.example.studentmanagementsystem.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The OperationRecorder class.
+ * Sends the requests of one operation and records their latencies, in microseconds. The response time is measured
+ * from the moment the request was scheduled to start, not from the moment it was sent, so the time a request waits
+ * behind slow ones is counted, and stalls of the application are not hidden by the load test slowing down with it,
+ * which is known as coordinated omission. The service time, measured from the moment it was sent, is recorded too,
+ * so both can be compared. Thread safe.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class OperationRecorder {
+
+    /**
+     * The status recorded for the requests that failed without a response.
+     */
+    static final int NO_RESPONSE = 0;
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of OperationRecorder.
+     * @param operation the recorded operation
+     */
+    OperationRecorder(Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Sends a request and records its latencies and outcome.
+     * @param client         the client of the application under test
+     * @param request        the request
+     * @param scheduledNanos the time the request was scheduled to start, from {@link System#nanoTime()}
+     */
+    void send(LoadClient client, LoadRequest request, long scheduledNanos) {
+        long sentNanos = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request).getStatus();
+        } catch (IOException e) {
+            status = NO_RESPONSE;
+        }
+        long completedNanos = System.nanoTime();
+        responseTimes.recordValue(toMicros(completedNanos - scheduledNanos));
+        serviceTimes.recordValue(toMicros(completedNanos - sentNanos));
+        if (status < 200 || status >= 300) {
+            errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * @return the recorded operation
+     */
+    Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the latencies from the scheduled start of the requests, corrected for coordinated omission
+     */
+    Histogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    /**
+     * @return the latencies from the moment the requests were sent
+     */
+    Histogram getServiceTimes() {
+        return serviceTimes;
+    }
+
+    /**
+     * @return the number of failed requests by status, {@link #NO_RESPONSE} for those without a response
+     */
+    Map<Integer, Long> getErrors() {
+        Map<Integer, Long> counts = new ConcurrentHashMap<>();
+        errors.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
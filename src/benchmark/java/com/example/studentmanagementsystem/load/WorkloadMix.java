@@ -0,0 +1,124 @@
+package com.example.studentmanagementsystem.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The WorkloadMix class.
+ * The share of every operation in a load test. A mix is either one of the named profiles, or a comma separated list
+ * of operations with their weights, such as <code>GET_STUDENT:80,ENROLL:20</code>.
+ * <ul>
+ *     <li><code>browse</code>: mostly point reads and searches, as when students look through the catalogue</li>
+ *     <li><code>registration</code>: mostly enrollments and drops, as in the first days of a term</li>
+ *     <li><code>mixed</code>: reads and searches with a steady share of enrollments and writes</li>
+ * </ul>
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class WorkloadMix {
+
+    private final String name;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private WorkloadMix(String name, Map<Operation, Integer> weights) {
+        this.name = name;
+        this.operations = new Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() <= 0) {
+                throw new IllegalArgumentException("The weight of " + entry.getKey() + " must be positive");
+            }
+            total += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index++] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix must hold at least one operation");
+        }
+    }
+
+    /**
+     * Reads a mix from its name or from its list of weighted operations.
+     * @param value the name of a profile, or the weighted operations
+     * @return the mix
+     */
+    static WorkloadMix parse(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "browse":
+                return new WorkloadMix("browse", weights(Operation.GET_STUDENT, 35, Operation.GET_CLASSROOM, 15,
+                                                         Operation.GET_STUDENT_CLASSROOMS, 10,
+                                                         Operation.GET_CLASSROOM_STUDENTS, 5,
+                                                         Operation.SEARCH_STUDENTS, 15, Operation.SEARCH_CLASSROOMS, 15,
+                                                         Operation.ENROLL, 3, Operation.UPDATE_STUDENT, 2));
+            case "registration":
+                return new WorkloadMix("registration", weights(Operation.GET_STUDENT, 10, Operation.GET_CLASSROOM, 10,
+                                                               Operation.GET_STUDENT_CLASSROOMS, 10,
+                                                               Operation.SEARCH_CLASSROOMS, 10, Operation.ENROLL, 45,
+                                                               Operation.DROP, 10, Operation.CREATE_STUDENT, 5));
+            case "mixed":
+                return new WorkloadMix("mixed", weights(Operation.GET_STUDENT, 25, Operation.GET_CLASSROOM, 10,
+                                                        Operation.GET_STUDENT_CLASSROOMS, 10,
+                                                        Operation.GET_CLASSROOM_STUDENTS, 5,
+                                                        Operation.SEARCH_STUDENTS, 15, Operation.SEARCH_CLASSROOMS, 10,
+                                                        Operation.ENROLL, 12, Operation.DROP, 3,
+                                                        Operation.CREATE_STUDENT, 5, Operation.UPDATE_STUDENT, 5));
+            default:
+                Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+                for (String entry : value.split(",")) {
+                    String[] parts = entry.split(":");
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Unknown mix " + value
+                                                           + ", expected browse, registration, mixed or OPERATION:weight,...");
+                    }
+                    weights.merge(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                                  Integer.parseInt(parts[1].trim()), Integer::sum);
+                }
+                return new WorkloadMix(value.trim(), weights);
+        }
+    }
+
+    /**
+     * Picks the operation of the next request, following the weights of the mix.
+     * @param random the source of the random choice
+     * @return the operation
+     */
+    Operation next(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        return operations[index];
+    }
+
+    /**
+     * @return the operations of the mix
+     */
+    Operation[] getOperations() {
+        return operations.clone();
+    }
+
+    @Override
+    public String toString() {
+        int previous = 0;
+        StringBuilder weights = new StringBuilder();
+        for (int i = 0; i < operations.length; i++) {
+            weights.append(i == 0 ? "" : ",").append(operations[i]).append(':').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return name.contains(":") ? name : name + "(" + weights + ")";
+    }
+
+    private static Map<Operation, Integer> weights(Object... operationsAndWeights) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (int i = 0; i < operationsAndWeights.length; i += 2) {
+            weights.put((Operation) operationsAndWeights[i], (Integer) operationsAndWeights[i + 1]);
+        }
+        return weights;
+    }
+}
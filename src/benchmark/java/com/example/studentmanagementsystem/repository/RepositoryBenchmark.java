@@ -0,0 +1,165 @@
+package com.example.studentmanagementsystem.repository;
+
+import com.example.studentmanagementsystem.BenchmarkDatabase;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.pagination.KeysetPagination;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.StudentSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RepositoryBenchmark class.
+ * Measures every query of StudentRepository and ClassroomRepository against databases of several sizes. Searches
+ * read the first page of the default size, and lookups by id or code cycle through every row, so the measured time
+ * does not depend on a single hot row.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=RepositoryBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final Pageable PAGE = KeysetPagination.limit(PAGE_SIZE);
+
+    @Param({"1000", "10000", "100000"})
+    private int studentCount;
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private ClassroomRepository classroomRepository;
+    private int classroomCount;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(studentCount);
+        studentRepository = context.getBean(StudentRepository.class);
+        classroomRepository = context.getBean(ClassroomRepository.class);
+        classroomCount = BenchmarkDatabase.classroomCount(studentCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StudentSummary> findStudentSummaries() {
+        return studentRepository.findStudentSummaries(nextStudentId(), PAGE);
+    }
+
+    @Benchmark
+    public List<StudentSummary> findStudentSummariesByFirstName() {
+        return studentRepository.findStudentSummariesByFirstName("ar", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<StudentSummary> findStudentSummariesByLastName() {
+        return studentRepository.findStudentSummariesByLastName("ez", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<StudentSummary> findStudentSummariesByFirstAndLastName() {
+        return studentRepository.findStudentSummariesByFirstAndLastName("ar", "ez", 0, PAGE);
+    }
+
+    @Benchmark
+    public List<StudentSummary> findStudentSummariesByIds() {
+        return studentRepository.findStudentSummariesByIds(nextStudentIds());
+    }
+
+    @Benchmark
+    public StudentSummary findStudentSummaryById() {
+        return studentRepository.findStudentSummaryById(nextStudentId());
+    }
+
+    @Benchmark
+    public Student findStudentById() {
+        return studentRepository.findStudentById(nextStudentId());
+    }
+
+    @Benchmark
+    public List<Student> findStudentsWithClassroomsByIds() {
+        return studentRepository.findStudentsWithClassroomsByIds(nextStudentIds());
+    }
+
+    @Benchmark
+    public List<Student> findStudentsWithClassroomsByClassroomCode() {
+        return studentRepository.findStudentsWithClassroomsByClassroomCode(nextClassroomCode());
+    }
+
+    @Benchmark
+    public List<ClassroomSummary> findClassroomSummaries() {
+        return classroomRepository.findClassroomSummaries("", PAGE);
+    }
+
+    @Benchmark
+    public List<ClassroomSummary> findClassroomSummariesByTitle() {
+        return classroomRepository.findClassroomSummariesByTitle("5", "", PAGE);
+    }
+
+    @Benchmark
+    public List<ClassroomSummary> findClassroomSummariesByDescription() {
+        return classroomRepository.findClassroomSummariesByDescription("nivel 1", "", PAGE);
+    }
+
+    @Benchmark
+    public List<ClassroomSummary> findClassroomSummariesByTitleAndDescription() {
+        return classroomRepository.findClassroomSummariesByTitleAndDescription("5", "nivel 1", "", PAGE);
+    }
+
+    @Benchmark
+    public List<ClassroomSummary> findClassroomSummariesByCodes() {
+        List<String> codes = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < Math.min(PAGE_SIZE, classroomCount); i++) {
+            codes.add(nextClassroomCode());
+        }
+        return classroomRepository.findClassroomSummariesByCodes(codes);
+    }
+
+    @Benchmark
+    public ClassroomSummary findClassroomSummaryByCode() {
+        return classroomRepository.findClassroomSummaryByCode(nextClassroomCode());
+    }
+
+    private int nextStudentId() {
+        next = next % studentCount + 1;
+        return next;
+    }
+
+    private List<Integer> nextStudentIds() {
+        List<Integer> ids = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ids.add(nextStudentId());
+        }
+        return ids;
+    }
+
+    private String nextClassroomCode() {
+        return BenchmarkDatabase.classroomCode(nextStudentId() % classroomCount);
+    }
+}
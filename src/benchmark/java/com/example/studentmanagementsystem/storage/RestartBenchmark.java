@@ -0,0 +1,79 @@
+package com.example.studentmanagementsystem.storage;
+
+import com.example.studentmanagementsystem.BenchmarkDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RestartBenchmark class.
+ * Measures the time a restarted application takes to be ready with a given number of students: the in memory
+ * database has to be filled again and its search indexes loaded, while the file backed one is opened as it was left,
+ * only counting its enrollments before being ready and loading its search indexes in the background. The file is
+ * created once, before measuring.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=RestartBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestartBenchmark {
+
+    @Param({"MEMORY", "FILE"})
+    private StorageMode storage;
+
+    @Param({"10000", "100000"})
+    private int studentCount;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("restart-benchmark");
+        if (storage == StorageMode.FILE) {
+            ConfigurableApplicationContext context = BenchmarkDatabase.open(storage.args(directory));
+            BenchmarkDatabase.load(context, BenchmarkDatabase.dataset(studentCount));
+            context.close();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StorageMode.delete(directory);
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext restart() {
+        context = BenchmarkDatabase.open(storage.args(directory));
+        if (storage == StorageMode.MEMORY) {
+            BenchmarkDatabase.load(context, BenchmarkDatabase.dataset(studentCount));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.studentmanagementsystem.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * The StorageMode enum.
+ * The databases the storage benchmarks compare: the default in memory one, and the file backed one of the
+ * <code>persistent</code> profile, kept in a given directory.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public enum StorageMode {
+
+    MEMORY {
+        @Override
+        String[] args(Path directory) {
+            return new String[0];
+        }
+    },
+    FILE {
+        @Override
+        String[] args(Path directory) {
+            return new String[]{"--spring.profiles.active=persistent", "--storage.directory=" + directory};
+        }
+    };
+
+    /**
+     * @param directory the directory of the database files
+     * @return the command line arguments starting the application on this storage
+     */
+    abstract String[] args(Path directory);
+
+    /**
+     * Deletes a directory and everything in it.
+     * @param directory the directory
+     */
+    static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.studentmanagementsystem.storage;
+
+import com.example.studentmanagementsystem.BenchmarkDatabase;
+import com.example.studentmanagementsystem.controller.StudentApiController;
+import com.example.studentmanagementsystem.enrollment.ClassroomFullException;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
+import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The WriteBenchmark class.
+ * Measures the throughput of creating students and enrolling them through StudentApiController, on the in memory
+ * database and on the file backed one with its default write delay, both holding ten thousand students. Enrollments
+ * run in a transaction, as the request would keep the session open while the student is rendered.
+ * Run with <code>mvn -Pbenchmark test-compile exec:exec -Dbenchmark.includes=WriteBenchmark</code>.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    private static final int STUDENT_COUNT = 10000;
+
+    @Param({"MEMORY", "FILE"})
+    private StorageMode storage;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private StudentApiController controller;
+    private TransactionTemplate transactionTemplate;
+    private int classroomCount;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("write-benchmark");
+        context = BenchmarkDatabase.open(storage.args(directory));
+        BenchmarkDatabase.load(context, BenchmarkDatabase.dataset(STUDENT_COUNT));
+        controller = context.getBean(StudentApiController.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        classroomCount = BenchmarkDatabase.classroomCount(STUDENT_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        StorageMode.delete(directory);
+    }
+
+    @Benchmark
+    public Student createStudent() {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        return controller.createStudent(student);
+    }
+
+    @Benchmark
+    public Student assignStudentToClassroom() {
+        next = next % STUDENT_COUNT + 1;
+        int studentId = next;
+        return transactionTemplate.execute(status -> {
+            try {
+                return controller.assignStudentToClassroom(studentId,
+                                                           BenchmarkDatabase.classroomCode(studentId % classroomCount))
+                                 .getBody();
+            } catch (StudentNotFoundException | ClassroomNotFoundException | ClassroomFullException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
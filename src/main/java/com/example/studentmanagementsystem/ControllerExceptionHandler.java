@@ -1,10 +1,18 @@
 package com.example.studentmanagementsystem;
 
+import com.example.studentmanagementsystem.changes.ChangesExpiredException;
+import com.example.studentmanagementsystem.enrollment.ClassroomFullException;
+import com.example.studentmanagementsystem.etag.InvalidEntityTagException;
+import com.example.studentmanagementsystem.pagination.InvalidCursorException;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
 import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
 import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -60,4 +68,75 @@ public class ControllerExceptionHandler {
     public void methodArgumentTypeMismatchExceptionHandler(Exception exception) {
         logger.warn(exception.getMessage());
     }
+
+    /**
+     * Handles InvalidCursorException.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The cursor is invalid")
+    @ExceptionHandler(InvalidCursorException.class)
+    public void invalidCursorExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles InvalidFieldsException.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The requested fields are invalid")
+    @ExceptionHandler(InvalidFieldsException.class)
+    public void invalidFieldsExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException and InvalidEntityTagException, raised when an update does not match
+     * the version given in its If-Match header.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "The item has been modified by another request")
+    @ExceptionHandler({OptimisticLockingFailureException.class, InvalidEntityTagException.class})
+    public void preconditionFailedExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles ClassroomFullException, raised when a student is assigned to a classroom without a seat left.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.CONFLICT, reason = "The classroom is full")
+    @ExceptionHandler(ClassroomFullException.class)
+    public void classroomFullExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles ChangesExpiredException, raised when the changes after the requested sequence number are no longer kept.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.GONE, reason = "The requested changes are no longer available")
+    @ExceptionHandler(ChangesExpiredException.class)
+    public void changesExpiredExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles TaskRejectedException, raised when the bulkhead of the requested endpoint is full.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "The server is too busy to handle the request")
+    @ExceptionHandler(TaskRejectedException.class)
+    public void taskRejectedExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
+
+    /**
+     * Handles JsonProcessingException.
+     * @param exception the exception to be handled
+     */
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "The request body is malformed")
+    @ExceptionHandler(JsonProcessingException.class)
+    public void jsonProcessingExceptionHandler(Exception exception) {
+        logger.warn(exception.getMessage());
+    }
 }
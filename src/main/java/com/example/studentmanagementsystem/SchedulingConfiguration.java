@@ -0,0 +1,34 @@
+package com.example.studentmanagementsystem;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * The SchedulingConfiguration class.
+ * Runs the scheduled tasks, the enrollment queue flushes, the seat reconciliations, the rotation of the enrollment
+ * growth windows and the metrics log, on a pool of <code>scheduling.pool-size</code> threads, so a slow task does not
+ * delay the others, such as a long reconciliation holding back the flushes until the enrollment queue is full.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+    /**
+     * Creates the scheduler of the scheduled tasks.
+     * @param poolSize the number of threads
+     * @return the scheduler
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        return scheduler;
+    }
+}
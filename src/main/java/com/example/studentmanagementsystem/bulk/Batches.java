@@ -0,0 +1,41 @@
+package com.example.studentmanagementsystem.bulk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The Batches class.
+ * Splits the ids of a bulk operation into the batches queried and written at once.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class Batches {
+
+    private Batches() {
+        // No Op
+    }
+
+    /**
+     * Splits ids into batches of a given size, keeping their order.
+     * @param ids  the ids
+     * @param size the size of every batch but the last one
+     * @param <T>  the type of the ids
+     * @return the batches
+     */
+    static <T> List<List<T>> partition(Collection<T> ids, int size) {
+        List<List<T>> batches = new ArrayList<>();
+        List<T> batch = new ArrayList<>(size);
+        for (T id : ids) {
+            batch.add(id);
+            if (batch.size() == size) {
+                batches.add(batch);
+                batch = new ArrayList<>(size);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.studentmanagementsystem.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BulkDeleteResult class.
+ * Summary of a bulk delete, splitting the requested ids or codes by outcome.
+ * @param <T> the type of the ids
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BulkDeleteResult<T> {
+
+    private final List<T> deleted = new ArrayList<>();
+    private final List<T> notFound = new ArrayList<>();
+
+    /**
+     * Creates a new instance of BulkDeleteResult.
+     */
+    BulkDeleteResult() {
+        // No Op
+    }
+
+    /**
+     * @return the ids deleted by this request
+     */
+    public List<T> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return the ids that do not belong to any row
+     */
+    public List<T> getNotFound() {
+        return notFound;
+    }
+}
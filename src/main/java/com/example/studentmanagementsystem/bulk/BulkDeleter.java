@@ -0,0 +1,172 @@
+package com.example.studentmanagementsystem.bulk;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The BulkDeleter class.
+ * Deletes many students or classrooms at once, along with their enrollments. Every batch of ids costs the same few
+ * set-based statements however large it is: one finding the existing rows, one reading their enrollments, one
+ * deleting the enrollments and one deleting the rows, so a classroom is deleted even if it still has students. Ids
+ * that do not belong to any row are reported instead of failing the request. The versions of the students losing a
+ * deleted classroom are incremented, as Hibernate does when a student's classrooms change.
+ * <p>
+ * As the rows are not written by Hibernate, they are evicted from its second level cache, and a single event is
+ * published for the deleted rows, after one enrollment event for every classroom that lost students, so every cache
+ * is invalidated in bulk.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class BulkDeleter {
+
+    private static final String SELECT_STUDENT_ENROLLMENTS = "SELECT student_id, classroom_code FROM student_classroom "
+                                                             + "WHERE student_id IN (:ids)";
+    private static final String DELETE_STUDENT_ENROLLMENTS = "DELETE FROM student_classroom WHERE student_id IN (:ids)";
+    private static final String DELETE_STUDENTS = "DELETE FROM student WHERE id IN (:ids)";
+    private static final String SELECT_CLASSROOM_ENROLLMENTS = "SELECT student_id, classroom_code FROM student_classroom "
+                                                               + "WHERE classroom_code IN (:codes)";
+    private static final String DELETE_CLASSROOM_ENROLLMENTS = "DELETE FROM student_classroom WHERE classroom_code IN (:codes)";
+    private static final String DELETE_CLASSROOMS = "DELETE FROM classroom WHERE code IN (:codes)";
+    private static final String INCREMENT_VERSIONS = "UPDATE student SET version = version + 1 WHERE id IN (:ids)";
+
+    private final StudentRepository studentRepository;
+    private final ClassroomRepository classroomRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkProperties bulkProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates a new instance of BulkDeleter.
+     * @param studentRepository   reference to the StudentRepository
+     * @param classroomRepository reference to the ClassroomRepository
+     * @param jdbcTemplate        reference to the NamedParameterJdbcTemplate
+     * @param cacheEvictor        reference to the SecondLevelCacheEvictor
+     * @param eventPublisher      reference to the ApplicationEventPublisher
+     * @param bulkProperties      reference to the BulkProperties
+     * @param transactionManager  reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public BulkDeleter(StudentRepository studentRepository, ClassroomRepository classroomRepository,
+                       NamedParameterJdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor,
+                       ApplicationEventPublisher eventPublisher, BulkProperties bulkProperties,
+                       PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.classroomRepository = classroomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.bulkProperties = bulkProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Deletes the given students and their enrollments, in a single transaction.
+     * @param studentIds the ids of the students
+     * @return the ids split by outcome
+     */
+    public BulkDeleteResult<Integer> deleteStudents(Collection<Integer> studentIds) {
+        Set<Integer> requested = new LinkedHashSet<>(studentIds);
+        requested.remove(null);
+        Map<String, List<Integer>> removed = new TreeMap<>();
+        BulkDeleteResult<Integer> result = transactionTemplate.execute(status -> {
+            BulkDeleteResult<Integer> deletion = new BulkDeleteResult<>();
+            for (List<Integer> batch : Batches.partition(requested, batchSize())) {
+                Set<Integer> existing = new HashSet<>(studentRepository.findExistingIds(batch));
+                classify(batch, existing, deletion);
+                if (existing.isEmpty()) {
+                    continue;
+                }
+                MapSqlParameterSource ids = new MapSqlParameterSource("ids", existing);
+                jdbcTemplate.query(SELECT_STUDENT_ENROLLMENTS, ids, resultSet -> {
+                    removed.computeIfAbsent(resultSet.getString(2), code -> new ArrayList<>()).add(resultSet.getInt(1));
+                });
+                jdbcTemplate.update(DELETE_STUDENT_ENROLLMENTS, ids);
+                jdbcTemplate.update(DELETE_STUDENTS, ids);
+            }
+            return deletion;
+        });
+        if (!result.getDeleted().isEmpty()) {
+            cacheEvictor.evictStudents(result.getDeleted());
+            removed.forEach((code, ids) -> eventPublisher.publishEvent(EnrollmentEvent.removed(ids, code)));
+            eventPublisher.publishEvent(StudentEvent.deleted(result.getDeleted()));
+        }
+        return result;
+    }
+
+    /**
+     * Deletes the given classrooms and their enrollments, in a single transaction.
+     * @param classroomCodes the codes of the classrooms
+     * @return the codes split by outcome
+     */
+    public BulkDeleteResult<String> deleteClassrooms(Collection<String> classroomCodes) {
+        Set<String> requested = new LinkedHashSet<>(classroomCodes);
+        requested.remove(null);
+        int batchSize = batchSize();
+        Map<String, List<Integer>> removed = new TreeMap<>();
+        Set<Integer> unenrolled = new LinkedHashSet<>();
+        BulkDeleteResult<String> result = transactionTemplate.execute(status -> {
+            BulkDeleteResult<String> deletion = new BulkDeleteResult<>();
+            for (List<String> batch : Batches.partition(requested, batchSize)) {
+                Set<String> existing = new HashSet<>(classroomRepository.findExistingCodes(batch));
+                classify(batch, existing, deletion);
+                if (existing.isEmpty()) {
+                    continue;
+                }
+                MapSqlParameterSource codes = new MapSqlParameterSource("codes", existing);
+                Set<Integer> students = new LinkedHashSet<>();
+                jdbcTemplate.query(SELECT_CLASSROOM_ENROLLMENTS, codes, resultSet -> {
+                    removed.computeIfAbsent(resultSet.getString(2), code -> new ArrayList<>()).add(resultSet.getInt(1));
+                    students.add(resultSet.getInt(1));
+                });
+                jdbcTemplate.update(DELETE_CLASSROOM_ENROLLMENTS, codes);
+                for (List<Integer> ids : Batches.partition(students, batchSize)) {
+                    jdbcTemplate.update(INCREMENT_VERSIONS, new MapSqlParameterSource("ids", ids));
+                }
+                jdbcTemplate.update(DELETE_CLASSROOMS, codes);
+                unenrolled.addAll(students);
+            }
+            return deletion;
+        });
+        if (!result.getDeleted().isEmpty()) {
+            cacheEvictor.evictClassrooms(result.getDeleted());
+            cacheEvictor.evictStudents(unenrolled);
+            // The classrooms go first, so the removals do not bring back the counters or seats of a deleted classroom
+            eventPublisher.publishEvent(ClassroomEvent.deleted(result.getDeleted()));
+            removed.forEach((code, ids) -> eventPublisher.publishEvent(EnrollmentEvent.removed(ids, code)));
+        }
+        return result;
+    }
+
+    private int batchSize() {
+        return Math.max(1, bulkProperties.getBatchSize());
+    }
+
+    private static <T> void classify(List<T> batch, Set<T> existing, BulkDeleteResult<T> deletion) {
+        for (T id : batch) {
+            (existing.contains(id) ? deletion.getDeleted() : deletion.getNotFound()).add(id);
+        }
+    }
+}
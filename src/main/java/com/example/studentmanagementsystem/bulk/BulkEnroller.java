@@ -0,0 +1,162 @@
+package com.example.studentmanagementsystem.bulk;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.enrollment.ClassroomSeats;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The BulkEnroller class.
+ * Assigns many students to a classroom at once. Rather than loading every student with its classrooms, it checks
+ * which students exist and which are already assigned with one query per batch of ids, and inserts only the
+ * missing rows of the join table with JDBC batches, so the other enrollments of the students are not touched. The
+ * inserts skip rows written meanwhile by another enrollment, whose students are reported as already enrolled. The
+ * versions of the enrolled students are incremented as well, as Hibernate does when a student's classrooms change.
+ * As the rows are not written by Hibernate, the enrolled students are evicted from its second level cache. The seats
+ * of the classroom are reserved at once for the missing rows, and the students left without one are waitlisted.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class BulkEnroller {
+
+    private static final String INSERT_ENROLLMENT = "INSERT INTO student_classroom (student_id, classroom_code) "
+                                                    + "SELECT student.id, classroom.code FROM student, classroom "
+                                                    + "WHERE student.id = ? AND classroom.code = ? AND NOT EXISTS "
+                                                    + "(SELECT 1 FROM student_classroom enrollment "
+                                                    + "WHERE enrollment.student_id = student.id "
+                                                    + "AND enrollment.classroom_code = classroom.code)";
+    private static final String INCREMENT_VERSION = "UPDATE student SET version = version + 1 WHERE id = ?";
+
+    private final StudentRepository studentRepository;
+    private final ClassroomRepository classroomRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClassroomSeats classroomSeats;
+    private final BulkProperties bulkProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates a new instance of BulkEnroller.
+     * @param studentRepository   reference to the StudentRepository
+     * @param classroomRepository reference to the ClassroomRepository
+     * @param jdbcTemplate        reference to the JdbcTemplate
+     * @param cacheEvictor        reference to the SecondLevelCacheEvictor
+     * @param eventPublisher      reference to the ApplicationEventPublisher
+     * @param classroomSeats      reference to the ClassroomSeats
+     * @param bulkProperties      reference to the BulkProperties
+     * @param transactionManager  reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public BulkEnroller(StudentRepository studentRepository, ClassroomRepository classroomRepository,
+                        JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor,
+                        ApplicationEventPublisher eventPublisher, ClassroomSeats classroomSeats,
+                        BulkProperties bulkProperties, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.classroomRepository = classroomRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.classroomSeats = classroomSeats;
+        this.bulkProperties = bulkProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Assigns the given students to a classroom, in a single transaction, as long as the classroom has seats left.
+     * @param classroomCode the classroom code
+     * @param studentIds    the ids of the students
+     * @return the ids of the students split by outcome
+     * @throws ClassroomNotFoundException
+     */
+    public BulkEnrollmentResult enroll(String classroomCode, Collection<Integer> studentIds) throws ClassroomNotFoundException {
+        Set<Integer> requested = new LinkedHashSet<>(studentIds);
+        requested.remove(null);
+        int batchSize = Math.max(1, bulkProperties.getBatchSize());
+        AtomicInteger reserved = new AtomicInteger();
+        BulkEnrollmentResult result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                if (!classroomRepository.exists(classroomCode)) {
+                    return null;
+                }
+                BulkEnrollmentResult enrollment = new BulkEnrollmentResult(classroomCode);
+                for (List<Integer> batch : Batches.partition(requested, batchSize)) {
+                    classify(classroomCode, batch, enrollment);
+                }
+                reserved.set(classroomSeats.reserve(classroomCode, enrollment.getEnrolled().size()));
+                List<Integer> unseated = enrollment.getEnrolled().subList(reserved.get(), enrollment.getEnrolled().size());
+                enrollment.getWaitlisted().addAll(unseated);
+                unseated.clear();
+                int[][] counts = jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollment.getEnrolled(), batchSize,
+                                                          (statement, studentId) -> {
+                                                              statement.setInt(1, studentId);
+                                                              statement.setString(2, classroomCode);
+                                                          });
+                skipWritten(counts, enrollment);
+                jdbcTemplate.batchUpdate(INCREMENT_VERSION, enrollment.getEnrolled(), batchSize,
+                                         (statement, studentId) -> statement.setInt(1, studentId));
+                return enrollment;
+            });
+        } catch (RuntimeException e) {
+            classroomSeats.cancel(classroomCode, reserved.get());
+            throw e;
+        }
+        if (result == null) {
+            throw new ClassroomNotFoundException(classroomCode);
+        }
+        classroomSeats.commit(classroomCode, result.getEnrolled().size());
+        classroomSeats.cancel(classroomCode, reserved.get() - result.getEnrolled().size());
+        result.getWaitlisted().forEach(studentId -> classroomSeats.waitlist(classroomCode, studentId));
+        if (!result.getEnrolled().isEmpty()) {
+            cacheEvictor.evictStudents(result.getEnrolled());
+            eventPublisher.publishEvent(EnrollmentEvent.assigned(result.getEnrolled(), classroomCode));
+        }
+        return result;
+    }
+
+    private static void skipWritten(int[][] counts, BulkEnrollmentResult enrollment) {
+        // Rows inserted meanwhile by another enrollment are skipped by the statement, and reported as already there
+        Iterator<Integer> studentIds = enrollment.getEnrolled().iterator();
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Integer studentId = studentIds.next();
+                if (count == 0) {
+                    studentIds.remove();
+                    enrollment.getAlreadyEnrolled().add(studentId);
+                }
+            }
+        }
+    }
+
+    private void classify(String classroomCode, List<Integer> studentIds, BulkEnrollmentResult enrollment) {
+        Set<Integer> existing = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        Set<Integer> assigned = new HashSet<>(studentRepository.findIdsAssignedToClassroom(classroomCode, studentIds));
+        for (Integer studentId : studentIds) {
+            if (!existing.contains(studentId)) {
+                enrollment.getNotFound().add(studentId);
+            } else if (assigned.contains(studentId)) {
+                enrollment.getAlreadyEnrolled().add(studentId);
+            } else {
+                enrollment.getEnrolled().add(studentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.studentmanagementsystem.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BulkEnrollmentResult class.
+ * Summary of a bulk enrollment, splitting the requested student ids by outcome.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BulkEnrollmentResult {
+
+    private final String classroomCode;
+    private final List<Integer> enrolled = new ArrayList<>();
+    private final List<Integer> alreadyEnrolled = new ArrayList<>();
+    private final List<Integer> notFound = new ArrayList<>();
+    private final List<Integer> waitlisted = new ArrayList<>();
+
+    /**
+     * Creates a new instance of BulkEnrollmentResult.
+     * @param classroomCode the classroom code
+     */
+    BulkEnrollmentResult(String classroomCode) {
+        this.classroomCode = classroomCode;
+    }
+
+    /**
+     * @return the classroom code
+     */
+    public String getClassroomCode() {
+        return classroomCode;
+    }
+
+    /**
+     * @return the ids of the students assigned to the classroom by this request
+     */
+    public List<Integer> getEnrolled() {
+        return enrolled;
+    }
+
+    /**
+     * @return the ids of the students that were already assigned to the classroom
+     */
+    public List<Integer> getAlreadyEnrolled() {
+        return alreadyEnrolled;
+    }
+
+    /**
+     * @return the ids that do not belong to any student
+     */
+    public List<Integer> getNotFound() {
+        return notFound;
+    }
+
+    /**
+     * @return the ids of the students put on the waitlist, as the classroom had no seat left for them
+     */
+    public List<Integer> getWaitlisted() {
+        return waitlisted;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.studentmanagementsystem.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BulkImportResult class.
+ * Summary of a bulk import, with the outcome of every row in request order.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BulkImportResult {
+
+    private int created;
+    private int failed;
+    private final List<BulkRowResult> rows = new ArrayList<>();
+
+    /**
+     * Adds the outcome of a row.
+     * @param row the outcome of the row
+     */
+    void add(BulkRowResult row) {
+        rows.add(row);
+        if (row.getStatus() == BulkRowResult.Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    /**
+     * @return the number of rows in the request
+     */
+    public int getTotal() {
+        return rows.size();
+    }
+
+    /**
+     * @return the number of created rows
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * @return the number of failed rows
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the outcome of every row
+     */
+    public List<BulkRowResult> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.studentmanagementsystem.bulk;
+
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The BulkImporter class.
+ * Creates students and classrooms from a JSON array, or from newline delimited JSON, without reading the whole
+ * request into memory. Rows are written in batches, each one in its own transaction that is flushed as a single
+ * JDBC batch and then cleared from the persistence context. A row that is invalid, or that belongs to a batch
+ * that could not be written, is reported as failed without stopping the import.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class BulkImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImporter.class);
+
+    private final ClassroomRepository classroomRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkProperties bulkProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates a new instance of BulkImporter.
+     * @param classroomRepository reference to the ClassroomRepository
+     * @param objectMapper        reference to the ObjectMapper
+     * @param eventPublisher      reference to the ApplicationEventPublisher
+     * @param bulkProperties      reference to the BulkProperties
+     * @param transactionManager  reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public BulkImporter(ClassroomRepository classroomRepository, ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher, BulkProperties bulkProperties,
+                        PlatformTransactionManager transactionManager) {
+        this.classroomRepository = classroomRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.bulkProperties = bulkProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Creates the students read from the given stream. Ids are assigned by the system.
+     * @param inputStream the stream to read from
+     * @return the outcome of every row
+     * @throws IOException if the stream is not well formed JSON
+     */
+    public BulkImportResult importStudents(InputStream inputStream) throws IOException {
+        return importRows(inputStream, Student.class, BulkImporter::validateStudent, this::writeStudents);
+    }
+
+    /**
+     * Creates the classrooms read from the given stream. Classrooms whose code already exists are not modified.
+     * @param inputStream the stream to read from
+     * @return the outcome of every row
+     * @throws IOException if the stream is not well formed JSON
+     */
+    public BulkImportResult importClassrooms(InputStream inputStream) throws IOException {
+        return importRows(inputStream, Classroom.class, BulkImporter::validateClassroom, this::writeClassrooms);
+    }
+
+    private <T> BulkImportResult importRows(InputStream inputStream, Class<T> type, Function<T, String> validator,
+                                            Consumer<List<Row<T>>> writer) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        int batchSize = Math.max(1, bulkProperties.getBatchSize());
+        List<Row<T>> batch = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            int index = 0;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = parser.readValueAsTree();
+                batch.add(readRow(index++, node, type, validator));
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, writer, result);
+                }
+                token = parser.nextToken();
+            }
+        }
+        writeBatch(batch, writer, result);
+        return result;
+    }
+
+    private <T> Row<T> readRow(int index, JsonNode node, Class<T> type, Function<T, String> validator) {
+        try {
+            T item = objectMapper.treeToValue(node, type);
+            return new Row<>(index, item, item == null ? "The row is empty" : validator.apply(item));
+        } catch (JsonProcessingException e) {
+            return new Row<>(index, null, e.getOriginalMessage());
+        }
+    }
+
+    private <T> void writeBatch(List<Row<T>> batch, Consumer<List<Row<T>>> writer, BulkImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Row<T>> pending = batch.stream().filter(row -> row.message == null).collect(Collectors.toList());
+        if (!pending.isEmpty()) {
+            try {
+                writer.accept(pending);
+            } catch (RuntimeException e) {
+                logger.warn("A batch of {} rows could not be written", pending.size(), e);
+                String message = "The batch could not be written: " + rootCause(e).getMessage();
+                pending.forEach(row -> row.fail(message));
+            }
+        }
+        batch.forEach(row -> result.add(row.toResult()));
+        batch.clear();
+    }
+
+    private void writeStudents(List<Row<Student>> rows) {
+        transactionTemplate.execute(status -> {
+            rows.forEach(row -> entityManager.persist(row.item));
+            flushAndClear();
+            return null;
+        });
+        rows.forEach(row -> {
+            row.id = row.item.getId();
+            eventPublisher.publishEvent(StudentEvent.created(row.item));
+        });
+    }
+
+    private void writeClassrooms(List<Row<Classroom>> rows) {
+        Set<String> codes = rows.stream().map(row -> row.item.getCode()).collect(Collectors.toSet());
+        List<Row<Classroom>> created = new ArrayList<>(rows.size());
+        transactionTemplate.execute(status -> {
+            Set<String> existing = new HashSet<>();
+            classroomRepository.findAll(codes).forEach(classroom -> existing.add(classroom.getCode()));
+            entityManager.clear();
+            for (Row<Classroom> row : rows) {
+                row.id = row.item.getCode();
+                if (!existing.add(row.item.getCode())) {
+                    row.fail("A classroom with this code already exists");
+                } else {
+                    entityManager.persist(row.item);
+                    created.add(row);
+                }
+            }
+            flushAndClear();
+            return null;
+        });
+        created.forEach(row -> eventPublisher.publishEvent(ClassroomEvent.created(row.item)));
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private void flushAndClear() {
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            entityManager.clear();
+            throw e;
+        }
+        entityManager.clear();
+    }
+
+    private static String validateStudent(Student student) {
+        if (student.getId() != null) {
+            return "The id is assigned by the system and must not be given";
+        }
+        if (student.getFirstName() == null || student.getLastName() == null) {
+            return "The first name and the last name are required";
+        }
+        if (student.getClassrooms() != null && !student.getClassrooms().isEmpty()) {
+            return "Classrooms must be assigned after the student is created";
+        }
+        return null;
+    }
+
+    private static String validateClassroom(Classroom classroom) {
+        if (classroom.getCode() == null || classroom.getCode().isEmpty()) {
+            return "The code is required";
+        }
+        return null;
+    }
+
+    /**
+     * A row of the request and its outcome.
+     */
+    private static final class Row<T> {
+
+        private final int index;
+        private final T item;
+        private Object id;
+        private String message;
+
+        private Row(int index, T item, String message) {
+            this.index = index;
+            this.item = item;
+            this.message = message;
+        }
+
+        private void fail(String message) {
+            this.message = message;
+        }
+
+        private BulkRowResult toResult() {
+            return message == null ? BulkRowResult.created(index, id) : BulkRowResult.failed(index, id, message);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.studentmanagementsystem.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The BulkProperties class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+@ConfigurationProperties(prefix = "bulk")
+public class BulkProperties {
+
+    private int batchSize = 500;
+
+    /**
+     * @return the number of rows written in each transaction and JDBC batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of rows written in each transaction and JDBC batch.
+     * @param batchSize the new batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
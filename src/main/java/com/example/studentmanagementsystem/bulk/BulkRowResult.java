@@ -0,0 +1,81 @@
+package com.example.studentmanagementsystem.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The BulkRowResult class.
+ * Outcome of a single row of a bulk request.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRowResult {
+
+    /**
+     * The outcome of a row.
+     */
+    public enum Status {
+        CREATED, FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Object id;
+    private final String message;
+
+    private BulkRowResult(int index, Status status, Object id, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    /**
+     * Creates the result of a created row.
+     * @param index the index of the row in the request
+     * @param id    the id of the created item
+     * @return the result
+     */
+    public static BulkRowResult created(int index, Object id) {
+        return new BulkRowResult(index, Status.CREATED, id, null);
+    }
+
+    /**
+     * Creates the result of a failed row.
+     * @param index   the index of the row in the request
+     * @param id      the id of the item, if known
+     * @param message the reason of the failure
+     * @return the result
+     */
+    public static BulkRowResult failed(int index, Object id, String message) {
+        return new BulkRowResult(index, Status.FAILED, id, message);
+    }
+
+    /**
+     * @return the index of the row in the request
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the outcome of the row
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the id of the item
+     */
+    public Object getId() {
+        return id;
+    }
+
+    /**
+     * @return the reason of the failure
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentmanagementsystem.bulkhead;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Bulkhead class.
+ * Bounded pool of threads, with a bounded queue, running the slow requests of one group of endpoints. Once every
+ * thread is busy and the queue is full, new tasks are rejected instead of waiting, so a burst of slow requests uses
+ * up this pool only, and leaves the servlet container threads free for the other requests.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class Bulkhead implements DisposableBean {
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Creates a new instance of Bulkhead.
+     * @param name          the bulkhead name, also the prefix of its thread names
+     * @param poolSize      the number of threads
+     * @param queueCapacity the number of tasks waiting for a thread, beyond which tasks are rejected
+     */
+    public Bulkhead(String name, int poolSize, int queueCapacity) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue,
+                                               new CustomizableThreadFactory(name + "-"), (task, pool) -> {
+            rejectedCount.incrementAndGet();
+            throw new TaskRejectedException("Bulkhead " + name + " is full, the task has been rejected");
+        });
+    }
+
+    /**
+     * Runs a task on a thread of the bulkhead.
+     * @param task the task
+     * @param <T>  the type of the result
+     * @return the future completed with the result of the task, or with the exception it throws
+     * @throws TaskRejectedException if every thread is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return the bulkhead name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return a snapshot of the counters of the bulkhead
+     */
+    public BulkheadStatistics getStatistics() {
+        return new BulkheadStatistics(name, executor.getPoolSize(), executor.getActiveCount(),
+                                      executor.getQueue().size(), queueCapacity,
+                                      executor.getCompletedTaskCount(), rejectedCount.get());
+    }
+
+    /**
+     * Stops accepting tasks, letting the running and queued ones finish.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.studentmanagementsystem.bulkhead;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The BulkheadConfiguration class.
+ * Creates one bulkhead for every controller, running its searches, association lookups and bulk operations.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfiguration {
+
+    /**
+     * Creates the bulkhead of the student endpoints.
+     * @param properties the bulkhead properties
+     * @return the bulkhead
+     */
+    @Bean
+    public Bulkhead studentBulkhead(BulkheadProperties properties) {
+        return bulkhead("students", properties);
+    }
+
+    /**
+     * Creates the bulkhead of the classroom endpoints.
+     * @param properties the bulkhead properties
+     * @return the bulkhead
+     */
+    @Bean
+    public Bulkhead classroomBulkhead(BulkheadProperties properties) {
+        return bulkhead("classrooms", properties);
+    }
+
+    private static Bulkhead bulkhead(String name, BulkheadProperties properties) {
+        BulkheadProperties.Pool pool = properties.getPool(name);
+        return new Bulkhead(name, pool.getPoolSize(), pool.getQueueCapacity());
+    }
+}
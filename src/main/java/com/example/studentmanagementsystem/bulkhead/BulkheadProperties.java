@@ -0,0 +1,85 @@
+package com.example.studentmanagementsystem.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The BulkheadProperties class.
+ * Holds the size of every named bulkhead, for example:
+ * <pre>
+ * bulkhead.pools.students.pool-size=8
+ * bulkhead.pools.students.queue-capacity=200
+ * </pre>
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    /**
+     * @return the sizes indexed by bulkhead name
+     */
+    public Map<String, Pool> getPools() {
+        return pools;
+    }
+
+    /**
+     * Sets the sizes indexed by bulkhead name.
+     * @param pools the new sizes
+     */
+    public void setPools(Map<String, Pool> pools) {
+        this.pools = pools;
+    }
+
+    /**
+     * Finds the size of a given bulkhead.
+     * @param name the bulkhead name
+     * @return the size of the bulkhead, or the default one if there is none
+     */
+    public Pool getPool(String name) {
+        return pools.getOrDefault(name, new Pool());
+    }
+
+    /**
+     * The size of a bulkhead.
+     */
+    public static class Pool {
+
+        private int poolSize = 4;
+        private int queueCapacity = 100;
+
+        /**
+         * @return the number of threads
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        /**
+         * Sets the number of threads.
+         * @param poolSize the new number of threads
+         */
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        /**
+         * @return the number of tasks waiting for a thread, beyond which tasks are rejected
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Sets the number of tasks waiting for a thread, beyond which tasks are rejected.
+         * @param queueCapacity the new queue capacity
+         */
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
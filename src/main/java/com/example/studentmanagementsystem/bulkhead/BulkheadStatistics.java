@@ -0,0 +1,88 @@
+package com.example.studentmanagementsystem.bulkhead;
+
+/**
+ * The BulkheadStatistics class.
+ * Snapshot of the counters of a bulkhead.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BulkheadStatistics {
+
+    private final String name;
+    private final int poolSize;
+    private final int activeCount;
+    private final int queueSize;
+    private final int queueCapacity;
+    private final long completedTaskCount;
+    private final long rejectedCount;
+
+    /**
+     * Creates a new instance of BulkheadStatistics.
+     * @param name               the bulkhead name
+     * @param poolSize           the number of started threads
+     * @param activeCount        the approximate number of threads running a task
+     * @param queueSize          the number of tasks waiting for a thread
+     * @param queueCapacity      the number of tasks that can wait for a thread
+     * @param completedTaskCount the approximate number of completed tasks
+     * @param rejectedCount      the number of rejected tasks
+     */
+    public BulkheadStatistics(String name, int poolSize, int activeCount, int queueSize, int queueCapacity,
+                              long completedTaskCount, long rejectedCount) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.queueCapacity = queueCapacity;
+        this.completedTaskCount = completedTaskCount;
+        this.rejectedCount = rejectedCount;
+    }
+
+    /**
+     * @return the bulkhead name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of started threads
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * @return the approximate number of threads running a task
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return the number of tasks that can wait for a thread
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the approximate number of completed tasks
+     */
+    public long getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    /**
+     * @return the number of tasks rejected because the bulkhead was full
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.studentmanagementsystem.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The CacheConfiguration class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+@EnableConfigurationProperties(CachingProperties.class)
+public class CacheConfiguration {
+
+    /**
+     * Creates the tracker of the mutations that invalidate cache entries.
+     * @param properties the caching properties
+     * @return the tracker
+     */
+    @Bean
+    public CacheDependencyTracker cacheDependencyTracker(CachingProperties properties) {
+        return new CacheDependencyTracker(properties.getMutationLogSize());
+    }
+
+    /**
+     * Creates the cache manager used by the application.
+     * @param properties the caching properties
+     * @param tracker    the tracker of the mutations
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties, CacheDependencyTracker tracker) {
+        return new CaffeineSpecCacheManager(properties, tracker);
+    }
+
+    /**
+     * Creates the key generator for student searches, taking the first name, last name, cursor, page size
+     * and fields parameters.
+     * @return the key generator
+     */
+    @Bean
+    public KeyGenerator studentSearchKeyGenerator() {
+        return (target, method, params) -> new StudentSearchKey((String) params[0], (String) params[1],
+                                                                (String) params[2], (Integer) params[3],
+                                                                (String) params[4]);
+    }
+
+    /**
+     * Creates the key generator for classroom searches, taking the title, description, cursor, page size
+     * and fields parameters.
+     * @return the key generator
+     */
+    @Bean
+    public KeyGenerator classroomSearchKeyGenerator() {
+        return (target, method, params) -> new ClassroomSearchKey((String) params[0], (String) params[1],
+                                                                  (String) params[2], (Integer) params[3],
+                                                                  (String) params[4]);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.studentmanagementsystem.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The CacheDependencyTracker class.
+ * Keeps a bounded, ordered log of the mutations made to the system. Every mutation gets a sequence number,
+ * and a cached value is current only if no mutation recorded after it was loaded touches one of its tags
+ * or, for search results, adds an entity satisfying its criteria. Values older than the log are treated as
+ * stale.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class CacheDependencyTracker {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Mutation> log;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates a new instance of CacheDependencyTracker.
+     * @param capacity the number of mutations kept in the log
+     */
+    public CacheDependencyTracker(int capacity) {
+        this.capacity = capacity;
+        this.log = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return the sequence number of the last recorded mutation
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Records a mutation.
+     * @param tags   the tags of the entries that depend on the mutated data
+     * @param entity the entity after the mutation, checked against cached search criteria (optional)
+     */
+    public synchronized void record(Collection<String> tags, Object entity) {
+        long next = sequence.get() + 1;
+        log.set(index(next), new Mutation(next, new HashSet<>(tags), entity));
+        sequence.set(next);
+    }
+
+    /**
+     * Checks whether a cached value is still current.
+     * @param key   the key of the value
+     * @param value the cached value
+     * @return true if no mutation recorded after the value was loaded affects it
+     */
+    boolean isCurrent(Object key, TrackedValue value) {
+        long current = sequence.get();
+        long checked = value.getCheckedSequence();
+        if (current - checked > capacity) {
+            return false;
+        }
+        for (long next = checked + 1; next <= current; next++) {
+            Mutation mutation = log.get(index(next));
+            if (mutation == null || mutation.sequence != next || mutation.affects(key, value.getTags())) {
+                return false;
+            }
+        }
+        value.setCheckedSequence(current);
+        return true;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private static class Mutation {
+
+        private final long sequence;
+        private final Set<String> tags;
+        private final Object entity;
+
+        private Mutation(long sequence, Set<String> tags, Object entity) {
+            this.sequence = sequence;
+            this.tags = tags;
+            this.entity = entity;
+        }
+
+        private boolean affects(Object key, Set<String> valueTags) {
+            for (String tag : tags) {
+                if (valueTags.contains(tag)) {
+                    return true;
+                }
+            }
+            return entity != null && key instanceof SearchKey && ((SearchKey) key).matches(entity);
+        }
+    }
+}
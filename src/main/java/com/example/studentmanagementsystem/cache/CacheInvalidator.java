@@ -0,0 +1,87 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CacheInvalidator class.
+ * Maps every mutation to the cache entries depending on it:
+ * <ul>
+ *     <li>Students and classrooms invalidate every entry rendering them, their list of associated entities and,
+ *     unless they were deleted, the searches whose criteria they now satisfy, with a single mutation however many
+ *     of them were deleted</li>
+ *     <li>Enrollments invalidate every entry rendering the students, and both sides of the association, with a
+ *     single mutation however many students were enrolled</li>
+ * </ul>
+ * The search indexes are updated by their own listeners before these ones record the mutations, so a search loaded
+ * after a mutation is recorded never reads the index as it was before it.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class CacheInvalidator {
+
+    static final String STUDENT_CLASSROOMS_CACHE = "studentClassroomsCache";
+    static final String CLASSROOM_STUDENTS_CACHE = "classroomStudentsCache";
+
+    private final CacheDependencyTracker tracker;
+
+    /**
+     * Creates a new instance of CacheInvalidator.
+     * @param tracker reference to the CacheDependencyTracker
+     */
+    @Autowired
+    public CacheInvalidator(CacheDependencyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * Invalidates the entries depending on a student.
+     * @param event the student event
+     */
+    @EventListener
+    public void onStudentEvent(StudentEvent event) {
+        List<String> tags = new ArrayList<>(event.getStudentIds().size() * 2);
+        for (Integer studentId : event.getStudentIds()) {
+            tags.add(CacheTags.student(studentId));
+            tags.add(CacheTags.entry(STUDENT_CLASSROOMS_CACHE, studentId));
+        }
+        tracker.record(tags, event.getStudent());
+    }
+
+    /**
+     * Invalidates the entries depending on a classroom.
+     * @param event the classroom event
+     */
+    @EventListener
+    public void onClassroomEvent(ClassroomEvent event) {
+        List<String> tags = new ArrayList<>(event.getClassroomCodes().size() * 2);
+        for (String classroomCode : event.getClassroomCodes()) {
+            tags.add(CacheTags.classroom(classroomCode));
+            tags.add(CacheTags.entry(CLASSROOM_STUDENTS_CACHE, classroomCode));
+        }
+        tracker.record(tags, event.getClassroom());
+    }
+
+    /**
+     * Invalidates the entries depending on an enrollment.
+     * @param event the enrollment event
+     */
+    @EventListener
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        List<String> tags = new ArrayList<>(event.getStudentIds().size() * 2 + 1);
+        for (Integer studentId : event.getStudentIds()) {
+            tags.add(CacheTags.student(studentId));
+            tags.add(CacheTags.entry(STUDENT_CLASSROOMS_CACHE, studentId));
+        }
+        tags.add(CacheTags.entry(CLASSROOM_STUDENTS_CACHE, event.getClassroomCode()));
+        tracker.record(tags, null);
+    }
+}
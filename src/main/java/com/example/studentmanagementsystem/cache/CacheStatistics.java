@@ -0,0 +1,135 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The CacheStatistics class.
+ * Snapshot of the counters of a named cache.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class CacheStatistics {
+
+    private final String name;
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long evictionCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final double averageLoadPenalty;
+
+    /**
+     * Creates a new instance of CacheStatistics.
+     * @param name  the cache name
+     * @param size  the estimated number of entries of the cache
+     * @param stats the Caffeine statistics of the cache
+     */
+    public CacheStatistics(String name, long size, CacheStats stats) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = stats.hitCount();
+        this.missCount = stats.missCount();
+        this.hitRate = stats.hitRate();
+        this.evictionCount = stats.evictionCount();
+        this.loadSuccessCount = stats.loadSuccessCount();
+        this.loadFailureCount = stats.loadFailureCount();
+        this.totalLoadTime = stats.totalLoadTime();
+        this.averageLoadPenalty = stats.averageLoadPenalty();
+    }
+
+    /**
+     * Finds the statistics of every named Caffeine cache.
+     * @param cacheManager the cache manager
+     * @return the statistics of the caches, sorted by name
+     */
+    public static List<CacheStatistics> of(CacheManager cacheManager) {
+        return cacheManager.getCacheNames()
+                           .stream()
+                           .sorted()
+                           .map(cacheManager::getCache)
+                           .filter(cache -> cache.getNativeCache() instanceof Cache)
+                           .map(cache -> {
+                               Cache<?, ?> nativeCache = (Cache<?, ?>) cache.getNativeCache();
+                               return new CacheStatistics(cache.getName(), nativeCache.estimatedSize(), nativeCache.stats());
+                           })
+                           .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the cache name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the estimated number of entries of the cache
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of lookups that found a cached value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that did not find a cached value
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of lookups that found a cached value
+     */
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    /**
+     * @return the number of entries evicted because of size or expiration
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of values successfully loaded
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return the number of values whose loading failed
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return the total time spent loading values, in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return the average time spent loading a value, in nanoseconds
+     */
+    public double getAverageLoadPenalty() {
+        return averageLoadPenalty;
+    }
+}
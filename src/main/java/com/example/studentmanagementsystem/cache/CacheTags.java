@@ -0,0 +1,87 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.StudentSummary;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The CacheTags class.
+ * Names the dependencies of cache entries. An entry depends on its own address and on every student and
+ * classroom it renders, including the classrooms listed inside a student.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class CacheTags {
+
+    private CacheTags() {
+        // No Op
+    }
+
+    /**
+     * @param studentId the student id
+     * @return the tag of the entries rendering the student
+     */
+    public static String student(int studentId) {
+        return "student:" + studentId;
+    }
+
+    /**
+     * @param classroomCode the classroom code
+     * @return the tag of the entries rendering the classroom
+     */
+    public static String classroom(String classroomCode) {
+        return "classroom:" + classroomCode;
+    }
+
+    /**
+     * @param cacheName the cache name
+     * @param key       the entry key
+     * @return the tag of the entry stored under the given key
+     */
+    public static String entry(String cacheName, Object key) {
+        return cacheName + ":" + key;
+    }
+
+    /**
+     * Finds the tags of a cache entry.
+     * @param cacheName the cache name
+     * @param key       the entry key
+     * @param value     the cached value
+     * @return the tags of the entry
+     */
+    static Set<String> of(String cacheName, Object key, Object value) {
+        Set<String> tags = new HashSet<>();
+        tags.add(entry(cacheName, key));
+        collect(value, tags);
+        return tags;
+    }
+
+    private static void collect(Object value, Set<String> tags) {
+        if (value instanceof Student) {
+            Student student = (Student) value;
+            tags.add(student(student.getId()));
+            collect(student.getClassrooms(), tags);
+        } else if (value instanceof StudentSummary) {
+            tags.add(student(((StudentSummary) value).getId()));
+        } else if (value instanceof Classroom) {
+            tags.add(classroom(((Classroom) value).getCode()));
+        } else if (value instanceof ClassroomSummary) {
+            tags.add(classroom(((ClassroomSummary) value).getCode()));
+        } else if (value instanceof HttpEntity) {
+            collect(((HttpEntity<?>) value).getBody(), tags);
+        } else if (value instanceof MappingJacksonValue) {
+            collect(((MappingJacksonValue) value).getValue(), tags);
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collect(element, tags);
+            }
+        }
+    }
+}
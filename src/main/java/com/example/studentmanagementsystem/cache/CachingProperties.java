@@ -0,0 +1,79 @@
+package com.example.studentmanagementsystem.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The CachingProperties class.
+ * Holds the Caffeine specifications used to build every named cache, for example:
+ * <pre>
+ * caching.default-spec=maximumSize=10000,expireAfterWrite=10m
+ * caching.specs.studentCache=maximumSize=50000,expireAfterAccess=30m
+ * caching.mutation-log-size=10000
+ * </pre>
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@ConfigurationProperties(prefix = "caching")
+public class CachingProperties {
+
+    private String defaultSpec = "maximumSize=10000,expireAfterWrite=10m";
+    private Map<String, String> specs = new LinkedHashMap<>();
+    private int mutationLogSize = 10000;
+
+    /**
+     * @return the specification used for caches without an explicit one
+     */
+    public String getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    /**
+     * Sets the specification used for caches without an explicit one.
+     * @param defaultSpec the new default specification
+     */
+    public void setDefaultSpec(String defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    /**
+     * @return the specifications indexed by cache name
+     */
+    public Map<String, String> getSpecs() {
+        return specs;
+    }
+
+    /**
+     * Sets the specifications indexed by cache name.
+     * @param specs the new specifications
+     */
+    public void setSpecs(Map<String, String> specs) {
+        this.specs = specs;
+    }
+
+    /**
+     * Finds the specification for a given cache.
+     * @param cacheName the cache name
+     * @return the specification of the cache, or the default one if there is none
+     */
+    public String getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, defaultSpec);
+    }
+
+    /**
+     * @return the number of mutations kept to check whether cached entries are still current
+     */
+    public int getMutationLogSize() {
+        return mutationLogSize;
+    }
+
+    /**
+     * Sets the number of mutations kept to check whether cached entries are still current.
+     * @param mutationLogSize the new number of mutations
+     */
+    public void setMutationLogSize(int mutationLogSize) {
+        this.mutationLogSize = mutationLogSize;
+    }
+}
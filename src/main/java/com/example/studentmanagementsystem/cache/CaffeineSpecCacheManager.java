@@ -0,0 +1,51 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * The CaffeineSpecCacheManager class.
+ * Builds a bounded Caffeine cache for every name, each one with its own specification. Caffeine evicts using
+ * a W-TinyLFU admission policy whenever a maximum size is set, and statistics are always recorded. Entries are
+ * kept coherent with the data through the CacheDependencyTracker.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class CaffeineSpecCacheManager extends AbstractCacheManager {
+
+    private final CachingProperties properties;
+    private final CacheDependencyTracker tracker;
+
+    /**
+     * Creates a new instance of CaffeineSpecCacheManager.
+     * @param properties the caching properties
+     * @param tracker    the tracker of the mutations
+     */
+    public CaffeineSpecCacheManager(CachingProperties properties, CacheDependencyTracker tracker) {
+        this.properties = properties;
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getSpecs().keySet().stream().map(this::createCache).collect(Collectors.toList());
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * Creates a cache using the specification configured for it.
+     * @param name the cache name
+     * @return the created cache
+     */
+    protected Cache createCache(String name) {
+        return new DependencyTrackingCache(name, Caffeine.from(properties.getSpec(name)).recordStats().build(), tracker);
+    }
+}
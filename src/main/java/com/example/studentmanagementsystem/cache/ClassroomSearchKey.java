@@ -0,0 +1,80 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.repository.LikePattern;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The ClassroomSearchKey class.
+ * Identifies a page of a search. An entity satisfying the criteria is considered a match for every page.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ClassroomSearchKey implements SearchKey, Serializable {
+
+    private final String title;
+    private final String description;
+    private final String after;
+    private final Integer size;
+    private final String fields;
+
+    /**
+     * Creates a new instance of ClassroomSearchKey.
+     * @param title       the searched title (optional)
+     * @param description the searched description (optional)
+     * @param after       the cursor after which the page starts (optional)
+     * @param size        the requested page size (optional)
+     * @param fields      the requested fields (optional)
+     */
+    public ClassroomSearchKey(String title, String description, String after, Integer size, String fields) {
+        this.title = title;
+        this.description = description;
+        this.after = after;
+        this.size = size;
+        this.fields = fields;
+    }
+
+    @Override
+    public boolean matches(Object entity) {
+        if (!(entity instanceof Classroom)) {
+            return false;
+        }
+        Classroom classroom = (Classroom) entity;
+        if (title != null && description != null) {
+            return LikePattern.matchesIgnoreCase(title, classroom.getTitle())
+                    && LikePattern.matchesIgnoreCase(description, classroom.getDescription());
+        } else if (title != null) {
+            return LikePattern.containsIgnoreCase(title, classroom.getTitle());
+        } else if (description != null) {
+            return LikePattern.containsIgnoreCase(description, classroom.getDescription());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ClassroomSearchKey that = (ClassroomSearchKey) o;
+        return Objects.equals(title, that.title) && Objects.equals(description, that.description)
+                && Objects.equals(after, that.after) && Objects.equals(size, that.size)
+                && Objects.equals(fields, that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, description, after, size, fields);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassroomSearchKey[title=" + title + ", description=" + description + ", after=" + after
+                + ", size=" + size + ", fields=" + fields + "]";
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * The DependencyTrackingCache class.
+ * Caffeine backed cache that stores every value with its tags, and drops it on read once the
+ * CacheDependencyTracker reports a mutation affecting it.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class DependencyTrackingCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> cache;
+    private final CacheDependencyTracker tracker;
+
+    /**
+     * Creates a new instance of DependencyTrackingCache.
+     * @param name    the cache name
+     * @param cache   the backing Caffeine cache
+     * @param tracker the tracker of the mutations
+     */
+    public DependencyTrackingCache(String name, Cache<Object, Object> cache, CacheDependencyTracker tracker) {
+        super(true);
+        this.name = name;
+        this.cache = cache;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        removeIfStale(key);
+        TrackedValue value = (TrackedValue) cache.getIfPresent(key);
+        return value != null ? value.getValue() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        removeIfStale(key);
+        TrackedValue value = (TrackedValue) cache.get(key, k -> load(k, valueLoader));
+        return (T) fromStoreValue(value.getValue());
+    }
+
+    /**
+     * Looks up many keys at once, and loads every missing value with a single call of the loader. The loaded values
+     * are stored as consistent with the mutations recorded before the call, as single loads are, unless another
+     * request stored a value for the same key meanwhile.
+     * @param keys   the keys
+     * @param loader loads the values of the missing keys, leaving out the keys that have no value
+     * @return the values found or loaded, by key
+     */
+    public Map<Object, Object> getAll(Collection<?> keys, Function<Set<Object>, Map<Object, Object>> loader) {
+        keys.forEach(this::removeIfStale);
+        Map<Object, Object> values = new HashMap<>();
+        cache.getAllPresent(keys).forEach((key, value) -> values.put(key, fromStoreValue(((TrackedValue) value).getValue())));
+        Set<Object> missingKeys = new LinkedHashSet<>(keys);
+        missingKeys.removeAll(values.keySet());
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+        long sequence = tracker.currentSequence();
+        loader.apply(missingKeys).forEach((key, value) -> {
+            TrackedValue loaded = track(key, value, sequence);
+            TrackedValue existing = (TrackedValue) cache.asMap().putIfAbsent(key, loaded);
+            values.put(key, fromStoreValue((existing != null ? existing : loaded).getValue()));
+        });
+        return values;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, track(key, value, tracker.currentSequence()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        removeIfStale(key);
+        TrackedValue existing = (TrackedValue) cache.asMap()
+                                                    .putIfAbsent(key, track(key, value, tracker.currentSequence()));
+        return existing != null ? toValueWrapper(existing.getValue()) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private TrackedValue load(Object key, Callable<?> valueLoader) {
+        long sequence = tracker.currentSequence();
+        try {
+            return track(key, valueLoader.call(), sequence);
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private TrackedValue track(Object key, Object value, long sequence) {
+        return new TrackedValue(toStoreValue(value), CacheTags.of(name, key, value), sequence);
+    }
+
+    private void removeIfStale(Object key) {
+        TrackedValue value = (TrackedValue) cache.asMap().get(key);
+        if (value != null && !tracker.isCurrent(key, value)) {
+            cache.asMap().remove(key, value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.studentmanagementsystem.cache;
+
+/**
+ * The SearchKey interface.
+ * Cache key of a search result, which knows whether an entity satisfies the search criteria, so a created
+ * or updated entity only invalidates the searches it could appear in.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public interface SearchKey {
+
+    /**
+     * Checks whether an entity satisfies the search criteria.
+     * @param entity the entity to check
+     * @return true if the entity would be part of the search result
+     */
+    boolean matches(Object entity);
+}
@@ -0,0 +1,83 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+
+/**
+ * The SecondLevelCacheEvictor class.
+ * Hibernate keeps its second level cache up to date with the changes it flushes, except for:
+ * <ul>
+ *     <li>The students of a classroom, which is the inverse side of the association, so Hibernate does not
+ *     invalidate it when the classrooms of a student change</li>
+ *     <li>Rows written with JDBC, such as bulk enrollments, which change the students, their classrooms and the
+ *     tables behind cached queries</li>
+ * </ul>
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final String CLASSROOM_STUDENTS_ROLE = Classroom.class.getName() + ".students";
+    private static final String STUDENT_CLASSROOMS_ROLE = Student.class.getName() + ".classrooms";
+
+    private final Cache cache;
+
+    /**
+     * Creates a new instance of SecondLevelCacheEvictor.
+     * @param entityManagerFactory reference to the EntityManagerFactory
+     */
+    @Autowired
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Evicts the students of the classroom of an enrollment.
+     * @param event the enrollment event
+     */
+    @EventListener
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        cache.evictCollection(CLASSROOM_STUDENTS_ROLE, event.getClassroomCode());
+    }
+
+    /**
+     * Evicts students whose rows, or classrooms, were changed with JDBC, along with every cached query.
+     * @param studentIds the ids of the students
+     */
+    public void evictStudents(Collection<Integer> studentIds) {
+        for (Integer studentId : studentIds) {
+            cache.evictEntity(Student.class, studentId);
+            cache.evictCollection(STUDENT_CLASSROOMS_ROLE, studentId);
+        }
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evicts classrooms whose rows were updated or deleted with JDBC, along with their students and every cached query.
+     * @param classroomCodes the codes of the classrooms
+     */
+    public void evictClassrooms(Collection<String> classroomCodes) {
+        for (String classroomCode : classroomCodes) {
+            cache.evictEntity(Classroom.class, classroomCode);
+            cache.evictCollection(CLASSROOM_STUDENTS_ROLE, classroomCode);
+        }
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evicts everything, after the database has been written with JDBC.
+     */
+    public void evictAll() {
+        cache.evictAllRegions();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.studentmanagementsystem.cache;
+
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.repository.LikePattern;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The StudentSearchKey class.
+ * Identifies a page of a search. An entity satisfying the criteria is considered a match for every page.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class StudentSearchKey implements SearchKey, Serializable {
+
+    private final String firstName;
+    private final String lastName;
+    private final String after;
+    private final Integer size;
+    private final String fields;
+
+    /**
+     * Creates a new instance of StudentSearchKey.
+     * @param firstName the searched first name (optional)
+     * @param lastName  the searched last name (optional)
+     * @param after     the cursor after which the page starts (optional)
+     * @param size      the requested page size (optional)
+     * @param fields    the requested fields (optional)
+     */
+    public StudentSearchKey(String firstName, String lastName, String after, Integer size, String fields) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.after = after;
+        this.size = size;
+        this.fields = fields;
+    }
+
+    @Override
+    public boolean matches(Object entity) {
+        if (!(entity instanceof Student)) {
+            return false;
+        }
+        Student student = (Student) entity;
+        if (firstName != null && lastName != null) {
+            return LikePattern.matchesIgnoreCase(firstName, student.getFirstName())
+                    && LikePattern.matchesIgnoreCase(lastName, student.getLastName());
+        } else if (firstName != null) {
+            return LikePattern.containsIgnoreCase(firstName, student.getFirstName());
+        } else if (lastName != null) {
+            return LikePattern.containsIgnoreCase(lastName, student.getLastName());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StudentSearchKey that = (StudentSearchKey) o;
+        return Objects.equals(firstName, that.firstName) && Objects.equals(lastName, that.lastName)
+                && Objects.equals(after, that.after) && Objects.equals(size, that.size)
+                && Objects.equals(fields, that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(firstName, lastName, after, size, fields);
+    }
+
+    @Override
+    public String toString() {
+        return "StudentSearchKey[firstName=" + firstName + ", lastName=" + lastName + ", after=" + after
+                + ", size=" + size + ", fields=" + fields + "]";
+    }
+}
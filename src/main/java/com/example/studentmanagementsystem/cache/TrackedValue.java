@@ -0,0 +1,46 @@
+package com.example.studentmanagementsystem.cache;
+
+import java.util.Set;
+
+/**
+ * The TrackedValue class.
+ * A cached value together with its tags and the last mutation it is known to be consistent with.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+class TrackedValue {
+
+    private final Object value;
+    private final Set<String> tags;
+    private volatile long checkedSequence;
+
+    /**
+     * Creates a new instance of TrackedValue.
+     * @param value           the cached value
+     * @param tags            the tags of the value
+     * @param checkedSequence the sequence of the last mutation recorded before the value was loaded
+     */
+    TrackedValue(Object value, Set<String> tags, long checkedSequence) {
+        this.value = value;
+        this.tags = tags;
+        this.checkedSequence = checkedSequence;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    Set<String> getTags() {
+        return tags;
+    }
+
+    long getCheckedSequence() {
+        return checkedSequence;
+    }
+
+    void setCheckedSequence(long checkedSequence) {
+        if (checkedSequence > this.checkedSequence) {
+            this.checkedSequence = checkedSequence;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.studentmanagementsystem.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * The Change class.
+ * An entry of the change log: what changed, and the ids of the students and codes of the classrooms it changed. The
+ * changed items themselves are not included, replicas read them through the batch endpoints.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class Change {
+
+    /**
+     * The type of change.
+     */
+    public enum Type {
+        STUDENT_CREATED, STUDENT_UPDATED, STUDENT_DELETED,
+        CLASSROOM_CREATED, CLASSROOM_UPDATED, CLASSROOM_DELETED,
+        STUDENT_ASSIGNED, STUDENT_REMOVED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final List<Integer> studentIds;
+    private final List<String> classroomCodes;
+    private final long timestamp;
+
+    /**
+     * Creates a new instance of Change.
+     * @param sequence       the sequence number of the change
+     * @param type           the type of change
+     * @param studentIds     the ids of the changed students
+     * @param classroomCodes the codes of the changed classrooms
+     * @param timestamp      the time of the change, in milliseconds since the epoch
+     */
+    Change(long sequence, Type type, List<Integer> studentIds, List<String> classroomCodes, long timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.studentIds = studentIds;
+        this.classroomCodes = classroomCodes;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the sequence number of the change
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the type of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the ids of the changed students, or of the students assigned or removed
+     */
+    public List<Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * @return the codes of the changed classrooms, or of the classroom students were assigned to or removed from
+     */
+    public List<String> getClassroomCodes() {
+        return classroomCodes;
+    }
+
+    /**
+     * @return the time of the change, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
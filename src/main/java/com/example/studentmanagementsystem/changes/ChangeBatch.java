@@ -0,0 +1,39 @@
+package com.example.studentmanagementsystem.changes;
+
+import java.util.List;
+
+/**
+ * The ChangeBatch class.
+ * The changes answered to a poll, with the sequence number to poll from next.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ChangeBatch {
+
+    private final List<Change> changes;
+    private final long lastSequence;
+
+    /**
+     * Creates a new instance of ChangeBatch.
+     * @param changes the changes, in order
+     * @param since   the sequence number after which the changes were requested
+     */
+    ChangeBatch(List<Change> changes, long since) {
+        this.changes = changes;
+        this.lastSequence = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+    }
+
+    /**
+     * @return the changes, in order
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return the sequence number of the last change, or the requested one if there is no change, to poll from next
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.studentmanagementsystem.changes;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The ChangeFeed class.
+ * Serves the change log to replicas, either as long polls or as streams of server-sent events. Neither holds a
+ * thread while waiting: a poll is answered as soon as a change is recorded after its sequence number, or with no
+ * change once <code>changes.poll-timeout</code> milliseconds have passed. Streams are written by a pool of
+ * <code>changes.stream-threads</code> threads rather than by the thread notifying the subscribers of the log, so
+ * streams never delay the writes, and a client more than <code>changes.max-stream-lag</code> changes behind has its
+ * stream closed. A send is a blocking write, though: a client that stops reading holds a thread until its write
+ * fails, once the connection is dropped, so only as many stalled clients as there are threads are absorbed before
+ * the other streams wait for them.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class ChangeFeed implements DisposableBean {
+
+    private final ChangeLog changeLog;
+    private final ChangeProperties properties;
+    private final ExecutorService streamExecutor;
+
+    /**
+     * Creates a new instance of ChangeFeed.
+     * @param changeLog  reference to the ChangeLog
+     * @param properties reference to the ChangeProperties
+     */
+    @Autowired
+    public ChangeFeed(ChangeLog changeLog, ChangeProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+        this.streamExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getStreamThreads()),
+                                                           new CustomizableThreadFactory("change-stream-"));
+    }
+
+    /**
+     * Polls the changes recorded after a given sequence number, waiting for the next one if there is none yet.
+     * @param since the sequence number of the last change already read
+     * @return the deferred changes, at most <code>changes.batch-size</code> of them
+     * @throws ChangesExpiredException if some of the changes are no longer kept
+     */
+    public DeferredResult<ChangeBatch> poll(long since) throws ChangesExpiredException {
+        List<Change> changes = changeLog.read(since, properties.getBatchSize());
+        DeferredResult<ChangeBatch> result = new DeferredResult<>(properties.getPollTimeout(),
+                                                                  new ChangeBatch(Collections.emptyList(), since));
+        if (!changes.isEmpty()) {
+            result.setResult(new ChangeBatch(changes, since));
+            return result;
+        }
+        Runnable waiter = () -> {
+            if (result.isSetOrExpired()) {
+                return;
+            }
+            try {
+                List<Change> recorded = changeLog.read(since, properties.getBatchSize());
+                if (!recorded.isEmpty()) {
+                    result.setResult(new ChangeBatch(recorded, since));
+                }
+            } catch (ChangesExpiredException e) {
+                result.setErrorResult(e);
+            }
+        };
+        result.onCompletion(() -> changeLog.unsubscribe(waiter));
+        changeLog.subscribe(waiter);
+        // Checked again once subscribed, so a change recorded meanwhile is not missed
+        waiter.run();
+        return result;
+    }
+
+    /**
+     * Streams the changes recorded after a given sequence number, as server-sent events whose id is the sequence
+     * number of the change. The stream is closed if it falls too far behind, so the client reconnects from the last
+     * event it received, and learns the changes are no longer kept if it fell behind the log.
+     * @param since the sequence number of the last change already read, or null to stream the next changes only
+     * @return the stream
+     * @throws ChangesExpiredException if some of the changes are no longer kept
+     */
+    public SseEmitter stream(Long since) throws ChangesExpiredException {
+        long start = since != null ? since : changeLog.currentSequence();
+        changeLog.read(start, 0);
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout());
+        ChangeStream stream = new ChangeStream(emitter, start);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        changeLog.subscribe(stream);
+        stream.run();
+        return emitter;
+    }
+
+    /**
+     * Stops sending the changes to the streams.
+     */
+    @Override
+    public void destroy() {
+        streamExecutor.shutdownNow();
+    }
+
+    /**
+     * A stream of changes to one client. Being notified only schedules the stream on the stream executor, unless it
+     * is already scheduled, and every run sends a single batch of changes before scheduling the stream again behind
+     * the others, so a client reading a fast stream never starves the other clients. A client that stops reading
+     * still holds the thread blocked in its send.
+     */
+    private class ChangeStream implements Runnable {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private long cursor;
+
+        private ChangeStream(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    streamExecutor.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                if (changeLog.currentSequence() - cursor > properties.getMaxStreamLag()) {
+                    // Too far behind: the client reconnects from the last event it received
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                for (Change change : changeLog.read(cursor, properties.getBatchSize())) {
+                    emitter.send(SseEmitter.event()
+                                           .id(Long.toString(change.getSequence()))
+                                           .data(change, MediaType.APPLICATION_JSON));
+                    cursor = change.getSequence();
+                }
+            } catch (ChangesExpiredException e) {
+                close();
+                emitter.complete();
+            } catch (IOException e) {
+                close();
+                emitter.completeWithError(e);
+            } catch (IllegalStateException e) {
+                // The stream has already been completed
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (changeLog.currentSequence() > cursor) {
+                run();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            changeLog.unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.studentmanagementsystem.changes;
+
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The ChangeLog class.
+ * Keeps a bounded, ordered log of the changes made to students, classrooms and enrollments, recorded from the events
+ * published after every create, update, delete, assignment and removal. Every change gets the next sequence number,
+ * and the last <code>changes.log-size</code> changes are kept, so a replica can follow them from the last one it
+ * has seen instead of reading the searches again. Subscribers are notified on a thread of their own, so a slow
+ * reader never delays a write, and as that thread is shared by every subscriber, they only signal their readers
+ * and never block on them. The log is only kept in memory, and starts over from sequence number one with the
+ * application.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class ChangeLog implements DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final int capacity;
+    private final AtomicReferenceArray<Change> log;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Runnable> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean notificationPending = new AtomicBoolean();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("change-log-"));
+
+    /**
+     * Creates a new instance of ChangeLog.
+     * @param properties reference to the ChangeProperties
+     */
+    @Autowired
+    public ChangeLog(ChangeProperties properties) {
+        this.capacity = Math.max(1, properties.getLogSize());
+        this.log = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Records the creation, update or deletion of students.
+     * @param event the student event
+     */
+    @EventListener
+    public void onStudentEvent(StudentEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                record(Change.Type.STUDENT_CREATED, event.getStudentIds(), Collections.emptyList());
+                break;
+            case UPDATED:
+                record(Change.Type.STUDENT_UPDATED, event.getStudentIds(), Collections.emptyList());
+                break;
+            case DELETED:
+                record(Change.Type.STUDENT_DELETED, event.getStudentIds(), Collections.emptyList());
+                break;
+        }
+    }
+
+    /**
+     * Records the creation, update or deletion of classrooms.
+     * @param event the classroom event
+     */
+    @EventListener
+    public void onClassroomEvent(ClassroomEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                record(Change.Type.CLASSROOM_CREATED, Collections.emptyList(), event.getClassroomCodes());
+                break;
+            case UPDATED:
+                record(Change.Type.CLASSROOM_UPDATED, Collections.emptyList(), event.getClassroomCodes());
+                break;
+            case DELETED:
+                record(Change.Type.CLASSROOM_DELETED, Collections.emptyList(), event.getClassroomCodes());
+                break;
+        }
+    }
+
+    /**
+     * Records the students assigned to or removed from a classroom.
+     * @param event the enrollment event
+     */
+    @EventListener
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        Change.Type type = event.getType() == EnrollmentEvent.Type.ASSIGNED ? Change.Type.STUDENT_ASSIGNED
+                                                                            : Change.Type.STUDENT_REMOVED;
+        record(type, event.getStudentIds(), Collections.singletonList(event.getClassroomCode()));
+    }
+
+    /**
+     * @return the sequence number of the last recorded change, zero if there is none
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Reads the changes recorded after a given sequence number.
+     * @param since the sequence number of the last change already read, zero to read from the first one
+     * @param limit the maximum number of changes read
+     * @return the changes, in order, empty if there is none yet
+     * @throws ChangesExpiredException if some of the changes are no longer kept, or the sequence number was not given
+     *                                 by this log, as after a restart
+     */
+    public List<Change> read(long since, int limit) throws ChangesExpiredException {
+        long current = sequence.get();
+        if (since < 0 || since > current || current - since > capacity) {
+            throw new ChangesExpiredException(since);
+        }
+        List<Change> changes = new ArrayList<>();
+        for (long next = since + 1; next <= current && changes.size() < limit; next++) {
+            Change change = log.get(index(next));
+            if (change == null || change.getSequence() != next) {
+                throw new ChangesExpiredException(since);
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    /**
+     * Registers a subscriber, run after the changes recorded from now on. Several changes recorded in a row may be
+     * notified once. Subscribers share the notifying thread, so they must return without blocking.
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Runnable subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Unregisters a subscriber.
+     * @param subscriber the subscriber
+     */
+    public void unsubscribe(Runnable subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Stops notifying the subscribers.
+     */
+    @Override
+    public void destroy() {
+        notifier.shutdownNow();
+    }
+
+    private void record(Change.Type type, List<Integer> studentIds, List<String> classroomCodes) {
+        synchronized (this) {
+            long next = sequence.get() + 1;
+            log.set(index(next), new Change(next, type, studentIds, classroomCodes, System.currentTimeMillis()));
+            sequence.set(next);
+        }
+        if (!subscribers.isEmpty() && !notifier.isShutdown() && notificationPending.compareAndSet(false, true)) {
+            notifier.execute(this::notifySubscribers);
+        }
+    }
+
+    private void notifySubscribers() {
+        notificationPending.set(false);
+        for (Runnable subscriber : subscribers) {
+            try {
+                subscriber.run();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to notify a subscriber of the change log", e);
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
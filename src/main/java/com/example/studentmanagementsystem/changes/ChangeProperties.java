@@ -0,0 +1,111 @@
+package com.example.studentmanagementsystem.changes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ChangeProperties class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+@ConfigurationProperties(prefix = "changes")
+public class ChangeProperties {
+
+    private int logSize = 10000;
+    private int batchSize = 500;
+    private long pollTimeout = 30000;
+    private long streamTimeout = 600000;
+    private int streamThreads = 4;
+    private int maxStreamLag = 2000;
+
+    /**
+     * @return the number of changes kept in the log
+     */
+    public int getLogSize() {
+        return logSize;
+    }
+
+    /**
+     * Sets the number of changes kept in the log.
+     * @param logSize the new log size
+     */
+    public void setLogSize(int logSize) {
+        this.logSize = logSize;
+    }
+
+    /**
+     * @return the maximum number of changes answered to a poll
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of changes answered to a poll.
+     * @param batchSize the new batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the time a poll waits for a change before being answered with none, in milliseconds
+     */
+    public long getPollTimeout() {
+        return pollTimeout;
+    }
+
+    /**
+     * Sets the time a poll waits for a change before being answered with none.
+     * @param pollTimeout the new timeout, in milliseconds
+     */
+    public void setPollTimeout(long pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    /**
+     * @return the time after which a stream of changes is closed, so the client reconnects, in milliseconds
+     */
+    public long getStreamTimeout() {
+        return streamTimeout;
+    }
+
+    /**
+     * Sets the time after which a stream of changes is closed, so the client reconnects.
+     * @param streamTimeout the new timeout, in milliseconds
+     */
+    public void setStreamTimeout(long streamTimeout) {
+        this.streamTimeout = streamTimeout;
+    }
+
+    /**
+     * @return the number of threads writing the streams of changes
+     */
+    public int getStreamThreads() {
+        return streamThreads;
+    }
+
+    /**
+     * Sets the number of threads writing the streams of changes.
+     * @param streamThreads the new number of threads
+     */
+    public void setStreamThreads(int streamThreads) {
+        this.streamThreads = streamThreads;
+    }
+
+    /**
+     * @return the number of changes a stream may fall behind before it is closed
+     */
+    public int getMaxStreamLag() {
+        return maxStreamLag;
+    }
+
+    /**
+     * Sets the number of changes a stream may fall behind before it is closed.
+     * @param maxStreamLag the new maximum lag
+     */
+    public void setMaxStreamLag(int maxStreamLag) {
+        this.maxStreamLag = maxStreamLag;
+    }
+}
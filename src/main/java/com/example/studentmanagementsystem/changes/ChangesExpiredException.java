@@ -0,0 +1,17 @@
+package com.example.studentmanagementsystem.changes;
+
+/**
+ * The ChangesExpiredException class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ChangesExpiredException extends Exception {
+
+    /**
+     * Creates a new instance of ChangesExpiredException.
+     * @param since the sequence number after which the changes were requested
+     */
+    public ChangesExpiredException(long since) {
+        super("The changes after sequence number " + since + " are no longer kept in the change log");
+    }
+}
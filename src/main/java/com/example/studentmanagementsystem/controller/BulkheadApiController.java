@@ -0,0 +1,45 @@
+package com.example.studentmanagementsystem.controller;
+
+import com.example.studentmanagementsystem.bulkhead.Bulkhead;
+import com.example.studentmanagementsystem.bulkhead.BulkheadStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The BulkheadApiController class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@RestController
+@RequestMapping(value = "/bulkheads")
+public class BulkheadApiController {
+
+    private final List<Bulkhead> bulkheads;
+
+    /**
+     * Creates a new instance of BulkheadApiController.
+     * @param bulkheads references to every Bulkhead
+     */
+    @Autowired
+    public BulkheadApiController(List<Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    /**
+     * Finds the statistics of every bulkhead.
+     * @return the statistics of the bulkheads, sorted by name
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public List<BulkheadStatistics> getBulkheadStatistics() {
+        return bulkheads.stream()
+                        .sorted(Comparator.comparing(Bulkhead::getName))
+                        .map(Bulkhead::getStatistics)
+                        .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.studentmanagementsystem.controller;
+
+import com.example.studentmanagementsystem.cache.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * The CacheApiController class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@RestController
+@RequestMapping(value = "/caches")
+public class CacheApiController {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Creates a new instance of CacheApiController.
+     * @param cacheManager reference to the CacheManager
+     */
+    @Autowired
+    public CacheApiController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Finds the statistics of every named cache.
+     * @return the statistics of the caches, sorted by name
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public List<CacheStatistics> getCacheStatistics() {
+        return CacheStatistics.of(cacheManager);
+    }
+}
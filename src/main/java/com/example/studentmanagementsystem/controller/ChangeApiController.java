@@ -0,0 +1,69 @@
+package com.example.studentmanagementsystem.controller;
+
+import com.example.studentmanagementsystem.changes.ChangeBatch;
+import com.example.studentmanagementsystem.changes.ChangeFeed;
+import com.example.studentmanagementsystem.changes.ChangesExpiredException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The ChangeApiController class.
+ * Lets replicas of the students and classrooms follow the changes made to them, from the in memory change log. A
+ * replica reads every item once, then only the items named by the changes, through the batch endpoints. When a
+ * change it has not read is no longer kept, the request fails with <code>410 Gone</code> and the replica has to
+ * read every item again.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@RestController
+@RequestMapping(value = "/changes")
+public class ChangeApiController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeFeed changeFeed;
+
+    /**
+     * Creates a new instance of ChangeApiController.
+     * @param changeFeed reference to the ChangeFeed
+     */
+    @Autowired
+    public ChangeApiController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Finds the changes recorded after a given sequence number, waiting for the next one if there is none yet (long
+     * polling).
+     * @param since the sequence number of the last change already read, zero to read from the first one
+     * @return the deferred changes, with the sequence number to poll from next
+     * @throws ChangesExpiredException
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public DeferredResult<ChangeBatch> getChanges(@RequestParam long since) throws ChangesExpiredException {
+        return changeFeed.poll(since);
+    }
+
+    /**
+     * Streams the changes as server-sent events, from the id of the last event received before reconnecting, or else
+     * from the given sequence number, or else from the next change. Reconnecting clients send the URL they first
+     * connected to, so the id of their last event wins over its sequence number.
+     * @param since       the sequence number of the last change already read (optional)
+     * @param lastEventId the id of the last event received, sent by reconnecting clients (optional)
+     * @return the stream of changes
+     * @throws ChangesExpiredException
+     */
+    @RequestMapping(value = "/stream", method = RequestMethod.GET, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                    @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId)
+            throws ChangesExpiredException {
+        return changeFeed.stream(lastEventId != null ? lastEventId : since);
+    }
+}
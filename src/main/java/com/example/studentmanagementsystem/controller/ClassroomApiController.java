@@ -1,19 +1,50 @@
 package com.example.studentmanagementsystem.controller;
 
+import com.example.studentmanagementsystem.bulk.BulkDeleteResult;
+import com.example.studentmanagementsystem.bulk.BulkDeleter;
+import com.example.studentmanagementsystem.bulk.BulkEnroller;
+import com.example.studentmanagementsystem.bulk.BulkEnrollmentResult;
+import com.example.studentmanagementsystem.bulk.BulkImportResult;
+import com.example.studentmanagementsystem.bulk.BulkImporter;
+import com.example.studentmanagementsystem.bulkhead.Bulkhead;
+import com.example.studentmanagementsystem.etag.EntityTags;
+import com.example.studentmanagementsystem.etag.InvalidEntityTagException;
+import com.example.studentmanagementsystem.etag.VersionedUpdates;
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.export.NdjsonExporter;
 import com.example.studentmanagementsystem.model.Classroom;
 import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.example.studentmanagementsystem.query.BatchLookupResult;
+import com.example.studentmanagementsystem.query.ClassroomQueries;
 import com.example.studentmanagementsystem.repository.ClassroomRepository;
 import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
+import com.example.studentmanagementsystem.search.ClassroomSearchIndex;
+import com.example.studentmanagementsystem.search.Suggestion;
+import com.example.studentmanagementsystem.search.SuggestionProperties;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The ClassroomApiController class.
+ * Searches, association lookups and bulk operations run on the classroom bulkhead, so a burst of them cannot use up
+ * the servlet container threads answering point reads and updates.
  * @author Jorge Vasquez
  * @since 1.8
  */
@@ -22,14 +53,48 @@ import java.util.Optional;
 public class ClassroomApiController {
 
     private final ClassroomRepository classroomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonExporter exporter;
+    private final BulkImporter importer;
+    private final BulkEnroller enroller;
+    private final BulkDeleter deleter;
+    private final ClassroomSearchIndex searchIndex;
+    private final SuggestionProperties suggestionProperties;
+    private final ClassroomQueries classroomQueries;
+    private final Bulkhead bulkhead;
+    private final VersionedUpdates versionedUpdates;
 
     /**
      * Creates a new instance of ClassroomApiController.
-     * @param classroomRepository reference to the ClassroomRepository
+     * @param classroomRepository  reference to the ClassroomRepository
+     * @param eventPublisher       reference to the ApplicationEventPublisher
+     * @param exporter             reference to the NdjsonExporter
+     * @param importer             reference to the BulkImporter
+     * @param enroller             reference to the BulkEnroller
+     * @param deleter              reference to the BulkDeleter
+     * @param searchIndex          reference to the ClassroomSearchIndex
+     * @param suggestionProperties reference to the SuggestionProperties
+     * @param classroomQueries     reference to the ClassroomQueries
+     * @param bulkhead             reference to the Bulkhead of the classroom endpoints
+     * @param versionedUpdates     reference to the VersionedUpdates
      */
     @Autowired
-    public ClassroomApiController(ClassroomRepository classroomRepository) {
+    public ClassroomApiController(ClassroomRepository classroomRepository, ApplicationEventPublisher eventPublisher,
+                                  NdjsonExporter exporter, BulkImporter importer, BulkEnroller enroller,
+                                  BulkDeleter deleter, ClassroomSearchIndex searchIndex, SuggestionProperties suggestionProperties,
+                                  ClassroomQueries classroomQueries, @Qualifier("classroomBulkhead") Bulkhead bulkhead,
+                                  VersionedUpdates versionedUpdates) {
         this.classroomRepository = classroomRepository;
+        this.eventPublisher = eventPublisher;
+        this.exporter = exporter;
+        this.importer = importer;
+        this.enroller = enroller;
+        this.deleter = deleter;
+        this.searchIndex = searchIndex;
+        this.suggestionProperties = suggestionProperties;
+        this.classroomQueries = classroomQueries;
+        this.bulkhead = bulkhead;
+        this.versionedUpdates = versionedUpdates;
     }
 
     /**
@@ -39,78 +104,174 @@ public class ClassroomApiController {
      */
     @RequestMapping(method = RequestMethod.POST)
     public Classroom createClassroom(@RequestBody Classroom classroom) {
-        return classroomRepository.save(classroom);
+        Classroom createdClassroom = classroomRepository.save(classroom);
+        eventPublisher.publishEvent(ClassroomEvent.created(createdClassroom));
+        return createdClassroom;
     }
 
     /**
-     * Finds a classroom by code.
-     * @param code the searched classroom code
-     * @return the found classroom
+     * Finds a classroom by code. The response is tagged with the classroom version, so a cached response answers
+     * conditional requests without reading the classroom.
+     * @param code   the searched classroom code
+     * @param fields the comma separated fields to render (optional)
+     * @return the found classroom, with its entity tag
      * @throws ClassroomNotFoundException
+     * @throws InvalidFieldsException
      */
     @RequestMapping(method = RequestMethod.GET)
-    @Cacheable(value = "classroomCache", key = "#code")
-    public Classroom getClassroomByCode(@RequestParam String code) throws ClassroomNotFoundException {
-        return Optional.ofNullable(classroomRepository.findOne(code)).orElseThrow(() -> new ClassroomNotFoundException(code));
+    @Cacheable(value = "classroomCache", key = "#fields == null ? #code : #code + '?fields=' + #fields", sync = true)
+    public ResponseEntity<MappingJacksonValue> getClassroomByCode(@RequestParam String code,
+                                                                  @RequestParam(value = "fields", required = false) String fields)
+            throws ClassroomNotFoundException, InvalidFieldsException {
+        FieldSelection selection = FieldSelection.ofClassroom(fields);
+        ClassroomSummary classroom = Optional.ofNullable(classroomRepository.findClassroomSummaryByCode(code))
+                                             .orElseThrow(() -> new ClassroomNotFoundException(code));
+        return EntityTags.tag(ResponseEntity.ok(selection.apply(classroom)));
+    }
+
+    /**
+     * Finds many classrooms at once, on the classroom bulkhead. The cached classrooms are answered from the cache, and
+     * the others are loaded with a single query.
+     * @param codes the comma separated codes of the classrooms
+     * @return the future found classrooms, in the order they were requested, and the codes that do not belong to any
+     * classroom
+     * @see ClassroomQueries#getClassroomsByCodes(List)
+     */
+    @RequestMapping(value = "/batch", method = RequestMethod.GET)
+    public CompletableFuture<BatchLookupResult<ClassroomSummary, String>> getClassroomsByCodes(@RequestParam List<String> codes) {
+        return bulkhead.submit(() -> classroomQueries.getClassroomsByCodes(codes));
     }
 
     /**
-     * Finds classrooms for the given search parameters.
+     * Finds a page of classrooms for the given search parameters, sorted by code, on the classroom bulkhead.
      * @param title       the searched title (optional)
      * @param description the searched description (optional)
-     * @return the found classrooms for the given search parameters
+     * @param after       the cursor after which the page starts, taken from the Link header of the previous page (optional)
+     * @param size        the page size (optional)
+     * @param fields      the comma separated fields to render (optional)
+     * @return the future found classrooms for the given search parameters, with a Link header to the next page if
+     * there is one, and the entity tag of the page
+     * @see ClassroomQueries#getClassrooms(String, String, String, Integer, String)
      */
     @RequestMapping(value = "/search", method = RequestMethod.GET)
-    @Cacheable(value = "classroomCache", key = "#root.args")
-    public List<Classroom> getClassrooms(@RequestParam(value = "title", required = false) String title,
-                                         @RequestParam(value = "description", required = false) String description) {
-        List<Classroom> classrooms;
-        if (title != null && description != null) {
-            classrooms = classroomRepository.findClassroomsByTitleAndAndDescription(title, description);
-        } else if (title != null) {
-            classrooms = classroomRepository.findClassRoomsByTitleContainsIgnoreCase(title);
-        } else if (description != null) {
-            classrooms = classroomRepository.findClassroomsByDescriptionContainsIgnoreCase(description);
-        } else {
-            classrooms = classroomRepository.findAll();
-        }
-        return classrooms;
+    public CompletableFuture<ResponseEntity<MappingJacksonValue>> getClassrooms(@RequestParam(value = "title", required = false) String title,
+                                                                                @RequestParam(value = "description", required = false) String description,
+                                                                                @RequestParam(value = "after", required = false) String after,
+                                                                                @RequestParam(value = "size", required = false) Integer size,
+                                                                                @RequestParam(value = "fields", required = false) String fields) {
+        return bulkhead.submit(() -> classroomQueries.getClassrooms(title, description, after, size, fields));
+    }
+
+    /**
+     * Suggests the most frequent titles starting with the given prefix, ignoring case, for typeahead. Suggestions
+     * are answered from memory, without going to the database.
+     * @param prefix the typed prefix
+     * @param size   the maximum number of suggestions (optional)
+     * @return the suggestions, the most frequent first
+     */
+    @RequestMapping(value = "/suggest", method = RequestMethod.GET)
+    public List<Suggestion> suggestTitles(@RequestParam String prefix,
+                                          @RequestParam(value = "size", required = false) Integer size) {
+        return searchIndex.suggest(prefix, suggestionProperties.size(size));
+    }
+
+    /**
+     * Exports every classroom as newline delimited JSON, streaming the records as they are read from the database.
+     * @return the response whose body writes the records
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET, produces = NdjsonExporter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClassrooms() {
+        return ResponseEntity.ok()
+                             .contentType(NdjsonExporter.APPLICATION_NDJSON)
+                             .body(exporter::exportClassrooms);
     }
 
     /**
-     * Finds the classrooms for a given student id
+     * Creates the classrooms read from the request body, either a JSON array or newline delimited JSON. The body is read
+     * as a stream on the classroom bulkhead and written in batches, so a failed row does not stop the import.
+     * @param inputStream the request body
+     * @return the future outcome of every row, completed with an IOException if the request body is not well formed JSON
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.POST)
+    public CompletableFuture<BulkImportResult> importClassrooms(InputStream inputStream) {
+        return bulkhead.submit(() -> importer.importClassrooms(inputStream));
+    }
+
+    /**
+     * Assigns many students to a classroom at once. Only the missing enrollments are written, and the ids that do
+     * not belong to a student are reported instead of failing the request. The enrollments are written on the
+     * classroom bulkhead.
+     * @param code       the classroom code
+     * @param studentIds the ids of the students
+     * @return the future ids of the students split by outcome, completed with a ClassroomNotFoundException if there
+     * is no such classroom
+     */
+    @RequestMapping(value = "/{code}/students", method = RequestMethod.POST)
+    public CompletableFuture<BulkEnrollmentResult> enrollStudents(@PathVariable String code,
+                                                                  @RequestBody List<Integer> studentIds) {
+        return bulkhead.submit(() -> enroller.enroll(code, studentIds));
+    }
+
+    /**
+     * Deletes many classrooms at once, along with their enrollments, on the classroom bulkhead. The codes that do not
+     * belong to a classroom are reported instead of failing the request.
+     * @param codes the codes of the classrooms
+     * @return the future codes of the classrooms split by outcome
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.DELETE)
+    public CompletableFuture<BulkDeleteResult<String>> deleteClassrooms(@RequestBody List<String> codes) {
+        return bulkhead.submit(() -> deleter.deleteClassrooms(codes));
+    }
+
+    /**
+     * Finds the students for a given classroom code, on the classroom bulkhead.
      * @param code the searched classroom code
-     * @return the found students
+     * @return the future found students, with their entity tag
+     * @see ClassroomQueries#getClassroomStudents(String)
      */
     @RequestMapping(value = "/students", method = RequestMethod.GET)
-    @Cacheable(value = "classroomStudentsCache", key = "#code")
-    public List<Student> getClassroomStudents(@RequestParam String code) throws ClassroomNotFoundException {
-        Classroom classroom = Optional.ofNullable(classroomRepository.findOne(code))
-                                      .orElseThrow(() -> new ClassroomNotFoundException(code));
-        return classroom.getStudents();
+    public CompletableFuture<ResponseEntity<List<Student>>> getClassroomStudents(@RequestParam String code) {
+        return bulkhead.submit(() -> classroomQueries.getClassroomStudents(code));
     }
 
     /**
-     * Updates a classroom with the given data.
+     * Updates a classroom with the given data. When an entity tag is given, the classroom is updated by a single
+     * statement matching the version it names, without being read first, and a classroom that does not exist fails
+     * the precondition as well.
      * @param classroom the new data for the classroom
-     * @return the updated classroom
+     * @param ifMatch   the entity tag the classroom must match (optional)
+     * @return the updated classroom, with its new entity tag
      * @throws ClassroomNotFoundException
+     * @throws InvalidEntityTagException
      */
     @RequestMapping(method = RequestMethod.PUT)
-    @CacheEvict(value = "classroomCache", key = "#classroom.getCode()")
-    public Classroom updateClassroom(@RequestBody Classroom classroom) throws ClassroomNotFoundException {
-        Optional.ofNullable(classroomRepository.findOne(classroom.getCode()))
-                .orElseThrow(() -> new ClassroomNotFoundException(classroom.getCode()));
-        return classroomRepository.save(classroom);
+    public ResponseEntity<Classroom> updateClassroom(@RequestBody Classroom classroom,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ClassroomNotFoundException, InvalidEntityTagException {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        Classroom updatedClassroom;
+        if (expectedVersion != null) {
+            versionedUpdates.updateClassroom(classroom, expectedVersion);
+            updatedClassroom = classroom;
+        } else {
+            Classroom currentClassroom = Optional.ofNullable(classroomRepository.findOne(classroom.getCode()))
+                                                 .orElseThrow(() -> new ClassroomNotFoundException(classroom.getCode()));
+            classroom.setVersion(currentClassroom.getVersion());
+            updatedClassroom = classroomRepository.save(classroom);
+        }
+        eventPublisher.publishEvent(ClassroomEvent.updated(updatedClassroom));
+        return EntityTags.tag(ResponseEntity.ok(updatedClassroom));
     }
 
     /**
-     * Deletes a classroom from the database.
+     * Deletes a classroom from the database, along with its enrollments.
      * @param code the code of the classroom to be deleted
      */
     @RequestMapping(method = RequestMethod.DELETE)
-    @CacheEvict(value = "classroomCache", key = "#code")
     public void deleteClassroom(@RequestParam String code) {
-        classroomRepository.delete(code);
+        if (!deleter.deleteClassrooms(Collections.singleton(code)).getNotFound().isEmpty()) {
+            // Same exception as the repository deletes, so a missing row keeps answering 204 No Content
+            throw new EmptyResultDataAccessException("No classroom with code " + code + " exists", 1);
+        }
     }
 }
@@ -0,0 +1,129 @@
+package com.example.studentmanagementsystem.controller;
+
+import com.example.studentmanagementsystem.enrollment.ClassroomEnrollmentStatistics;
+import com.example.studentmanagementsystem.enrollment.ClassroomSeatStatistics;
+import com.example.studentmanagementsystem.enrollment.ClassroomSeats;
+import com.example.studentmanagementsystem.enrollment.EnrollmentCounters;
+import com.example.studentmanagementsystem.enrollment.EnrollmentQueue;
+import com.example.studentmanagementsystem.enrollment.EnrollmentQueueStatistics;
+import com.example.studentmanagementsystem.enrollment.StudentEnrollmentStatistics;
+import com.example.studentmanagementsystem.pagination.PaginationProperties;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
+import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The EnrollmentApiController class.
+ * Enrollment statistics are answered from the in memory counters of EnrollmentCounters, without reading the
+ * students of a classroom, and the seats of a classroom from ClassroomSeats.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@RestController
+@RequestMapping(value = "/enrollments")
+public class EnrollmentApiController {
+
+    private final EnrollmentQueue enrollmentQueue;
+    private final EnrollmentCounters enrollmentCounters;
+    private final ClassroomSeats classroomSeats;
+    private final StudentRepository studentRepository;
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Creates a new instance of EnrollmentApiController.
+     * @param enrollmentQueue      reference to the EnrollmentQueue
+     * @param enrollmentCounters   reference to the EnrollmentCounters
+     * @param classroomSeats       reference to the ClassroomSeats
+     * @param studentRepository    reference to the StudentRepository
+     * @param paginationProperties reference to the PaginationProperties
+     */
+    @Autowired
+    public EnrollmentApiController(EnrollmentQueue enrollmentQueue, EnrollmentCounters enrollmentCounters,
+                                   ClassroomSeats classroomSeats, StudentRepository studentRepository,
+                                   PaginationProperties paginationProperties) {
+        this.enrollmentQueue = enrollmentQueue;
+        this.enrollmentCounters = enrollmentCounters;
+        this.classroomSeats = classroomSeats;
+        this.studentRepository = studentRepository;
+        this.paginationProperties = paginationProperties;
+    }
+
+    /**
+     * Finds the pending operations and counters of the enrollment queue.
+     * @return the statistics of the queue
+     */
+    @RequestMapping(value = "/queue", method = RequestMethod.GET)
+    public EnrollmentQueueStatistics getQueueStatistics() {
+        return enrollmentQueue.getStatistics();
+    }
+
+    /**
+     * Finds the number of students of a classroom, and its recent growth.
+     * @param code the classroom code
+     * @return the statistics of the classroom
+     * @throws ClassroomNotFoundException
+     */
+    @RequestMapping(value = "/classes", method = RequestMethod.GET)
+    public ClassroomEnrollmentStatistics getClassroomStatistics(@RequestParam String code) throws ClassroomNotFoundException {
+        return Optional.ofNullable(enrollmentCounters.getClassroomStatistics(code))
+                       .orElseThrow(() -> new ClassroomNotFoundException(code));
+    }
+
+    /**
+     * Finds the capacity, the seats taken and the number of waitlisted students of a classroom.
+     * @param code the classroom code
+     * @return the seats of the classroom
+     * @throws ClassroomNotFoundException
+     */
+    @RequestMapping(value = "/seats", method = RequestMethod.GET)
+    public ClassroomSeatStatistics getSeatStatistics(@RequestParam String code) throws ClassroomNotFoundException {
+        return Optional.ofNullable(classroomSeats.getStatistics(code))
+                       .orElseThrow(() -> new ClassroomNotFoundException(code));
+    }
+
+    /**
+     * Finds the number of classrooms of a student. Students never enrolled are looked up by id.
+     * @param id the student id
+     * @return the statistics of the student
+     * @throws StudentNotFoundException
+     */
+    @RequestMapping(value = "/students", method = RequestMethod.GET)
+    public StudentEnrollmentStatistics getStudentStatistics(@RequestParam int id) throws StudentNotFoundException {
+        StudentEnrollmentStatistics statistics = enrollmentCounters.getStudentStatistics(id);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (!studentRepository.exists(id)) {
+            throw new StudentNotFoundException(id);
+        }
+        return new StudentEnrollmentStatistics(id, 0);
+    }
+
+    /**
+     * Finds the classrooms with the most students.
+     * @param size the number of classrooms (optional)
+     * @return the classrooms, the largest first
+     */
+    @RequestMapping(value = "/classes/largest", method = RequestMethod.GET)
+    public List<ClassroomEnrollmentStatistics> getLargestClassrooms(@RequestParam(value = "size", required = false) Integer size) {
+        return enrollmentCounters.getLargestClassrooms(paginationProperties.pageSize(size));
+    }
+
+    /**
+     * Finds the classrooms that have grown the most recently.
+     * @param size the number of classrooms (optional)
+     * @return the growing classrooms, the fastest growing first
+     */
+    @RequestMapping(value = "/classes/growing", method = RequestMethod.GET)
+    public List<ClassroomEnrollmentStatistics> getGrowingClassrooms(@RequestParam(value = "size", required = false) Integer size) {
+        return enrollmentCounters.getGrowingClassrooms(paginationProperties.pageSize(size));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.studentmanagementsystem.controller;
+
+import com.example.studentmanagementsystem.metrics.MetricsReport;
+import com.example.studentmanagementsystem.metrics.MetricsReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The MetricsApiController class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@RestController
+@RequestMapping(value = "/metrics")
+public class MetricsApiController {
+
+    private final MetricsReporter reporter;
+
+    /**
+     * Creates a new instance of MetricsApiController.
+     * @param reporter reference to the MetricsReporter
+     */
+    @Autowired
+    public MetricsApiController(MetricsReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * Finds the latencies of every controller and repository method, with the cache and Hibernate statistics.
+     * @return the metrics since the application started
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public MetricsReport getMetrics() {
+        return reporter.report();
+    }
+}
@@ -1,21 +1,61 @@
 package com.example.studentmanagementsystem.controller;
 
+import com.example.studentmanagementsystem.bulk.BulkDeleteResult;
+import com.example.studentmanagementsystem.bulk.BulkDeleter;
+import com.example.studentmanagementsystem.bulk.BulkImportResult;
+import com.example.studentmanagementsystem.bulk.BulkImporter;
+import com.example.studentmanagementsystem.bulkhead.Bulkhead;
+import com.example.studentmanagementsystem.enrollment.ClassroomFullException;
+import com.example.studentmanagementsystem.enrollment.ClassroomSeats;
+import com.example.studentmanagementsystem.enrollment.EnrollmentQueue;
+import com.example.studentmanagementsystem.etag.EntityTags;
+import com.example.studentmanagementsystem.etag.InvalidEntityTagException;
+import com.example.studentmanagementsystem.etag.VersionedUpdates;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import com.example.studentmanagementsystem.export.NdjsonExporter;
 import com.example.studentmanagementsystem.model.Classroom;
 import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.example.studentmanagementsystem.query.BatchLookupResult;
+import com.example.studentmanagementsystem.query.StudentQueries;
 import com.example.studentmanagementsystem.repository.ClassroomRepository;
 import com.example.studentmanagementsystem.repository.StudentRepository;
 import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
 import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import com.example.studentmanagementsystem.search.StudentSearchIndex;
+import com.example.studentmanagementsystem.search.Suggestion;
+import com.example.studentmanagementsystem.search.SuggestionProperties;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The StudentApiController class.
+ * Searches, association lookups and bulk operations run on the student bulkhead, so a burst of them cannot use up the
+ * servlet container threads answering point reads and updates. When the enrollment queue is enabled, assignments and
+ * removals are answered with <code>202 Accepted</code> once queued, and written later. Assignments reserve a seat of
+ * the classroom before writing the enrollment, and students finding the classroom full are put on its waitlist.
  * @author Jorge Vasquez
  * @since 1.8
  */
@@ -23,17 +63,61 @@ import java.util.Optional;
 @RequestMapping(value = "/students")
 public class StudentApiController {
 
+    private static final String CLASSROOMS = "classrooms";
+
     private final StudentRepository studentRepository;
     private final ClassroomRepository classroomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonExporter exporter;
+    private final BulkImporter importer;
+    private final BulkDeleter deleter;
+    private final StudentSearchIndex searchIndex;
+    private final SuggestionProperties suggestionProperties;
+    private final StudentQueries studentQueries;
+    private final Bulkhead bulkhead;
+    private final EnrollmentQueue enrollmentQueue;
+    private final ClassroomSeats classroomSeats;
+    private final VersionedUpdates versionedUpdates;
+    private final PlatformTransactionManager transactionManager;
 
     /**
      * Creates a new instance of StudentApiController.
-     * @param studentRepository reference to the StudentRepository
+     * @param studentRepository    reference to the StudentRepository
+     * @param classroomRepository  reference to the ClassroomRepository
+     * @param eventPublisher       reference to the ApplicationEventPublisher
+     * @param exporter             reference to the NdjsonExporter
+     * @param importer             reference to the BulkImporter
+     * @param deleter              reference to the BulkDeleter
+     * @param searchIndex          reference to the StudentSearchIndex
+     * @param suggestionProperties reference to the SuggestionProperties
+     * @param studentQueries       reference to the StudentQueries
+     * @param bulkhead             reference to the Bulkhead of the student endpoints
+     * @param enrollmentQueue      reference to the EnrollmentQueue
+     * @param classroomSeats       reference to the ClassroomSeats
+     * @param versionedUpdates     reference to the VersionedUpdates
+     * @param transactionManager   reference to the PlatformTransactionManager
      */
     @Autowired
-    public StudentApiController(StudentRepository studentRepository, ClassroomRepository classroomRepository) {
+    public StudentApiController(StudentRepository studentRepository, ClassroomRepository classroomRepository,
+                                ApplicationEventPublisher eventPublisher, NdjsonExporter exporter, BulkImporter importer,
+                                BulkDeleter deleter, StudentSearchIndex searchIndex, SuggestionProperties suggestionProperties,
+                                StudentQueries studentQueries, @Qualifier("studentBulkhead") Bulkhead bulkhead,
+                                EnrollmentQueue enrollmentQueue, ClassroomSeats classroomSeats,
+                                VersionedUpdates versionedUpdates, PlatformTransactionManager transactionManager) {
         this.studentRepository = studentRepository;
         this.classroomRepository = classroomRepository;
+        this.eventPublisher = eventPublisher;
+        this.exporter = exporter;
+        this.importer = importer;
+        this.deleter = deleter;
+        this.searchIndex = searchIndex;
+        this.suggestionProperties = suggestionProperties;
+        this.studentQueries = studentQueries;
+        this.bulkhead = bulkhead;
+        this.enrollmentQueue = enrollmentQueue;
+        this.classroomSeats = classroomSeats;
+        this.versionedUpdates = versionedUpdates;
+        this.transactionManager = transactionManager;
     }
 
     /**
@@ -43,102 +127,292 @@ public class StudentApiController {
      */
     @RequestMapping(method = RequestMethod.POST)
     public Student createStudent(@RequestBody Student student) {
-        return studentRepository.save(student);
+        Student createdStudent = studentRepository.save(student);
+        eventPublisher.publishEvent(StudentEvent.created(createdStudent));
+        return createdStudent;
     }
 
+    /**
+     * Assigns a student to a classroom. A seat of the classroom is reserved first, and if there is none left the
+     * student is put on the waitlist of the classroom, to be assigned once a seat is freed.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @return the updated student, or an empty response if the enrollment has been queued
+     * @throws StudentNotFoundException
+     * @throws ClassroomNotFoundException
+     * @throws ClassroomFullException if the student has been put on the waitlist
+     */
     @RequestMapping(value = "/{studentId}/class/{classroomCode}", method = RequestMethod.POST)
-    @CacheEvict(value = "studentCache", key = "#studentId")
-    public Student assignStudentToClassroom(@PathVariable int studentId,
-                                            @PathVariable String classroomCode) throws StudentNotFoundException,
-                                                                                       ClassroomNotFoundException {
+    public ResponseEntity<Student> assignStudentToClassroom(@PathVariable int studentId,
+                                                            @PathVariable String classroomCode) throws StudentNotFoundException,
+                                                                                                       ClassroomNotFoundException,
+                                                                                                       ClassroomFullException {
         Student student = Optional.ofNullable(studentRepository.findOne(studentId))
                                   .orElseThrow(() -> new StudentNotFoundException(studentId));
         Classroom classroom = Optional.ofNullable(classroomRepository.findOne(classroomCode))
                                       .orElseThrow(() -> new ClassroomNotFoundException(classroomCode));
-        student.addClassroom(classroom);
-        return studentRepository.save(student);
+        boolean enrolled = student.getClassrooms().contains(classroom);
+        if (enrollmentQueue.isEnabled()) {
+            // The seat is reserved when the queue is flushed, a full classroom is only turned down early
+            if (!enrolled && classroomSeats.isFull(classroomCode)) {
+                classroomSeats.waitlist(classroomCode, studentId);
+                throw new ClassroomFullException(classroomCode);
+            }
+            enrollmentQueue.assign(studentId, classroomCode);
+            return ResponseEntity.accepted().build();
+        }
+        if (enrolled) {
+            return ResponseEntity.ok(student);
+        }
+        if (!classroomSeats.reserve(classroomCode)) {
+            classroomSeats.waitlist(classroomCode, studentId);
+            throw new ClassroomFullException(classroomCode);
+        }
+        Student updatedStudent;
+        try {
+            student.addClassroom(classroom);
+            updatedStudent = studentRepository.save(student);
+        } catch (RuntimeException e) {
+            classroomSeats.cancel(classroomCode, 1);
+            throw e;
+        }
+        classroomSeats.commit(classroomCode, 1);
+        eventPublisher.publishEvent(EnrollmentEvent.assigned(studentId, classroomCode));
+        return ResponseEntity.ok(updatedStudent);
     }
 
+    /**
+     * Removes a student from a classroom, or from its waitlist. The freed seat goes to the first waitlisted student.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @return an empty response
+     * @throws StudentNotFoundException
+     * @throws ClassroomNotFoundException
+     */
     @RequestMapping(value = "/{studentId}/class/{classroomCode}", method = RequestMethod.DELETE)
-    @CacheEvict(value = "studentCache", key = "#studentId")
-    public void removeStudentFromClassroom(@PathVariable int studentId,
-                                           @PathVariable String classroomCode) throws StudentNotFoundException,
-                                                                                      ClassroomNotFoundException {
+    public ResponseEntity<Void> removeStudentFromClassroom(@PathVariable int studentId,
+                                                           @PathVariable String classroomCode) throws StudentNotFoundException,
+                                                                                                      ClassroomNotFoundException {
         Student student = Optional.ofNullable(studentRepository.findOne(studentId))
                                   .orElseThrow(() -> new StudentNotFoundException(studentId));
         Classroom classroom = Optional.ofNullable(classroomRepository.findOne(classroomCode))
                                       .orElseThrow(() -> new ClassroomNotFoundException(classroomCode));
-        student.removeClassroom(classroom);
+        if (classroomSeats.leaveWaitlist(classroomCode, studentId)) {
+            return ResponseEntity.ok().build();
+        }
+        if (enrollmentQueue.isEnabled()) {
+            enrollmentQueue.remove(studentId, classroomCode);
+            return ResponseEntity.accepted().build();
+        }
+        boolean removed = student.removeClassroom(classroom);
         studentRepository.save(student);
+        if (removed) {
+            eventPublisher.publishEvent(EnrollmentEvent.removed(studentId, classroomCode));
+        }
+        return ResponseEntity.ok().build();
     }
 
     /**
-     * Finds a student by id.
-     * @param id the searched student id
-     * @return the found student
+     * Finds a student by id. The classrooms are only loaded when they are rendered. The response is tagged with the
+     * versions it renders, so a cached response answers conditional requests without reading the student.
+     * @param id     the searched student id
+     * @param fields the comma separated fields to render (optional)
+     * @return the found student, with its entity tag
      * @throws StudentNotFoundException
+     * @throws InvalidFieldsException
      */
     @RequestMapping(method = RequestMethod.GET)
-    @Cacheable(value = "studentCache", key = "#id")
-    public Student getStudentById(@RequestParam int id) throws StudentNotFoundException {
-        return Optional.ofNullable(studentRepository.findOne(id)).orElseThrow(() -> new StudentNotFoundException(id));
+    @Cacheable(value = "studentCache", key = "#fields == null ? #id : #id + '?fields=' + #fields", sync = true)
+    public ResponseEntity<MappingJacksonValue> getStudentById(@RequestParam int id,
+                                                              @RequestParam(value = "fields", required = false) String fields)
+            throws StudentNotFoundException, InvalidFieldsException {
+        FieldSelection selection = FieldSelection.ofStudent(fields);
+        Object student = selection.includes(CLASSROOMS) ? studentRepository.findStudentById(id)
+                                                        : studentRepository.findStudentSummaryById(id);
+        Optional.ofNullable(student).orElseThrow(() -> new StudentNotFoundException(id));
+        return EntityTags.tag(ResponseEntity.ok(selection.apply(student)));
     }
 
     /**
-     * Finds students for the given search parameters.
+     * Finds many students at once, on the student bulkhead. The cached students are answered from the cache, and the
+     * others are loaded with a single query.
+     * @param ids the comma separated ids of the students
+     * @return the future found students, in the order they were requested, and the ids that do not belong to any
+     * student
+     * @see StudentQueries#getStudentsByIds(List)
+     */
+    @RequestMapping(value = "/batch", method = RequestMethod.GET)
+    public CompletableFuture<BatchLookupResult<Student, Integer>> getStudentsByIds(@RequestParam List<Integer> ids) {
+        return bulkhead.submit(() -> studentQueries.getStudentsByIds(ids));
+    }
+
+    /**
+     * Finds a page of students for the given search parameters, sorted by id, on the student bulkhead.
      * @param firstName the searched first name (optional)
      * @param lastName  the searched last name (optional)
-     * @return the found students for the given search parameters
+     * @param after     the cursor after which the page starts, taken from the Link header of the previous page (optional)
+     * @param size      the page size (optional)
+     * @param fields    the comma separated fields to render (optional)
+     * @return the future found students for the given search parameters, with a Link header to the next page if there
+     * is one, and the entity tag of the page
+     * @see StudentQueries#getStudents(String, String, String, Integer, String)
      */
     @RequestMapping(value = "/search", method = RequestMethod.GET)
-    @Cacheable(value = "studentCache", key = "#root.args")
-    public List<Student> getStudents(@RequestParam(value = "firstName", required = false) String firstName,
-                                     @RequestParam(value = "lastName", required = false) String lastName) {
-        List<Student> students;
-        if (firstName != null && lastName != null) {
-            students = studentRepository.findStudentsByFirstAndLastName(firstName, lastName);
-        } else if (firstName != null) {
-            students = studentRepository.findStudentsByFirstNameContainingIgnoreCase(firstName);
-        } else if (lastName != null) {
-            students = studentRepository.findStudentsByLastNameContainingIgnoreCase(lastName);
-        } else {
-            students = studentRepository.findAll();
-        }
-        return students;
+    public CompletableFuture<ResponseEntity<MappingJacksonValue>> getStudents(@RequestParam(value = "firstName", required = false) String firstName,
+                                                                              @RequestParam(value = "lastName", required = false) String lastName,
+                                                                              @RequestParam(value = "after", required = false) String after,
+                                                                              @RequestParam(value = "size", required = false) Integer size,
+                                                                              @RequestParam(value = "fields", required = false) String fields) {
+        return bulkhead.submit(() -> studentQueries.getStudents(firstName, lastName, after, size, fields));
+    }
+
+    /**
+     * Suggests the most frequent first and last names starting with the given prefix, ignoring case, for typeahead.
+     * Suggestions are answered from memory, without going to the database.
+     * @param prefix the typed prefix
+     * @param size   the maximum number of suggestions (optional)
+     * @return the suggestions, the most frequent first
+     */
+    @RequestMapping(value = "/suggest", method = RequestMethod.GET)
+    public List<Suggestion> suggestNames(@RequestParam String prefix,
+                                         @RequestParam(value = "size", required = false) Integer size) {
+        return searchIndex.suggest(prefix, suggestionProperties.size(size));
+    }
+
+    /**
+     * Exports every student with the codes of its classrooms as newline delimited JSON, streaming the records as they are read from the database.
+     * @return the response whose body writes the records
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET, produces = NdjsonExporter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return ResponseEntity.ok()
+                             .contentType(NdjsonExporter.APPLICATION_NDJSON)
+                             .body(exporter::exportStudents);
+    }
+
+    /**
+     * Creates the students read from the request body, either a JSON array or newline delimited JSON. The body is read
+     * as a stream on the student bulkhead and written in batches, so a failed row does not stop the import.
+     * @param inputStream the request body
+     * @return the future outcome of every row, completed with an IOException if the request body is not well formed JSON
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.POST)
+    public CompletableFuture<BulkImportResult> importStudents(InputStream inputStream) {
+        return bulkhead.submit(() -> importer.importStudents(inputStream));
+    }
+
+    /**
+     * Deletes many students at once, along with their enrollments, on the student bulkhead. The ids that do not
+     * belong to a student are reported instead of failing the request.
+     * @param studentIds the ids of the students
+     * @return the future ids of the students split by outcome
+     */
+    @RequestMapping(value = "/bulk", method = RequestMethod.DELETE)
+    public CompletableFuture<BulkDeleteResult<Integer>> deleteStudents(@RequestBody List<Integer> studentIds) {
+        return bulkhead.submit(() -> deleter.deleteStudents(studentIds));
     }
 
     /**
-     * Finds the classrooms for a given student id
+     * Finds the classrooms for a given student id, on the student bulkhead.
      * @param id the searched student id
-     * @return the found classrooms
+     * @return the future found classrooms, with their entity tag
+     * @see StudentQueries#getStudentClassrooms(int)
      */
     @RequestMapping(value = "/classes", method = RequestMethod.GET)
-    @Cacheable(value = "studentClassroomsCache", key = "#id")
-    public List<Classroom> getStudentClassrooms(@RequestParam int id) throws StudentNotFoundException {
-        Student student = Optional.ofNullable(studentRepository.findOne(id)).orElseThrow(() -> new StudentNotFoundException(id));
-        return student.getClassrooms();
+    public CompletableFuture<ResponseEntity<List<Classroom>>> getStudentClassrooms(@RequestParam int id) {
+        return bulkhead.submit(() -> studentQueries.getStudentClassrooms(id));
     }
 
     /**
-     * Updates a student with the given data.
+     * Updates a student with the given data. When an entity tag is given, a statement matching the version it names
+     * locks the student before it is read, so a stale tag, or a student that does not exist, fails the precondition
+     * without reading it. The given classrooms replace the current ones, which are read within the same transaction, a
+     * seat is reserved in every classroom assigned, and an enrollment event is published for every classroom assigned
+     * or removed once the update is committed.
      * @param student the new data for the student
-     * @return the updated student
+     * @param ifMatch the entity tag the student must match (optional)
+     * @return the updated student, with its new entity tag
      * @throws StudentNotFoundException
+     * @throws InvalidEntityTagException
+     * @throws ClassroomFullException if one of the assigned classrooms is full
      */
     @RequestMapping(method = RequestMethod.PUT)
-    @CacheEvict(value = "studentCache", key = "#student.getId()")
-    public Student updateStudent(@RequestBody Student student) throws StudentNotFoundException {
-        Optional.ofNullable(studentRepository.findOne(student.getId())).orElseThrow(() -> new StudentNotFoundException(student.getId()));
-        return studentRepository.save(student);
+    public ResponseEntity<Student> updateStudent(@RequestBody Student student,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws StudentNotFoundException, InvalidEntityTagException, ClassroomFullException {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        Set<Classroom> previousClassrooms;
+        List<String> reservedCodes;
+        Student updatedStudent;
+        TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        try {
+            if (expectedVersion != null) {
+                versionedUpdates.lockStudent(student.getId(), expectedVersion);
+            }
+            Student currentStudent = Optional.ofNullable(studentRepository.findOne(student.getId()))
+                                             .orElseThrow(() -> new StudentNotFoundException(student.getId()));
+            student.setVersion(expectedVersion != null ? expectedVersion : currentStudent.getVersion());
+            previousClassrooms = new HashSet<>(currentStudent.getClassrooms());
+            reservedCodes = reserveSeats(student.getClassrooms(), previousClassrooms);
+            try {
+                updatedStudent = studentRepository.saveAndFlush(student);
+                transactionManager.commit(transaction);
+            } catch (RuntimeException e) {
+                reservedCodes.forEach(code -> classroomSeats.cancel(code, 1));
+                throw e;
+            }
+        } finally {
+            if (!transaction.isCompleted()) {
+                transactionManager.rollback(transaction);
+            }
+        }
+        reservedCodes.forEach(code -> classroomSeats.commit(code, 1));
+        publishEnrollmentChanges(updatedStudent.getId(), previousClassrooms, updatedStudent.getClassrooms());
+        eventPublisher.publishEvent(StudentEvent.updated(updatedStudent));
+        return EntityTags.tag(ResponseEntity.ok(updatedStudent));
     }
 
     /**
-     * Deletes a student from the database.
+     * Deletes a student from the database, along with its enrollments.
      * @param id the id of the student to be deleted
      */
     @RequestMapping(method = RequestMethod.DELETE)
-    @CacheEvict(value = "studentCache", key = "#id")
     public void deleteStudent(@RequestParam int id) {
-        studentRepository.delete(id);
+        if (!deleter.deleteStudents(Collections.singleton(id)).getNotFound().isEmpty()) {
+            // Same exception as the repository deletes, so a missing row keeps answering 204 No Content
+            throw new EmptyResultDataAccessException("No student with id " + id + " exists", 1);
+        }
+    }
+
+    private List<String> reserveSeats(Set<Classroom> classrooms, Set<Classroom> previousClassrooms)
+            throws ClassroomFullException {
+        List<String> reservedCodes = new ArrayList<>();
+        if (classrooms == null) {
+            return reservedCodes;
+        }
+        for (Classroom classroom : classrooms) {
+            if (previousClassrooms.contains(classroom)) {
+                continue;
+            }
+            if (!classroomSeats.reserve(classroom.getCode())) {
+                reservedCodes.forEach(code -> classroomSeats.cancel(code, 1));
+                throw new ClassroomFullException(classroom.getCode());
+            }
+            reservedCodes.add(classroom.getCode());
+        }
+        return reservedCodes;
+    }
+
+    private void publishEnrollmentChanges(int studentId, Set<Classroom> previousClassrooms,
+                                          Set<Classroom> currentClassrooms) {
+        Set<Classroom> classrooms = currentClassrooms != null ? currentClassrooms : Collections.emptySet();
+        previousClassrooms.stream()
+                          .filter(classroom -> !classrooms.contains(classroom))
+                          .forEach(classroom -> eventPublisher.publishEvent(EnrollmentEvent.removed(studentId,
+                                                                                                    classroom.getCode())));
+        classrooms.stream()
+                  .filter(classroom -> !previousClassrooms.contains(classroom))
+                  .forEach(classroom -> eventPublisher.publishEvent(EnrollmentEvent.assigned(studentId,
+                                                                                             classroom.getCode())));
     }
 }
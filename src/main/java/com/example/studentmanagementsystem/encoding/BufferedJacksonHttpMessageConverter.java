@@ -0,0 +1,59 @@
+package com.example.studentmanagementsystem.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+/**
+ * The BufferedJacksonHttpMessageConverter class.
+ * Reads and writes bodies in any format supported by Jackson, such as JSON, Smile or CBOR, with the same
+ * databinding, filters and views. The body is encoded into a buffer before it is sent, so the response carries its
+ * Content-Length, which lets the servlet container leave responses below the compression threshold uncompressed
+ * instead of compressing every chunked response.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BufferedJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * Creates a new instance of BufferedJacksonHttpMessageConverter.
+     * @param objectMapper        the ObjectMapper, built on the factory of the format
+     * @param defaultCharset      the charset added to the content type, or null for binary formats
+     * @param supportedMediaTypes the media types of the format
+     */
+    public BufferedJacksonHttpMessageConverter(ObjectMapper objectMapper, Charset defaultCharset,
+                                               MediaType... supportedMediaTypes) {
+        super(objectMapper, supportedMediaTypes);
+        setDefaultCharset(defaultCharset);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        outputMessage.getHeaders().setContentLength(body.size());
+        body.writeTo(outputMessage.getBody());
+    }
+}
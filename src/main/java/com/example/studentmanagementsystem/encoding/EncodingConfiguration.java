@@ -0,0 +1,70 @@
+package com.example.studentmanagementsystem.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The EncodingConfiguration class.
+ * Lets clients ask for Smile or CBOR through the Accept header. The binary converters are added after the JSON one,
+ * so JSON stays the default when the Accept header allows several formats. Every Jackson converter buffers the
+ * body, so responses carry their length and only those above the compression threshold are compressed.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+public class EncodingConfiguration extends WebMvcConfigurerAdapter {
+
+    /**
+     * The Smile media type.
+     */
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * The CBOR media type.
+     */
+    public static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    private static final MediaType APPLICATION_JSON_ANY = MediaType.valueOf("application/*+json");
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    /**
+     * Creates a new instance of EncodingConfiguration.
+     * @param objectMapperBuilder reference to the Jackson2ObjectMapperBuilder holding the application settings
+     */
+    @Autowired
+    public EncodingConfiguration(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                ObjectMapper objectMapper = ((MappingJackson2HttpMessageConverter) converters.get(i)).getObjectMapper();
+                converters.set(i, new BufferedJacksonHttpMessageConverter(objectMapper, StandardCharsets.UTF_8,
+                                                                          MediaType.APPLICATION_JSON, APPLICATION_JSON_ANY));
+            }
+        }
+        converters.add(new BufferedJacksonHttpMessageConverter(configure(new ObjectMapper(new SmileFactory())), null,
+                                                               APPLICATION_SMILE));
+        converters.add(new BufferedJacksonHttpMessageConverter(configure(new ObjectMapper(new CBORFactory())), null,
+                                                               APPLICATION_CBOR));
+    }
+
+    private ObjectMapper configure(ObjectMapper objectMapper) {
+        objectMapperBuilder.configure(objectMapper);
+        return objectMapper;
+    }
+}
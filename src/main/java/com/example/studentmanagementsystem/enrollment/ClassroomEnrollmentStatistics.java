@@ -0,0 +1,47 @@
+package com.example.studentmanagementsystem.enrollment;
+
+/**
+ * The ClassroomEnrollmentStatistics class.
+ * Snapshot of the enrollment counters of a classroom.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ClassroomEnrollmentStatistics {
+
+    private final String code;
+    private final long studentCount;
+    private final long recentGrowth;
+
+    /**
+     * Creates a new instance of ClassroomEnrollmentStatistics.
+     * @param code         the classroom code
+     * @param studentCount the number of students assigned to the classroom
+     * @param recentGrowth the assigned minus the removed students of the recent growth windows
+     */
+    public ClassroomEnrollmentStatistics(String code, long studentCount, long recentGrowth) {
+        this.code = code;
+        this.studentCount = studentCount;
+        this.recentGrowth = recentGrowth;
+    }
+
+    /**
+     * @return the classroom code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the number of students assigned to the classroom
+     */
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    /**
+     * @return the assigned minus the removed students of the recent growth windows
+     */
+    public long getRecentGrowth() {
+        return recentGrowth;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.studentmanagementsystem.enrollment;
+
+/**
+ * The ClassroomFullException class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ClassroomFullException extends Exception {
+
+    /**
+     * Creates a new instance of ClassroomFullException.
+     * @param classroomCode the classroom code
+     */
+    public ClassroomFullException(String classroomCode) {
+        super("Classroom with code " + classroomCode + " has no seat available");
+    }
+}
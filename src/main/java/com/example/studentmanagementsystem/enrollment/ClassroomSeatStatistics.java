@@ -0,0 +1,68 @@
+package com.example.studentmanagementsystem.enrollment;
+
+/**
+ * The ClassroomSeatStatistics class.
+ * Snapshot of the seats and waitlist of a classroom.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ClassroomSeatStatistics {
+
+    private final String code;
+    private final Integer capacity;
+    private final int reservedCount;
+    private final Integer availableCount;
+    private final int waitlistedCount;
+
+    /**
+     * Creates a new instance of ClassroomSeatStatistics.
+     * @param code            the classroom code
+     * @param capacity        the number of seats of the classroom, or null if it has no limit
+     * @param reservedCount   the number of seats taken, including the reservations being written
+     * @param availableCount  the number of seats left, or null if the classroom has no limit
+     * @param waitlistedCount the number of students waiting for a seat
+     */
+    public ClassroomSeatStatistics(String code, Integer capacity, int reservedCount, Integer availableCount,
+                                   int waitlistedCount) {
+        this.code = code;
+        this.capacity = capacity;
+        this.reservedCount = reservedCount;
+        this.availableCount = availableCount;
+        this.waitlistedCount = waitlistedCount;
+    }
+
+    /**
+     * @return the classroom code
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the number of seats of the classroom, or null if it has no limit
+     */
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of seats taken, including the reservations being written
+     */
+    public int getReservedCount() {
+        return reservedCount;
+    }
+
+    /**
+     * @return the number of seats left, or null if the classroom has no limit
+     */
+    public Integer getAvailableCount() {
+        return availableCount;
+    }
+
+    /**
+     * @return the number of students waiting for a seat
+     */
+    public int getWaitlistedCount() {
+        return waitlistedCount;
+    }
+}
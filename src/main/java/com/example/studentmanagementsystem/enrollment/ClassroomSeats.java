@@ -0,0 +1,476 @@
+package com.example.studentmanagementsystem.enrollment;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The ClassroomSeats class.
+ * Keeps the seats of every classroom in memory, so the assignments to a classroom with a capacity never exceed it,
+ * even when thousands of them arrive at once, without locking the classroom row. A seat is reserved with a
+ * compare-and-set on the counter of its classroom before the enrollment is written, then committed once it is written,
+ * or cancelled if it is not. Seats are freed by the removal events.
+ * <p>
+ * Students finding a classroom full are put on its waitlist, and the first of them is assigned as soon as a seat is
+ * freed or the capacity grows. The assignments are written by a single thread of their own, so the request or event
+ * freeing the seat never waits for them. Waitlists are only kept in memory.
+ * <p>
+ * The seats of a classroom are counted in the database the first time it is used, so the startup never counts them
+ * all, and reconciled with it every <code>enrollment.seats.reconcile-interval</code> milliseconds. Seats taken by
+ * enrollments written without a reservation are counted at once, while seats found free are only given back when the
+ * difference persists across two reconciliations without seat activity, so a removal whose event is not published yet
+ * never frees its seat twice.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class ClassroomSeats implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomSeats.class);
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final String COUNT_SEATS = "SELECT classroom.code, classroom.capacity, COUNT(enrollment.student_id) "
+                                              + "FROM classroom LEFT JOIN student_classroom enrollment "
+                                              + "ON enrollment.classroom_code = classroom.code ";
+    private static final String GROUP_BY_CLASSROOM = "GROUP BY classroom.code, classroom.capacity";
+    private static final String INSERT_ENROLLMENT = "INSERT INTO student_classroom (student_id, classroom_code) "
+                                                    + "SELECT student.id, classroom.code FROM student, classroom "
+                                                    + "WHERE student.id = ? AND classroom.code = ? AND NOT EXISTS "
+                                                    + "(SELECT 1 FROM student_classroom enrollment "
+                                                    + "WHERE enrollment.student_id = student.id "
+                                                    + "AND enrollment.classroom_code = classroom.code)";
+    private static final String INCREMENT_VERSION = "UPDATE student SET version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService promoter = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("classroom-seats-"));
+    private volatile ConcurrentMap<String, Seats> classrooms = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of ClassroomSeats.
+     * @param jdbcTemplate       reference to the JdbcTemplate
+     * @param cacheEvictor       reference to the SecondLevelCacheEvictor
+     * @param eventPublisher     reference to the ApplicationEventPublisher
+     * @param transactionManager reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public ClassroomSeats(JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor,
+                          ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts the seats taken in every classroom at once, with one grouped query, such as after writing many
+     * enrollments without reservations. The waitlists are dropped.
+     */
+    public void load() {
+        long start = System.currentTimeMillis();
+        ConcurrentMap<String, Seats> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query(COUNT_SEATS + GROUP_BY_CLASSROOM, resultSet -> {
+            loaded.put(resultSet.getString(1), new Seats(capacity(resultSet), resultSet.getInt(3)));
+        });
+        classrooms = loaded;
+        logger.info("Loaded the seats of {} classrooms in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reserves seats in a classroom, as many as are available up to the given number.
+     * @param classroomCode the classroom code
+     * @param count         the number of seats wanted
+     * @return the number of seats reserved, all of them if the classroom has no capacity or does not exist
+     */
+    public int reserve(String classroomCode, int count) {
+        Seats seats = seats(classroomCode);
+        return seats != null ? seats.reserve(count) : count;
+    }
+
+    /**
+     * Reserves a seat in a classroom.
+     * @param classroomCode the classroom code
+     * @return true if the seat is reserved, false if the classroom is full
+     */
+    public boolean reserve(String classroomCode) {
+        return reserve(classroomCode, 1) == 1;
+    }
+
+    /**
+     * Commits the reservations whose enrollments have been written.
+     * @param classroomCode the classroom code
+     * @param count         the number of written enrollments
+     */
+    public void commit(String classroomCode, int count) {
+        Seats seats = classrooms.get(classroomCode);
+        if (seats != null && count > 0) {
+            seats.commit(count);
+        }
+    }
+
+    /**
+     * Cancels the reservations whose enrollments have not been written, and gives their seats to the waitlist.
+     * @param classroomCode the classroom code
+     * @param count         the number of enrollments not written
+     */
+    public void cancel(String classroomCode, int count) {
+        Seats seats = classrooms.get(classroomCode);
+        if (seats != null && count > 0) {
+            seats.cancel(count);
+            promote(classroomCode, seats);
+        }
+    }
+
+    /**
+     * @param classroomCode the classroom code
+     * @return true if every seat of the classroom is taken
+     */
+    public boolean isFull(String classroomCode) {
+        Seats seats = seats(classroomCode);
+        return seats != null && seats.available() <= 0;
+    }
+
+    /**
+     * Puts a student on the waitlist of a classroom, unless already on it.
+     * @param classroomCode the classroom code
+     * @param studentId     the student id
+     */
+    public void waitlist(String classroomCode, int studentId) {
+        Seats seats = seats(classroomCode);
+        if (seats != null) {
+            seats.waitlist(studentId);
+            // A seat freed while the student was found full would otherwise wait for the next removal
+            promote(classroomCode, seats);
+        }
+    }
+
+    /**
+     * Takes a student off the waitlist of a classroom.
+     * @param classroomCode the classroom code
+     * @param studentId     the student id
+     * @return true if the student was on the waitlist
+     */
+    public boolean leaveWaitlist(String classroomCode, int studentId) {
+        Seats seats = classrooms.get(classroomCode);
+        return seats != null && seats.leaveWaitlist(studentId);
+    }
+
+    /**
+     * Finds the seats and waitlist of a classroom.
+     * @param classroomCode the classroom code
+     * @return the statistics, or null if there is no such classroom
+     */
+    public ClassroomSeatStatistics getStatistics(String classroomCode) {
+        Seats seats = seats(classroomCode);
+        if (seats == null) {
+            return null;
+        }
+        int capacity = seats.capacity;
+        int reserved = seats.taken.get();
+        return new ClassroomSeatStatistics(classroomCode, capacity == UNLIMITED ? null : capacity, reserved,
+                                           capacity == UNLIMITED ? null : Math.max(0, capacity - reserved),
+                                           seats.waitlistSize());
+    }
+
+    /**
+     * Frees the seats of the students removed from a classroom, and gives them to the waitlist.
+     * @param event the enrollment event
+     */
+    @EventListener
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        Seats seats = classrooms.get(event.getClassroomCode());
+        if (seats != null && event.getType() == EnrollmentEvent.Type.REMOVED) {
+            seats.free(event.getStudentIds().size());
+            promote(event.getClassroomCode(), seats);
+        }
+    }
+
+    /**
+     * Adds, resizes or drops the seats of classrooms.
+     * @param event the classroom event
+     */
+    @EventListener
+    public void onClassroomEvent(ClassroomEvent event) {
+        if (event.getType() == ClassroomEvent.Type.CREATED) {
+            classrooms.putIfAbsent(event.getClassroomCode(), new Seats(capacity(event.getClassroom().getCapacity()), 0));
+        } else if (event.getType() == ClassroomEvent.Type.UPDATED) {
+            Seats seats = seats(event.getClassroomCode());
+            if (seats != null) {
+                seats.capacity = capacity(event.getClassroom().getCapacity());
+                promote(event.getClassroomCode(), seats);
+            }
+        } else if (event.getType() == ClassroomEvent.Type.DELETED) {
+            event.getClassroomCodes().forEach(classrooms::remove);
+        }
+    }
+
+    /**
+     * Takes deleted students off every waitlist.
+     * @param event the student event
+     */
+    @EventListener
+    public void onStudentEvent(StudentEvent event) {
+        if (event.getType() == StudentEvent.Type.DELETED) {
+            classrooms.values().forEach(seats -> seats.leaveWaitlist(event.getStudentIds()));
+        }
+    }
+
+    /**
+     * Compares the seats of every classroom with its enrollments in the database, and corrects the counters that
+     * drifted, such as after enrollments written without a reservation.
+     */
+    @Scheduled(initialDelayString = "${enrollment.seats.reconcile-interval:60000}",
+               fixedDelayString = "${enrollment.seats.reconcile-interval:60000}")
+    public void reconcile() {
+        Map<String, Seats> current = classrooms;
+        Map<String, long[]> snapshots = new HashMap<>();
+        current.forEach((code, seats) -> snapshots.put(code, seats.snapshot()));
+        Map<String, int[]> counted = new HashMap<>();
+        jdbcTemplate.query(COUNT_SEATS + GROUP_BY_CLASSROOM, resultSet -> {
+            counted.put(resultSet.getString(1), new int[]{capacity(resultSet), resultSet.getInt(3)});
+        });
+        int corrected = 0;
+        for (Map.Entry<String, int[]> classroom : counted.entrySet()) {
+            Seats seats = current.get(classroom.getKey());
+            long[] snapshot = snapshots.get(classroom.getKey());
+            if (seats == null || snapshot == null) {
+                continue;
+            }
+            seats.capacity = classroom.getValue()[0];
+            if (seats.reconcile(snapshot, classroom.getValue()[1])) {
+                corrected++;
+            }
+            promote(classroom.getKey(), seats);
+        }
+        if (corrected > 0) {
+            logger.warn("Corrected the seats of {} classrooms from the database", corrected);
+        }
+    }
+
+    /**
+     * Stops assigning waitlisted students, once the assignments already scheduled are written.
+     * @throws InterruptedException if interrupted while waiting for the assignments
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        promoter.shutdown();
+        promoter.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private Seats seats(String classroomCode) {
+        Seats seats = classrooms.get(classroomCode);
+        if (seats != null) {
+            return seats;
+        }
+        // A classroom is counted on first use. The count runs outside the map, so it never blocks the other
+        // classrooms, and the first count stored wins.
+        Seats counted = count(classroomCode);
+        if (counted == null) {
+            return null;
+        }
+        Seats previous = classrooms.putIfAbsent(classroomCode, counted);
+        return previous != null ? previous : counted;
+    }
+
+    private Seats count(String classroomCode) {
+        List<Seats> seats = jdbcTemplate.query(COUNT_SEATS + "WHERE classroom.code = ? " + GROUP_BY_CLASSROOM,
+                                               (resultSet, row) -> new Seats(capacity(resultSet), resultSet.getInt(3)),
+                                               classroomCode);
+        return seats.isEmpty() ? null : seats.get(0);
+    }
+
+    private void promote(String classroomCode, Seats seats) {
+        if (seats.waitlistSize() > 0) {
+            promoter.execute(() -> assignWaitlisted(classroomCode, seats));
+        }
+    }
+
+    private void assignWaitlisted(String classroomCode, Seats seats) {
+        while (seats.waitlistSize() > 0 && seats.reserve(1) == 1) {
+            Integer studentId = seats.nextWaitlisted();
+            if (studentId == null) {
+                seats.cancel(1);
+                return;
+            }
+            boolean assigned;
+            try {
+                assigned = assign(studentId, classroomCode);
+            } catch (RuntimeException e) {
+                seats.cancel(1);
+                logger.error("Could not assign waitlisted student {} to classroom {}", studentId, classroomCode, e);
+                return;
+            }
+            if (!assigned) {
+                seats.cancel(1);
+                continue;
+            }
+            seats.commit(1);
+            cacheEvictor.evictStudents(Collections.singleton(studentId));
+            eventPublisher.publishEvent(EnrollmentEvent.assigned(studentId, classroomCode));
+        }
+    }
+
+    private boolean assign(int studentId, String classroomCode) {
+        return transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(INSERT_ENROLLMENT, studentId, classroomCode) == 0) {
+                return false;
+            }
+            jdbcTemplate.update(INCREMENT_VERSION, studentId);
+            return true;
+        });
+    }
+
+    private static int capacity(ResultSet resultSet) throws SQLException {
+        int capacity = resultSet.getInt(2);
+        return resultSet.wasNull() ? UNLIMITED : capacity;
+    }
+
+    private static int capacity(Integer capacity) {
+        return capacity != null ? capacity : UNLIMITED;
+    }
+
+    private static final class Seats {
+
+        private volatile int capacity;
+        private final AtomicInteger taken;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong changes = new AtomicLong();
+        private final Set<Integer> waitlist = new LinkedHashSet<>();
+        private volatile long suspectedChanges = -1;
+
+        private Seats(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        private int available() {
+            return capacity - taken.get();
+        }
+
+        private int reserve(int count) {
+            while (true) {
+                int current = taken.get();
+                int granted = Math.min(count, capacity - current);
+                if (granted <= 0) {
+                    return 0;
+                }
+                if (taken.compareAndSet(current, current + granted)) {
+                    pending.addAndGet(granted);
+                    changes.incrementAndGet();
+                    return granted;
+                }
+            }
+        }
+
+        private void commit(int count) {
+            pending.addAndGet(-count);
+            changes.incrementAndGet();
+        }
+
+        private void cancel(int count) {
+            pending.addAndGet(-count);
+            free(count);
+        }
+
+        private void free(int count) {
+            taken.updateAndGet(current -> Math.max(0, current - count));
+            changes.incrementAndGet();
+        }
+
+        private long[] snapshot() {
+            return new long[]{taken.get(), changes.get()};
+        }
+
+        private boolean reconcile(long[] snapshot, int count) {
+            int snapshotTaken = (int) snapshot[0];
+            long snapshotChanges = snapshot[1];
+            if (pending.get() != 0 || changes.get() != snapshotChanges || count == snapshotTaken) {
+                suspectedChanges = -1;
+                return false;
+            }
+            if (count < snapshotTaken && suspectedChanges != snapshotChanges) {
+                suspectedChanges = snapshotChanges;
+                return false;
+            }
+            suspectedChanges = -1;
+            if (taken.compareAndSet(snapshotTaken, count)) {
+                changes.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private void waitlist(int studentId) {
+            synchronized (waitlist) {
+                waitlist.add(studentId);
+            }
+        }
+
+        private boolean leaveWaitlist(int studentId) {
+            synchronized (waitlist) {
+                return waitlist.remove(studentId);
+            }
+        }
+
+        private void leaveWaitlist(Collection<Integer> studentIds) {
+            synchronized (waitlist) {
+                if (!waitlist.isEmpty()) {
+                    waitlist.removeAll(studentIds);
+                }
+            }
+        }
+
+        private Integer nextWaitlisted() {
+            synchronized (waitlist) {
+                Iterator<Integer> iterator = waitlist.iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                Integer studentId = iterator.next();
+                iterator.remove();
+                return studentId;
+            }
+        }
+
+        private int waitlistSize() {
+            synchronized (waitlist) {
+                return waitlist.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.studentmanagementsystem.enrollment;
+
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import com.example.studentmanagementsystem.event.StudentEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The EnrollmentCounters class.
+ * Keeps the number of students of every classroom and of classrooms of every enrolled student in memory, so they are
+ * answered in constant time without counting the join table. The counters are loaded from the database when the
+ * context is refreshed, and then updated from the enrollment events, which are only published for enrollments that
+ * changed. Counters are striped adders, so concurrent enrollments in a popular classroom do not contend on a single
+ * value. Enrollments committed while the counters are loading would be missed, so they are loaded before the embedded
+ * server starts its connector, which only happens once the refresh has been published. Their two grouped queries are
+ * the only full scans left at startup.
+ * <p>
+ * The growth of a classroom is counted in windows of <code>enrollment.growth-window</code> milliseconds, and its
+ * recent growth covers the current window and the previous one. Rankings scan the counters in memory, keeping only
+ * the requested number of classrooms.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class EnrollmentCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCounters.class);
+
+    private static final String COUNT_CLASSROOM_STUDENTS = "SELECT classroom.code, COUNT(enrollment.student_id) "
+                                                           + "FROM classroom LEFT JOIN student_classroom enrollment "
+                                                           + "ON enrollment.classroom_code = classroom.code "
+                                                           + "GROUP BY classroom.code";
+    private static final String COUNT_STUDENT_CLASSROOMS = "SELECT student_id, COUNT(*) FROM student_classroom "
+                                                           + "GROUP BY student_id";
+
+    private static final Comparator<ClassroomEnrollmentStatistics> BY_SIZE =
+            Comparator.comparingLong(ClassroomEnrollmentStatistics::getStudentCount)
+                      .thenComparing(ClassroomEnrollmentStatistics::getCode, Comparator.reverseOrder());
+    private static final Comparator<ClassroomEnrollmentStatistics> BY_GROWTH =
+            Comparator.comparingLong(ClassroomEnrollmentStatistics::getRecentGrowth).thenComparing(BY_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile ConcurrentMap<String, ClassroomCounter> classrooms = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<Integer, LongAdder> students = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of EnrollmentCounters.
+     * @param jdbcTemplate reference to the JdbcTemplate
+     */
+    @Autowired
+    public EnrollmentCounters(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Counts the students of every classroom and the classrooms of every student, with one grouped query each.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        ConcurrentMap<String, ClassroomCounter> loadedClassrooms = new ConcurrentHashMap<>();
+        jdbcTemplate.query(COUNT_CLASSROOM_STUDENTS, resultSet -> {
+            ClassroomCounter counter = new ClassroomCounter();
+            counter.students.add(resultSet.getLong(2));
+            loadedClassrooms.put(resultSet.getString(1), counter);
+        });
+        ConcurrentMap<Integer, LongAdder> loadedStudents = new ConcurrentHashMap<>();
+        jdbcTemplate.query(COUNT_STUDENT_CLASSROOMS, resultSet -> {
+            LongAdder counter = new LongAdder();
+            counter.add(resultSet.getLong(2));
+            loadedStudents.put(resultSet.getInt(1), counter);
+        });
+        classrooms = loadedClassrooms;
+        students = loadedStudents;
+        logger.info("Loaded the enrollment counters of {} classrooms and {} students in {} ms",
+                    loadedClassrooms.size(), loadedStudents.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Counts the students assigned to or removed from a classroom.
+     * @param event the enrollment event
+     */
+    @EventListener
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        int delta = event.getType() == EnrollmentEvent.Type.ASSIGNED ? 1 : -1;
+        // Removals may follow the deletion of their classroom, whose counters must not come back
+        ClassroomCounter classroom = delta > 0
+                ? counter(classrooms, event.getClassroomCode(), code -> new ClassroomCounter())
+                : classrooms.get(event.getClassroomCode());
+        if (classroom != null) {
+            classroom.students.add(delta * event.getStudentIds().size());
+            classroom.growth.add(delta * event.getStudentIds().size());
+        }
+        for (Integer studentId : event.getStudentIds()) {
+            counter(students, studentId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * Adds or drops the counters of classrooms.
+     * @param event the classroom event
+     */
+    @EventListener
+    public void onClassroomEvent(ClassroomEvent event) {
+        if (event.getType() == ClassroomEvent.Type.CREATED) {
+            classrooms.putIfAbsent(event.getClassroomCode(), new ClassroomCounter());
+        } else if (event.getType() == ClassroomEvent.Type.DELETED) {
+            event.getClassroomCodes().forEach(classrooms::remove);
+        }
+    }
+
+    /**
+     * Drops the counters of deleted students, whose enrollments have been removed by their own events.
+     * @param event the student event
+     */
+    @EventListener
+    public void onStudentEvent(StudentEvent event) {
+        if (event.getType() == StudentEvent.Type.DELETED) {
+            event.getStudentIds().forEach(students::remove);
+        }
+    }
+
+    /**
+     * Starts a new growth window, the current one becoming the previous one.
+     */
+    @Scheduled(initialDelayString = "${enrollment.growth-window:3600000}",
+               fixedRateString = "${enrollment.growth-window:3600000}")
+    public void rotateGrowthWindow() {
+        classrooms.values().forEach(counter -> counter.previousGrowth = counter.growth.sumThenReset());
+    }
+
+    /**
+     * Finds the counters of a classroom.
+     * @param code the classroom code
+     * @return the counters, or null if there is no such classroom
+     */
+    public ClassroomEnrollmentStatistics getClassroomStatistics(String code) {
+        ClassroomCounter counter = classrooms.get(code);
+        return counter != null ? counter.statistics(code) : null;
+    }
+
+    /**
+     * Finds the number of classrooms of a student.
+     * @param studentId the student id
+     * @return the number of classrooms, or null if the student has never been enrolled since the counters were loaded
+     */
+    public StudentEnrollmentStatistics getStudentStatistics(int studentId) {
+        LongAdder counter = students.get(studentId);
+        return counter != null ? new StudentEnrollmentStatistics(studentId, counter.sum()) : null;
+    }
+
+    /**
+     * Finds the classrooms with the most students.
+     * @param size the number of classrooms to find
+     * @return the classrooms, the largest first
+     */
+    public List<ClassroomEnrollmentStatistics> getLargestClassrooms(int size) {
+        return top(size, BY_SIZE, statistics -> true);
+    }
+
+    /**
+     * Finds the classrooms that have grown the most recently.
+     * @param size the number of classrooms to find
+     * @return the classrooms with a positive recent growth, the fastest growing first
+     */
+    public List<ClassroomEnrollmentStatistics> getGrowingClassrooms(int size) {
+        return top(size, BY_GROWTH, statistics -> statistics.getRecentGrowth() > 0);
+    }
+
+    private List<ClassroomEnrollmentStatistics> top(int size, Comparator<ClassroomEnrollmentStatistics> order,
+                                                    Predicate<ClassroomEnrollmentStatistics> filter) {
+        PriorityQueue<ClassroomEnrollmentStatistics> top = new PriorityQueue<>(size + 1, order);
+        classrooms.forEach((code, counter) -> {
+            ClassroomEnrollmentStatistics statistics = counter.statistics(code);
+            if (filter.test(statistics)) {
+                top.add(statistics);
+                if (top.size() > size) {
+                    top.poll();
+                }
+            }
+        });
+        List<ClassroomEnrollmentStatistics> ranking = new ArrayList<>(top);
+        ranking.sort(order.reversed());
+        return ranking;
+    }
+
+    private static <K, V> V counter(ConcurrentMap<K, V> counters, K key, Function<K, V> factory) {
+        // computeIfAbsent locks the bin even when the key is present, so existing counters are read first
+        V counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, factory);
+    }
+
+    private static final class ClassroomCounter {
+
+        private final LongAdder students = new LongAdder();
+        private final LongAdder growth = new LongAdder();
+        private volatile long previousGrowth;
+
+        private ClassroomEnrollmentStatistics statistics(String code) {
+            return new ClassroomEnrollmentStatistics(code, students.sum(), previousGrowth + growth.sum());
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.studentmanagementsystem.enrollment;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.event.EnrollmentEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The EnrollmentQueue class.
+ * Write-behind queue of enrollments, used when <code>enrollment.queue.enabled</code> is set. Assignments and removals
+ * are acknowledged once queued, and written to the join table every <code>enrollment.queue.flush-interval</code>
+ * milliseconds, in transactions of up to <code>enrollment.queue.batch-size</code> rows written with JDBC batches:
+ * <ul>
+ *     <li>Operations on the same student and classroom are coalesced while pending, the last one winning, so a burst
+ *     of assignments and removals of the same pair writes a single row</li>
+ *     <li>Rows are only inserted when the student and classroom still exist and the student is not assigned yet, so a
+ *     replayed or stale operation is skipped instead of failing its batch</li>
+ *     <li>Once <code>enrollment.queue.capacity</code> operations are pending, new ones are rejected, and the client is
+ *     told the server is too busy</li>
+ *     <li>Pending operations are flushed before the application shuts down, and operations of a failed flush are
+ *     queued again unless a newer operation on the same pair replaced them</li>
+ *     <li>A seat of the classroom is reserved for every assignment when it is written, and the students left
+ *     without one are put on the waitlist of the classroom instead</li>
+ * </ul>
+ * As BulkEnroller does, the versions of the changed students are incremented, they are evicted from the second level
+ * cache, and enrollment events are published once the transaction commits.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class EnrollmentQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentQueue.class);
+
+    private static final String INSERT_ENROLLMENT = "INSERT INTO student_classroom (student_id, classroom_code) "
+                                                    + "SELECT student.id, classroom.code FROM student, classroom "
+                                                    + "WHERE student.id = ? AND classroom.code = ? AND NOT EXISTS "
+                                                    + "(SELECT 1 FROM student_classroom enrollment "
+                                                    + "WHERE enrollment.student_id = student.id "
+                                                    + "AND enrollment.classroom_code = classroom.code)";
+    private static final String DELETE_ENROLLMENT = "DELETE FROM student_classroom WHERE student_id = ? AND classroom_code = ?";
+    private static final String INCREMENT_VERSION = "UPDATE student SET version = version + 1 WHERE id = ?";
+
+    private final EnrollmentQueueProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClassroomSeats classroomSeats;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object flushLock = new Object();
+    private Map<Enrollment, PendingOperation> pending = new LinkedHashMap<>();
+    private boolean closed;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+
+    /**
+     * Creates a new instance of EnrollmentQueue.
+     * @param properties         reference to the EnrollmentQueueProperties
+     * @param jdbcTemplate       reference to the JdbcTemplate
+     * @param cacheEvictor       reference to the SecondLevelCacheEvictor
+     * @param eventPublisher     reference to the ApplicationEventPublisher
+     * @param classroomSeats     reference to the ClassroomSeats
+     * @param transactionManager reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public EnrollmentQueue(EnrollmentQueueProperties properties, JdbcTemplate jdbcTemplate,
+                           SecondLevelCacheEvictor cacheEvictor, ApplicationEventPublisher eventPublisher,
+                           ClassroomSeats classroomSeats, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.eventPublisher = eventPublisher;
+        this.classroomSeats = classroomSeats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return true if enrollments are queued rather than written by the request
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Queues the assignment of a student to a classroom.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @throws TaskRejectedException if the queue is full or the application is shutting down
+     */
+    public void assign(int studentId, String classroomCode) {
+        offer(new Enrollment(studentId, classroomCode), EnrollmentEvent.Type.ASSIGNED);
+    }
+
+    /**
+     * Queues the removal of a student from a classroom.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @throws TaskRejectedException if the queue is full or the application is shutting down
+     */
+    public void remove(int studentId, String classroomCode) {
+        offer(new Enrollment(studentId, classroomCode), EnrollmentEvent.Type.REMOVED);
+    }
+
+    private synchronized void offer(Enrollment enrollment, EnrollmentEvent.Type type) {
+        if (closed) {
+            rejectedCount.incrementAndGet();
+            throw new TaskRejectedException("The enrollment queue is closed, the enrollment has been rejected");
+        }
+        PendingOperation previous = pending.get(enrollment);
+        if (previous != null) {
+            pending.put(enrollment, new PendingOperation(type, previous.enqueuedAt));
+            coalescedCount.incrementAndGet();
+            return;
+        }
+        if (pending.size() >= properties.getCapacity()) {
+            rejectedCount.incrementAndGet();
+            throw new TaskRejectedException("The enrollment queue is full, the enrollment has been rejected");
+        }
+        pending.put(enrollment, new PendingOperation(type, System.currentTimeMillis()));
+        enqueuedCount.incrementAndGet();
+    }
+
+    /**
+     * Writes every pending operation, in batches. Only one flush runs at a time.
+     */
+    @Scheduled(initialDelayString = "${enrollment.queue.flush-interval:200}",
+               fixedDelayString = "${enrollment.queue.flush-interval:200}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Map.Entry<Enrollment, PendingOperation>> operations = drain();
+            int batchSize = Math.max(1, properties.getBatchSize());
+            for (int from = 0; from < operations.size(); from += batchSize) {
+                List<Map.Entry<Enrollment, PendingOperation>> batch =
+                        operations.subList(from, Math.min(from + batchSize, operations.size()));
+                List<EnrollmentChange> changes;
+                try {
+                    changes = write(batch);
+                } catch (RuntimeException e) {
+                    failedFlushCount.incrementAndGet();
+                    logger.error("Could not write {} enrollments, they have been queued again", batch.size(), e);
+                    requeue(operations.subList(from, operations.size()));
+                    return;
+                }
+                if (!changes.isEmpty()) {
+                    try {
+                        publish(changes);
+                    } catch (RuntimeException e) {
+                        logger.error("Could not publish {} written enrollments", changes.size(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private synchronized List<Map.Entry<Enrollment, PendingOperation>> drain() {
+        if (pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<Enrollment, PendingOperation>> operations = new ArrayList<>(pending.entrySet());
+        pending = new LinkedHashMap<>();
+        return operations;
+    }
+
+    private synchronized void requeue(List<Map.Entry<Enrollment, PendingOperation>> operations) {
+        Map<Enrollment, PendingOperation> requeued = new LinkedHashMap<>();
+        operations.forEach(operation -> requeued.put(operation.getKey(), operation.getValue()));
+        requeued.putAll(pending);
+        pending = requeued;
+    }
+
+    private List<EnrollmentChange> write(List<Map.Entry<Enrollment, PendingOperation>> batch) {
+        List<Enrollment> assigned = new ArrayList<>();
+        List<Enrollment> removed = new ArrayList<>();
+        List<Enrollment> waitlisted = new ArrayList<>();
+        for (Map.Entry<Enrollment, PendingOperation> operation : batch) {
+            Enrollment enrollment = operation.getKey();
+            if (operation.getValue().type == EnrollmentEvent.Type.REMOVED) {
+                removed.add(enrollment);
+            } else if (classroomSeats.reserve(enrollment.classroomCode)) {
+                assigned.add(enrollment);
+            } else {
+                waitlisted.add(enrollment);
+            }
+        }
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<EnrollmentChange> changes;
+        try {
+            changes = transactionTemplate.execute(status -> {
+                List<EnrollmentChange> changed = new ArrayList<>();
+                collectChanges(jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, assigned, batchSize, Enrollment::setParameters),
+                               assigned, EnrollmentEvent.Type.ASSIGNED, changed);
+                collectChanges(jdbcTemplate.batchUpdate(DELETE_ENROLLMENT, removed, batchSize, Enrollment::setParameters),
+                               removed, EnrollmentEvent.Type.REMOVED, changed);
+                Set<Integer> studentIds = new LinkedHashSet<>();
+                changed.forEach(change -> studentIds.add(change.enrollment.studentId));
+                jdbcTemplate.batchUpdate(INCREMENT_VERSION, studentIds, batchSize,
+                                         (statement, studentId) -> statement.setInt(1, studentId));
+                return changed;
+            });
+        } catch (RuntimeException e) {
+            assigned.forEach(enrollment -> classroomSeats.cancel(enrollment.classroomCode, 1));
+            throw e;
+        }
+        Set<Enrollment> written = new HashSet<>();
+        changes.forEach(change -> written.add(change.enrollment));
+        for (Enrollment enrollment : assigned) {
+            if (written.contains(enrollment)) {
+                classroomSeats.commit(enrollment.classroomCode, 1);
+            } else {
+                classroomSeats.cancel(enrollment.classroomCode, 1);
+            }
+        }
+        waitlisted.forEach(enrollment -> classroomSeats.waitlist(enrollment.classroomCode, enrollment.studentId));
+        flushCount.incrementAndGet();
+        writtenCount.addAndGet(changes.size());
+        skippedCount.addAndGet(batch.size() - changes.size());
+        return changes;
+    }
+
+    private static void collectChanges(int[][] counts, List<Enrollment> enrollments, EnrollmentEvent.Type type,
+                                       List<EnrollmentChange> changed) {
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    changed.add(new EnrollmentChange(enrollments.get(index), type));
+                }
+                index++;
+            }
+        }
+    }
+
+    private void publish(List<EnrollmentChange> changes) {
+        Set<Integer> studentIds = new LinkedHashSet<>();
+        Map<String, List<Integer>> assigned = new TreeMap<>();
+        Map<String, List<Integer>> removed = new TreeMap<>();
+        for (EnrollmentChange change : changes) {
+            studentIds.add(change.enrollment.studentId);
+            (change.type == EnrollmentEvent.Type.ASSIGNED ? assigned : removed)
+                    .computeIfAbsent(change.enrollment.classroomCode, code -> new ArrayList<>())
+                    .add(change.enrollment.studentId);
+        }
+        cacheEvictor.evictStudents(studentIds);
+        assigned.forEach((code, ids) -> eventPublisher.publishEvent(EnrollmentEvent.assigned(ids, code)));
+        removed.forEach((code, ids) -> eventPublisher.publishEvent(EnrollmentEvent.removed(ids, code)));
+    }
+
+    /**
+     * @return a snapshot of the pending operations and counters of the queue
+     */
+    public synchronized EnrollmentQueueStatistics getStatistics() {
+        int assignedCount = 0;
+        long oldestEnqueuedAt = 0;
+        for (PendingOperation operation : pending.values()) {
+            if (operation.type == EnrollmentEvent.Type.ASSIGNED) {
+                assignedCount++;
+            }
+            if (oldestEnqueuedAt == 0 || operation.enqueuedAt < oldestEnqueuedAt) {
+                oldestEnqueuedAt = operation.enqueuedAt;
+            }
+        }
+        return new EnrollmentQueueStatistics(properties.isEnabled(), pending.size(), assignedCount,
+                                             pending.size() - assignedCount, properties.getCapacity(),
+                                             oldestEnqueuedAt == 0 ? 0 : System.currentTimeMillis() - oldestEnqueuedAt,
+                                             enqueuedCount.get(), coalescedCount.get(), rejectedCount.get(),
+                                             writtenCount.get(), skippedCount.get(), flushCount.get(),
+                                             failedFlushCount.get());
+    }
+
+    /**
+     * Stops accepting operations, and writes the pending ones. Runs when the application context starts closing,
+     * while the beans listening to the enrollment events are still available.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        int lost = getStatistics().getPendingCount();
+        if (lost > 0) {
+            logger.error("{} enrollments could not be written before shutting down", lost);
+        }
+    }
+
+    private static final class Enrollment {
+
+        private final int studentId;
+        private final String classroomCode;
+
+        private Enrollment(int studentId, String classroomCode) {
+            this.studentId = studentId;
+            this.classroomCode = classroomCode;
+        }
+
+        private static void setParameters(PreparedStatement statement, Enrollment enrollment) throws SQLException {
+            statement.setInt(1, enrollment.studentId);
+            statement.setString(2, enrollment.classroomCode);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Enrollment)) {
+                return false;
+            }
+            Enrollment enrollment = (Enrollment) other;
+            return studentId == enrollment.studentId && classroomCode.equals(enrollment.classroomCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, classroomCode);
+        }
+    }
+
+    private static final class PendingOperation {
+
+        private final EnrollmentEvent.Type type;
+        private final long enqueuedAt;
+
+        private PendingOperation(EnrollmentEvent.Type type, long enqueuedAt) {
+            this.type = type;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class EnrollmentChange {
+
+        private final Enrollment enrollment;
+        private final EnrollmentEvent.Type type;
+
+        private EnrollmentChange(Enrollment enrollment, EnrollmentEvent.Type type) {
+            this.enrollment = enrollment;
+            this.type = type;
+        }
+    }
+}
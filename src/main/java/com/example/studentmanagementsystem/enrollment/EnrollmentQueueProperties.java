@@ -0,0 +1,79 @@
+package com.example.studentmanagementsystem.enrollment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The EnrollmentQueueProperties class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+@ConfigurationProperties(prefix = "enrollment.queue")
+public class EnrollmentQueueProperties {
+
+    private boolean enabled;
+    private int capacity = 10000;
+    private long flushInterval = 200;
+    private int batchSize = 1000;
+
+    /**
+     * @return true if enrollments are queued and acknowledged before being written
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether enrollments are queued and acknowledged before being written.
+     * @param enabled true to queue enrollments
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the number of pending enrollments beyond which new ones are rejected
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the number of pending enrollments beyond which new ones are rejected.
+     * @param capacity the new capacity
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the delay between the end of a flush and the start of the next one, in milliseconds
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the delay between the end of a flush and the start of the next one, in milliseconds.
+     * @param flushInterval the new flush interval
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @return the number of enrollments written in each transaction and JDBC batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of enrollments written in each transaction and JDBC batch.
+     * @param batchSize the new batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.studentmanagementsystem.enrollment;
+
+/**
+ * The EnrollmentQueueStatistics class.
+ * Snapshot of the pending operations and counters of the enrollment queue.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class EnrollmentQueueStatistics {
+
+    private final boolean enabled;
+    private final int pendingCount;
+    private final int pendingAssignedCount;
+    private final int pendingRemovedCount;
+    private final int capacity;
+    private final long oldestPendingAge;
+    private final long enqueuedCount;
+    private final long coalescedCount;
+    private final long rejectedCount;
+    private final long writtenCount;
+    private final long skippedCount;
+    private final long flushCount;
+    private final long failedFlushCount;
+
+    /**
+     * Creates a new instance of EnrollmentQueueStatistics.
+     * @param enabled              true if enrollments are queued
+     * @param pendingCount         the number of pending operations
+     * @param pendingAssignedCount the number of pending assignments
+     * @param pendingRemovedCount  the number of pending removals
+     * @param capacity             the number of pending operations beyond which new ones are rejected
+     * @param oldestPendingAge     the time the oldest pending operation has been waiting, in milliseconds
+     * @param enqueuedCount        the number of queued operations
+     * @param coalescedCount       the number of operations that replaced a pending one on the same enrollment
+     * @param rejectedCount        the number of rejected operations
+     * @param writtenCount         the number of operations that changed the database
+     * @param skippedCount         the number of operations that found nothing to change
+     * @param flushCount           the number of committed batches
+     * @param failedFlushCount     the number of failed batches
+     */
+    public EnrollmentQueueStatistics(boolean enabled, int pendingCount, int pendingAssignedCount,
+                                     int pendingRemovedCount, int capacity, long oldestPendingAge, long enqueuedCount,
+                                     long coalescedCount, long rejectedCount, long writtenCount, long skippedCount,
+                                     long flushCount, long failedFlushCount) {
+        this.enabled = enabled;
+        this.pendingCount = pendingCount;
+        this.pendingAssignedCount = pendingAssignedCount;
+        this.pendingRemovedCount = pendingRemovedCount;
+        this.capacity = capacity;
+        this.oldestPendingAge = oldestPendingAge;
+        this.enqueuedCount = enqueuedCount;
+        this.coalescedCount = coalescedCount;
+        this.rejectedCount = rejectedCount;
+        this.writtenCount = writtenCount;
+        this.skippedCount = skippedCount;
+        this.flushCount = flushCount;
+        this.failedFlushCount = failedFlushCount;
+    }
+
+    /**
+     * @return true if enrollments are queued
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of pending operations
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the number of pending assignments
+     */
+    public int getPendingAssignedCount() {
+        return pendingAssignedCount;
+    }
+
+    /**
+     * @return the number of pending removals
+     */
+    public int getPendingRemovedCount() {
+        return pendingRemovedCount;
+    }
+
+    /**
+     * @return the number of pending operations beyond which new ones are rejected
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the time the oldest pending operation has been waiting, in milliseconds
+     */
+    public long getOldestPendingAge() {
+        return oldestPendingAge;
+    }
+
+    /**
+     * @return the number of queued operations
+     */
+    public long getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    /**
+     * @return the number of operations that replaced a pending one on the same enrollment
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * @return the number of rejected operations
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return the number of operations that changed the database
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return the number of operations that found nothing to change, such as an assignment already made
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * @return the number of committed batches
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return the number of failed batches
+     */
+    public long getFailedFlushCount() {
+        return failedFlushCount;
+    }
+}
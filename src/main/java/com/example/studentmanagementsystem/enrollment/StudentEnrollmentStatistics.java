@@ -0,0 +1,37 @@
+package com.example.studentmanagementsystem.enrollment;
+
+/**
+ * The StudentEnrollmentStatistics class.
+ * Snapshot of the enrollment counter of a student.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class StudentEnrollmentStatistics {
+
+    private final int studentId;
+    private final long classroomCount;
+
+    /**
+     * Creates a new instance of StudentEnrollmentStatistics.
+     * @param studentId      the student id
+     * @param classroomCount the number of classrooms the student is assigned to
+     */
+    public StudentEnrollmentStatistics(int studentId, long classroomCount) {
+        this.studentId = studentId;
+        this.classroomCount = classroomCount;
+    }
+
+    /**
+     * @return the student id
+     */
+    public int getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * @return the number of classrooms the student is assigned to
+     */
+    public long getClassroomCount() {
+        return classroomCount;
+    }
+}
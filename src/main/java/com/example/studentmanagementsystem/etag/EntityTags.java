@@ -0,0 +1,131 @@
+package com.example.studentmanagementsystem.etag;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.StudentSummary;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * The EntityTags class.
+ * Derives strong entity tags from the versions of the students and classrooms a response renders, so they can
+ * be computed without serializing the body. A single student or classroom is tagged with its version, followed
+ * by a digest of the classrooms listed inside a student, and a list is tagged with a digest of the identifiers
+ * and versions of its elements. The version at the start of a single entity tag is what updates check against.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class EntityTags {
+
+    private static final String ANY = "*";
+
+    private EntityTags() {
+        // No Op
+    }
+
+    /**
+     * Finds the entity tag of a response body.
+     * @param value the body, possibly wrapped in a MappingJacksonValue
+     * @return the quoted entity tag
+     */
+    public static String of(Object value) {
+        if (value instanceof MappingJacksonValue) {
+            return of(((MappingJacksonValue) value).getValue());
+        }
+        if (value instanceof Student) {
+            Student student = (Student) value;
+            Collection<Classroom> classrooms = student.getClassrooms();
+            String tag = Long.toString(student.getVersion());
+            return quote(classrooms == null || classrooms.isEmpty() ? tag : tag + "-" + digest(classrooms));
+        } else if (value instanceof StudentSummary) {
+            return quote(Long.toString(((StudentSummary) value).getVersion()));
+        } else if (value instanceof Classroom) {
+            return quote(Long.toString(((Classroom) value).getVersion()));
+        } else if (value instanceof ClassroomSummary) {
+            return quote(Long.toString(((ClassroomSummary) value).getVersion()));
+        }
+        return quote(digest(value));
+    }
+
+    /**
+     * Adds the entity tag of its body to a response, keeping its status and headers. The tag is the same for every
+     * encoding negotiated from the Accept header, so the response also varies by it.
+     * @param response the response
+     * @param <T>      the type of the body
+     * @return the tagged response
+     */
+    public static <T> ResponseEntity<T> tag(ResponseEntity<T> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                             .headers(response.getHeaders())
+                             .eTag(of(response.getBody()))
+                             .varyBy(HttpHeaders.ACCEPT)
+                             .body(response.getBody());
+    }
+
+    /**
+     * Finds the version an update must match, from the value of an If-Match header.
+     * @param ifMatch the header value (optional)
+     * @return the expected version, or null if any version matches
+     * @throws InvalidEntityTagException if the header is not a single strong tag of a student or classroom
+     */
+    public static Long expectedVersion(String ifMatch) throws InvalidEntityTagException {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new InvalidEntityTagException(ifMatch);
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int separator = opaque.indexOf('-');
+        try {
+            return Long.parseLong(separator >= 0 ? opaque.substring(0, separator) : opaque);
+        } catch (NumberFormatException e) {
+            throw new InvalidEntityTagException(ifMatch);
+        }
+    }
+
+    private static String digest(Object value) {
+        StringBuilder versions = new StringBuilder();
+        collect(value, versions);
+        return DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void collect(Object value, StringBuilder versions) {
+        if (value instanceof Student) {
+            Student student = (Student) value;
+            versions.append("student:").append(student.getId()).append(':').append(student.getVersion()).append(';');
+            collect(student.getClassrooms(), versions);
+        } else if (value instanceof StudentSummary) {
+            StudentSummary student = (StudentSummary) value;
+            versions.append("student:").append(student.getId()).append(':').append(student.getVersion()).append(';');
+        } else if (value instanceof Classroom) {
+            Classroom classroom = (Classroom) value;
+            versions.append("classroom:").append(classroom.getCode()).append(':').append(classroom.getVersion()).append(';');
+        } else if (value instanceof ClassroomSummary) {
+            ClassroomSummary classroom = (ClassroomSummary) value;
+            versions.append("classroom:").append(classroom.getCode()).append(':').append(classroom.getVersion()).append(';');
+        } else if (value instanceof MappingJacksonValue) {
+            collect(((MappingJacksonValue) value).getValue(), versions);
+        } else if (value instanceof HttpEntity) {
+            collect(((HttpEntity<?>) value).getBody(), versions);
+        } else if (value instanceof Collection) {
+            versions.append('[');
+            for (Object element : (Collection<?>) value) {
+                collect(element, versions);
+            }
+            versions.append(']');
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.studentmanagementsystem.etag;
+
+/**
+ * The InvalidEntityTagException class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class InvalidEntityTagException extends Exception {
+
+    /**
+     * Creates a new instance of InvalidEntityTagException.
+     * @param tag the invalid entity tag
+     */
+    public InvalidEntityTagException(String tag) {
+        super("Entity tag " + tag + " is invalid");
+    }
+}
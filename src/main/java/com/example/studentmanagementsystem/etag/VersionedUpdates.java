@@ -0,0 +1,72 @@
+package com.example.studentmanagementsystem.etag;
+
+import com.example.studentmanagementsystem.cache.SecondLevelCacheEvictor;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * The VersionedUpdates class.
+ * Checks the version named by an If-Match header with the update statement itself, <code>WHERE ... AND version =
+ * ?</code>, instead of reading the row first, a statement matching no row failing the update with an
+ * ObjectOptimisticLockingFailureException. A row that does not exist matches no version either.
+ * <p>
+ * A classroom is updated by that single statement. A student is only locked by it, within the transaction of the
+ * update, as its classrooms are replaced through Hibernate, which needs the current ones to reserve their seats.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class VersionedUpdates {
+
+    private static final String LOCK_STUDENT = "UPDATE student SET version = version WHERE id = ? AND version = ?";
+    private static final String UPDATE_CLASSROOM = "UPDATE classroom SET title = ?, description = ?, capacity = ?, "
+                                                   + "version = version + 1 WHERE code = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor cacheEvictor;
+
+    /**
+     * Creates a new instance of VersionedUpdates.
+     * @param jdbcTemplate reference to the JdbcTemplate
+     * @param cacheEvictor reference to the SecondLevelCacheEvictor
+     */
+    @Autowired
+    public VersionedUpdates(JdbcTemplate jdbcTemplate, SecondLevelCacheEvictor cacheEvictor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheEvictor = cacheEvictor;
+    }
+
+    /**
+     * Locks a student until the end of the current transaction, if it still has the given version. Must be called
+     * within a transaction.
+     * @param studentId the student id
+     * @param version   the version the student must have
+     * @throws ObjectOptimisticLockingFailureException if the student does not have the given version
+     */
+    public void lockStudent(int studentId, long version) {
+        if (jdbcTemplate.update(LOCK_STUDENT, studentId, version) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Student.class, studentId);
+        }
+    }
+
+    /**
+     * Updates a classroom if it still has the given version, and evicts it from the second level cache.
+     * @param classroom the new data for the classroom, whose version is set to the new one
+     * @param version   the version the classroom must have
+     * @throws ObjectOptimisticLockingFailureException if the classroom does not have the given version
+     */
+    public void updateClassroom(Classroom classroom, long version) {
+        if (jdbcTemplate.update(UPDATE_CLASSROOM, classroom.getTitle(), classroom.getDescription(),
+                                classroom.getCapacity(), classroom.getCode(), version) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Classroom.class, classroom.getCode());
+        }
+        classroom.setVersion(version + 1);
+        cacheEvictor.evictClassrooms(Collections.singleton(classroom.getCode()));
+    }
+}
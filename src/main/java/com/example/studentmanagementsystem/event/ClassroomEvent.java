@@ -0,0 +1,99 @@
+package com.example.studentmanagementsystem.event;
+
+import com.example.studentmanagementsystem.model.Classroom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ClassroomEvent class.
+ * Published after a classroom has been created, updated or deleted, or after several classrooms have been deleted at
+ * once.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class ClassroomEvent {
+
+    /**
+     * The type of change made to the classroom.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final List<String> classroomCodes;
+    private final Classroom classroom;
+
+    private ClassroomEvent(Type type, List<String> classroomCodes, Classroom classroom) {
+        this.type = type;
+        this.classroomCodes = classroomCodes;
+        this.classroom = classroom;
+    }
+
+    /**
+     * Creates an event for a created classroom.
+     * @param classroom the created classroom
+     * @return the event
+     */
+    public static ClassroomEvent created(Classroom classroom) {
+        return new ClassroomEvent(Type.CREATED, Collections.singletonList(classroom.getCode()), classroom);
+    }
+
+    /**
+     * Creates an event for an updated classroom.
+     * @param classroom the updated classroom
+     * @return the event
+     */
+    public static ClassroomEvent updated(Classroom classroom) {
+        return new ClassroomEvent(Type.UPDATED, Collections.singletonList(classroom.getCode()), classroom);
+    }
+
+    /**
+     * Creates an event for a deleted classroom.
+     * @param classroomCode the code of the deleted classroom
+     * @return the event
+     */
+    public static ClassroomEvent deleted(String classroomCode) {
+        return new ClassroomEvent(Type.DELETED, Collections.singletonList(classroomCode), null);
+    }
+
+    /**
+     * Creates an event for several classrooms deleted at once.
+     * @param classroomCodes the codes of the deleted classrooms
+     * @return the event
+     */
+    public static ClassroomEvent deleted(Collection<String> classroomCodes) {
+        return new ClassroomEvent(Type.DELETED, Collections.unmodifiableList(new ArrayList<>(classroomCodes)), null);
+    }
+
+    /**
+     * @return the type of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the code of the changed classroom, or of the first one if several classrooms were deleted at once
+     */
+    public String getClassroomCode() {
+        return classroomCodes.get(0);
+    }
+
+    /**
+     * @return the codes of the changed classrooms
+     */
+    public List<String> getClassroomCodes() {
+        return classroomCodes;
+    }
+
+    /**
+     * @return the classroom after the change, or null if it was deleted
+     */
+    public Classroom getClassroom() {
+        return classroom;
+    }
+}
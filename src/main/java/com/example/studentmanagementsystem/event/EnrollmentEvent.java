@@ -0,0 +1,93 @@
+package com.example.studentmanagementsystem.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The EnrollmentEvent class.
+ * Published after one or more students have been assigned to or removed from a classroom.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class EnrollmentEvent {
+
+    /**
+     * The type of change made to the enrollment.
+     */
+    public enum Type {
+        ASSIGNED, REMOVED
+    }
+
+    private final Type type;
+    private final List<Integer> studentIds;
+    private final String classroomCode;
+
+    private EnrollmentEvent(Type type, List<Integer> studentIds, String classroomCode) {
+        this.type = type;
+        this.studentIds = studentIds;
+        this.classroomCode = classroomCode;
+    }
+
+    /**
+     * Creates an event for a student assigned to a classroom.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @return the event
+     */
+    public static EnrollmentEvent assigned(int studentId, String classroomCode) {
+        return new EnrollmentEvent(Type.ASSIGNED, Collections.singletonList(studentId), classroomCode);
+    }
+
+    /**
+     * Creates an event for several students assigned to a classroom at once.
+     * @param studentIds    the student ids
+     * @param classroomCode the classroom code
+     * @return the event
+     */
+    public static EnrollmentEvent assigned(Collection<Integer> studentIds, String classroomCode) {
+        return new EnrollmentEvent(Type.ASSIGNED, Collections.unmodifiableList(new ArrayList<>(studentIds)), classroomCode);
+    }
+
+    /**
+     * Creates an event for a student removed from a classroom.
+     * @param studentId     the student id
+     * @param classroomCode the classroom code
+     * @return the event
+     */
+    public static EnrollmentEvent removed(int studentId, String classroomCode) {
+        return new EnrollmentEvent(Type.REMOVED, Collections.singletonList(studentId), classroomCode);
+    }
+
+    /**
+     * Creates an event for several students removed from a classroom at once.
+     * @param studentIds    the student ids
+     * @param classroomCode the classroom code
+     * @return the event
+     */
+    public static EnrollmentEvent removed(Collection<Integer> studentIds, String classroomCode) {
+        return new EnrollmentEvent(Type.REMOVED, Collections.unmodifiableList(new ArrayList<>(studentIds)), classroomCode);
+    }
+
+    /**
+     * @return the type of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the ids of the students
+     */
+    public List<Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * @return the classroom code
+     */
+    public String getClassroomCode() {
+        return classroomCode;
+    }
+}
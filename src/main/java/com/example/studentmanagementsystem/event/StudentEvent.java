@@ -0,0 +1,98 @@
+package com.example.studentmanagementsystem.event;
+
+import com.example.studentmanagementsystem.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The StudentEvent class.
+ * Published after a student has been created, updated or deleted, or after several students have been deleted at once.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class StudentEvent {
+
+    /**
+     * The type of change made to the student.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final List<Integer> studentIds;
+    private final Student student;
+
+    private StudentEvent(Type type, List<Integer> studentIds, Student student) {
+        this.type = type;
+        this.studentIds = studentIds;
+        this.student = student;
+    }
+
+    /**
+     * Creates an event for a created student.
+     * @param student the created student
+     * @return the event
+     */
+    public static StudentEvent created(Student student) {
+        return new StudentEvent(Type.CREATED, Collections.singletonList(student.getId()), student);
+    }
+
+    /**
+     * Creates an event for an updated student.
+     * @param student the updated student
+     * @return the event
+     */
+    public static StudentEvent updated(Student student) {
+        return new StudentEvent(Type.UPDATED, Collections.singletonList(student.getId()), student);
+    }
+
+    /**
+     * Creates an event for a deleted student.
+     * @param studentId the id of the deleted student
+     * @return the event
+     */
+    public static StudentEvent deleted(int studentId) {
+        return new StudentEvent(Type.DELETED, Collections.singletonList(studentId), null);
+    }
+
+    /**
+     * Creates an event for several students deleted at once.
+     * @param studentIds the ids of the deleted students
+     * @return the event
+     */
+    public static StudentEvent deleted(Collection<Integer> studentIds) {
+        return new StudentEvent(Type.DELETED, Collections.unmodifiableList(new ArrayList<>(studentIds)), null);
+    }
+
+    /**
+     * @return the type of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the id of the changed student, or of the first one if several students were deleted at once
+     */
+    public int getStudentId() {
+        return studentIds.get(0);
+    }
+
+    /**
+     * @return the ids of the changed students
+     */
+    public List<Integer> getStudentIds() {
+        return studentIds;
+    }
+
+    /**
+     * @return the student after the change, or null if it was deleted
+     */
+    public Student getStudent() {
+        return student;
+    }
+}
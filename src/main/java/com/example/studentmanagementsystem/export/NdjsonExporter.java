@@ -0,0 +1,158 @@
+package com.example.studentmanagementsystem.export;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * The NdjsonExporter class.
+ * Writes every student or classroom as newline delimited JSON, one record per line. Rows are read through a
+ * forward only cursor and written straight to a streaming generator, and nothing is kept in the persistence
+ * context, so memory usage does not depend on the size of the tables.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class NdjsonExporter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final StudentRepository studentRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates a new instance of NdjsonExporter.
+     * @param studentRepository   reference to the StudentRepository
+     * @param classroomRepository reference to the ClassroomRepository
+     * @param objectMapper        reference to the ObjectMapper
+     * @param transactionManager  reference to the PlatformTransactionManager
+     */
+    @Autowired
+    public NdjsonExporter(StudentRepository studentRepository, ClassroomRepository classroomRepository,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.classroomRepository = classroomRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes every student with the codes of its classrooms, sorted by id.
+     * @param outputStream the stream to write to
+     * @throws IOException
+     */
+    public void exportStudents(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            transactionTemplate.execute(status -> {
+                try (Stream<Object[]> rows = studentRepository.streamStudentsWithClassroomCodes()) {
+                    writeStudents(rows.iterator(), generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes every classroom, sorted by code.
+     * @param outputStream the stream to write to
+     * @throws IOException
+     */
+    public void exportClassrooms(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            transactionTemplate.execute(status -> {
+                try (Stream<Classroom> classrooms = classroomRepository.streamClassrooms()) {
+                    writeClassrooms(classrooms.iterator(), generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory()
+                                              .createGenerator(outputStream)
+                                              .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private void writeStudents(Iterator<Object[]> rows, JsonGenerator generator) throws IOException {
+        Integer currentId = null;
+        int count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            Integer id = (Integer) row[0];
+            if (!id.equals(currentId)) {
+                if (currentId != null) {
+                    endRecord(generator, ++count);
+                }
+                currentId = id;
+                generator.writeStartObject();
+                generator.writeNumberField("id", id);
+                generator.writeStringField("firstName", (String) row[1]);
+                generator.writeStringField("lastName", (String) row[2]);
+                generator.writeArrayFieldStart("classroomCodes");
+            }
+            if (row[3] != null) {
+                generator.writeString((String) row[3]);
+            }
+        }
+        if (currentId != null) {
+            endRecord(generator, ++count);
+        }
+    }
+
+    private void endRecord(JsonGenerator generator, int count) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        if (count % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+
+    private void writeClassrooms(Iterator<Classroom> classrooms, JsonGenerator generator) throws IOException {
+        int count = 0;
+        while (classrooms.hasNext()) {
+            Classroom classroom = classrooms.next();
+            generator.writeObject(classroom);
+            generator.writeRaw('\n');
+            entityManager.detach(classroom);
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * The HandlerTimingInterceptor class.
+ * Times every request handled by a controller method, from the first dispatch until the response is written. For
+ * asynchronous requests, the time spans both dispatches, as the start is kept in a request attribute.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class HandlerTimingInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String START_ATTRIBUTE = HandlerTimingInterceptor.class.getName() + ".start";
+
+    private final MetricsRegistry registry;
+
+    /**
+     * Creates a new instance of HandlerTimingInterceptor.
+     * @param registry reference to the MetricsRegistry
+     */
+    public HandlerTimingInterceptor(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (handler instanceof HandlerMethod && start != null) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            registry.recordHandler(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                                   System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * The HibernateStatistics class.
+ * Snapshot of the Hibernate session statistics since the application started, with the average number of statements,
+ * entity loads and collection fetches of a request, and the hit ratios of the second level and query caches.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class HibernateStatistics {
+
+    private final boolean enabled;
+    private final long requestCount;
+    private final long sessionOpenCount;
+    private final long transactionCount;
+    private final long prepareStatementCount;
+    private final long queryExecutionCount;
+    private final long queryExecutionMaxTime;
+    private final String queryExecutionMaxTimeQueryString;
+    private final long entityLoadCount;
+    private final long entityFetchCount;
+    private final long collectionLoadCount;
+    private final long collectionFetchCount;
+    private final long secondLevelCacheHitCount;
+    private final long secondLevelCacheMissCount;
+    private final long secondLevelCachePutCount;
+    private final long queryCacheHitCount;
+    private final long queryCacheMissCount;
+
+    /**
+     * Creates a new instance of HibernateStatistics.
+     * @param statistics   the Hibernate statistics
+     * @param requestCount the number of requests handled since the application started
+     */
+    public HibernateStatistics(Statistics statistics, long requestCount) {
+        this.enabled = statistics.isStatisticsEnabled();
+        this.requestCount = requestCount;
+        this.sessionOpenCount = statistics.getSessionOpenCount();
+        this.transactionCount = statistics.getTransactionCount();
+        this.prepareStatementCount = statistics.getPrepareStatementCount();
+        this.queryExecutionCount = statistics.getQueryExecutionCount();
+        this.queryExecutionMaxTime = statistics.getQueryExecutionMaxTime();
+        this.queryExecutionMaxTimeQueryString = statistics.getQueryExecutionMaxTimeQueryString();
+        this.entityLoadCount = statistics.getEntityLoadCount();
+        this.entityFetchCount = statistics.getEntityFetchCount();
+        this.collectionLoadCount = statistics.getCollectionLoadCount();
+        this.collectionFetchCount = statistics.getCollectionFetchCount();
+        this.secondLevelCacheHitCount = statistics.getSecondLevelCacheHitCount();
+        this.secondLevelCacheMissCount = statistics.getSecondLevelCacheMissCount();
+        this.secondLevelCachePutCount = statistics.getSecondLevelCachePutCount();
+        this.queryCacheHitCount = statistics.getQueryCacheHitCount();
+        this.queryCacheMissCount = statistics.getQueryCacheMissCount();
+    }
+
+    /**
+     * @return true if Hibernate collects statistics, otherwise every counter is zero
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of requests handled
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return the number of opened sessions
+     */
+    public long getSessionOpenCount() {
+        return sessionOpenCount;
+    }
+
+    /**
+     * @return the number of completed transactions
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * @return the number of prepared JDBC statements
+     */
+    public long getPrepareStatementCount() {
+        return prepareStatementCount;
+    }
+
+    /**
+     * @return the number of executed queries
+     */
+    public long getQueryExecutionCount() {
+        return queryExecutionCount;
+    }
+
+    /**
+     * @return the time of the slowest query, in milliseconds
+     */
+    public long getQueryExecutionMaxTime() {
+        return queryExecutionMaxTime;
+    }
+
+    /**
+     * @return the slowest query
+     */
+    public String getQueryExecutionMaxTimeQueryString() {
+        return queryExecutionMaxTimeQueryString;
+    }
+
+    /**
+     * @return the number of entities loaded from the database
+     */
+    public long getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    /**
+     * @return the number of entities fetched one by one, such as lazy associations
+     */
+    public long getEntityFetchCount() {
+        return entityFetchCount;
+    }
+
+    /**
+     * @return the number of collections loaded from the database
+     */
+    public long getCollectionLoadCount() {
+        return collectionLoadCount;
+    }
+
+    /**
+     * @return the number of collections fetched one by one, such as lazy associations
+     */
+    public long getCollectionFetchCount() {
+        return collectionFetchCount;
+    }
+
+    /**
+     * @return the number of entities and collections found in the second level cache
+     */
+    public long getSecondLevelCacheHitCount() {
+        return secondLevelCacheHitCount;
+    }
+
+    /**
+     * @return the number of entities and collections looked up in the second level cache but not found
+     */
+    public long getSecondLevelCacheMissCount() {
+        return secondLevelCacheMissCount;
+    }
+
+    /**
+     * @return the number of entities and collections put in the second level cache
+     */
+    public long getSecondLevelCachePutCount() {
+        return secondLevelCachePutCount;
+    }
+
+    /**
+     * @return the number of query results found in the query cache
+     */
+    public long getQueryCacheHitCount() {
+        return queryCacheHitCount;
+    }
+
+    /**
+     * @return the number of query results looked up in the query cache but not found
+     */
+    public long getQueryCacheMissCount() {
+        return queryCacheMissCount;
+    }
+
+    /**
+     * @return the ratio of second level cache lookups that were hits
+     */
+    public double getSecondLevelCacheHitRatio() {
+        return ratio(secondLevelCacheHitCount, secondLevelCacheMissCount);
+    }
+
+    /**
+     * @return the ratio of query cache lookups that were hits
+     */
+    public double getQueryCacheHitRatio() {
+        return ratio(queryCacheHitCount, queryCacheMissCount);
+    }
+
+    /**
+     * @return the average number of prepared JDBC statements of a request
+     */
+    public double getStatementsPerRequest() {
+        return perRequest(prepareStatementCount);
+    }
+
+    /**
+     * @return the average number of entities loaded by a request
+     */
+    public double getEntityLoadsPerRequest() {
+        return perRequest(entityLoadCount);
+    }
+
+    /**
+     * @return the average number of collections fetched one by one by a request
+     */
+    public double getCollectionFetchesPerRequest() {
+        return perRequest(collectionFetchCount);
+    }
+
+    private double perRequest(long count) {
+        return requestCount == 0 ? 0 : (double) count / requestCount;
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d statements=%d (%.2f per request) entityLoads=%d (%.2f per request) "
+                             + "collectionFetches=%d (%.2f per request) queries=%d slowestQuery=%dms "
+                             + "secondLevelCacheHits=%.2f queryCacheHits=%.2f",
+                             requestCount, prepareStatementCount, getStatementsPerRequest(), entityLoadCount,
+                             getEntityLoadsPerRequest(), collectionFetchCount, getCollectionFetchesPerRequest(),
+                             queryExecutionCount, queryExecutionMaxTime, getSecondLevelCacheHitRatio(),
+                             getQueryCacheHitRatio());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * The LatencyStatistics class.
+ * Snapshot of the latency histogram of an operation, every time being in microseconds.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class LatencyStatistics {
+
+    private final String name;
+    private final long count;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    /**
+     * Creates a new instance of LatencyStatistics.
+     * @param name      the operation name
+     * @param histogram the histogram of the operation, in microseconds
+     */
+    public LatencyStatistics(String name, Histogram histogram) {
+        this.name = name;
+        this.count = histogram.getTotalCount();
+        this.mean = histogram.getMean();
+        this.p50 = histogram.getValueAtPercentile(50);
+        this.p90 = histogram.getValueAtPercentile(90);
+        this.p99 = histogram.getValueAtPercentile(99);
+        this.max = histogram.getMaxValue();
+    }
+
+    /**
+     * @return the operation name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of executions
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean time of an execution
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the median time of an execution
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * @return the time under which 90% of the executions completed
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * @return the time under which 99% of the executions completed
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * @return the longest time of an execution
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d mean=%.0fus p50=%dus p90=%dus p99=%dus max=%dus",
+                             name, count, mean, p50, p90, p99, max);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LatencyTimer class.
+ * Latency histogram of one operation, in microseconds, up to one hour with three significant digits. Timings are
+ * written to a recorder, which takes no lock, and moved to the histograms when statistics are read. Two histograms
+ * are kept, one since the application started and one since the last time the statistics were logged.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class LatencyTimer {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram sinceLastLog = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    /**
+     * Creates a new instance of LatencyTimer.
+     * @param name the operation name
+     */
+    LatencyTimer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one execution of the operation.
+     * @param nanos the time the execution took, in nanoseconds
+     */
+    void record(long nanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0)), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * @return the statistics of the executions since the application started
+     */
+    synchronized LatencyStatistics getStatistics() {
+        drain();
+        return new LatencyStatistics(name, total);
+    }
+
+    /**
+     * Finds the statistics of the executions since the last call, and starts a new interval.
+     * @return the statistics of the executions of the interval
+     */
+    synchronized LatencyStatistics takeIntervalStatistics() {
+        drain();
+        LatencyStatistics statistics = new LatencyStatistics(name, sinceLastLog);
+        sinceLastLog.reset();
+        return statistics;
+    }
+
+    private void drain() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        sinceLastLog.add(interval);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+/**
+ * The MetricsConfiguration class.
+ * Times every controller method.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+public class MetricsConfiguration extends WebMvcConfigurerAdapter {
+
+    private final MetricsRegistry registry;
+
+    /**
+     * Creates a new instance of MetricsConfiguration.
+     * @param registry reference to the MetricsRegistry
+     */
+    @Autowired
+    public MetricsConfiguration(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptorRegistry) {
+        interceptorRegistry.addInterceptor(new HandlerTimingInterceptor(registry));
+    }
+}
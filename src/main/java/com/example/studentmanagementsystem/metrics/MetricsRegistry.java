@@ -0,0 +1,89 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The MetricsRegistry class.
+ * Holds the latency timers of every controller method and repository method, created on their first execution, and
+ * the number of handled requests.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<String, LatencyTimer> handlers = new ConcurrentHashMap<>();
+    private final Map<String, LatencyTimer> queries = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Records one request handled by a controller method.
+     * @param name  the controller method name
+     * @param nanos the time the request took, in nanoseconds
+     */
+    public void recordHandler(String name, long nanos) {
+        handlers.computeIfAbsent(name, LatencyTimer::new).record(nanos);
+        requestCount.incrementAndGet();
+    }
+
+    /**
+     * Records one call to a repository method.
+     * @param name  the repository method name
+     * @param nanos the time the call took, in nanoseconds
+     */
+    public void recordQuery(String name, long nanos) {
+        queries.computeIfAbsent(name, LatencyTimer::new).record(nanos);
+    }
+
+    /**
+     * @return the number of requests handled by a controller method
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the latencies of the controller methods since the application started, sorted by name
+     */
+    public List<LatencyStatistics> getHandlerStatistics() {
+        return statistics(handlers, LatencyTimer::getStatistics);
+    }
+
+    /**
+     * @return the latencies of the repository methods since the application started, sorted by name
+     */
+    public List<LatencyStatistics> getQueryStatistics() {
+        return statistics(queries, LatencyTimer::getStatistics);
+    }
+
+    /**
+     * @return the latencies of the controller methods since the last call, sorted by name
+     */
+    List<LatencyStatistics> takeHandlerIntervalStatistics() {
+        return statistics(handlers, LatencyTimer::takeIntervalStatistics);
+    }
+
+    /**
+     * @return the latencies of the repository methods since the last call, sorted by name
+     */
+    List<LatencyStatistics> takeQueryIntervalStatistics() {
+        return statistics(queries, LatencyTimer::takeIntervalStatistics);
+    }
+
+    private static List<LatencyStatistics> statistics(Map<String, LatencyTimer> timers,
+                                                      Function<LatencyTimer, LatencyStatistics> snapshot) {
+        return timers.values()
+                     .stream()
+                     .map(snapshot)
+                     .sorted(Comparator.comparing(LatencyStatistics::getName))
+                     .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.studentmanagementsystem.metrics;
+
+import com.example.studentmanagementsystem.cache.CacheStatistics;
+
+import java.util.List;
+
+/**
+ * The MetricsReport class.
+ * Snapshot of every metric of the application.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class MetricsReport {
+
+    private final List<LatencyStatistics> handlers;
+    private final List<LatencyStatistics> queries;
+    private final List<CacheStatistics> caches;
+    private final HibernateStatistics hibernate;
+
+    /**
+     * Creates a new instance of MetricsReport.
+     * @param handlers  the latencies of the controller methods
+     * @param queries   the latencies of the repository methods
+     * @param caches    the statistics of the named caches
+     * @param hibernate the Hibernate session statistics
+     */
+    public MetricsReport(List<LatencyStatistics> handlers, List<LatencyStatistics> queries,
+                         List<CacheStatistics> caches, HibernateStatistics hibernate) {
+        this.handlers = handlers;
+        this.queries = queries;
+        this.caches = caches;
+        this.hibernate = hibernate;
+    }
+
+    /**
+     * @return the latencies of the controller methods, sorted by name
+     */
+    public List<LatencyStatistics> getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * @return the latencies of the repository methods, sorted by name
+     */
+    public List<LatencyStatistics> getQueries() {
+        return queries;
+    }
+
+    /**
+     * @return the statistics of the named caches, sorted by name
+     */
+    public List<CacheStatistics> getCaches() {
+        return caches;
+    }
+
+    /**
+     * @return the Hibernate session statistics
+     */
+    public HibernateStatistics getHibernate() {
+        return hibernate;
+    }
+}
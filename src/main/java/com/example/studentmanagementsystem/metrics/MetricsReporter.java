@@ -0,0 +1,76 @@
+package com.example.studentmanagementsystem.metrics;
+
+import com.example.studentmanagementsystem.cache.CacheStatistics;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * The MetricsReporter class.
+ * Gathers the latencies, cache statistics and Hibernate statistics into a report, and periodically logs them. Logged
+ * latencies cover the period since the previous log only, while the counters cover the whole run, so every log can be
+ * compared with the ones before and after a deploy.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class MetricsReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final MetricsRegistry registry;
+    private final CacheManager cacheManager;
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Creates a new instance of MetricsReporter.
+     * @param registry             reference to the MetricsRegistry
+     * @param cacheManager         reference to the CacheManager
+     * @param entityManagerFactory reference to the EntityManagerFactory
+     */
+    @Autowired
+    public MetricsReporter(MetricsRegistry registry, CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        this.cacheManager = cacheManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * @return the metrics since the application started
+     */
+    public MetricsReport report() {
+        return new MetricsReport(registry.getHandlerStatistics(), registry.getQueryStatistics(),
+                                 CacheStatistics.of(cacheManager),
+                                 new HibernateStatistics(sessionFactory.getStatistics(), registry.getRequestCount()));
+    }
+
+    /**
+     * Logs the latencies since the previous log, with the cache and Hibernate statistics.
+     */
+    @Scheduled(initialDelayString = "${metrics.log-interval:60000}", fixedDelayString = "${metrics.log-interval:60000}")
+    public void log() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        registry.takeHandlerIntervalStatistics()
+                .stream()
+                .filter(statistics -> statistics.getCount() > 0)
+                .forEach(statistics -> logger.info("Handler {}", statistics));
+        registry.takeQueryIntervalStatistics()
+                .stream()
+                .filter(statistics -> statistics.getCount() > 0)
+                .forEach(statistics -> logger.info("Query {}", statistics));
+        CacheStatistics.of(cacheManager)
+                       .forEach(statistics -> logger.info("Cache {} size={} hits={} misses={} hitRate={}",
+                                                          statistics.getName(), statistics.getSize(),
+                                                          statistics.getHitCount(), statistics.getMissCount(),
+                                                          String.format("%.3f", statistics.getHitRate())));
+        logger.info("Hibernate {}", new HibernateStatistics(sessionFactory.getStatistics(), registry.getRequestCount()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.studentmanagementsystem.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The RepositoryTimingAspect class.
+ * Times every call to a repository method, named after the repository interface of the application rather than the
+ * Spring Data interface declaring it. Methods returning a stream are timed until the stream is returned only.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    private final MetricsRegistry registry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of RepositoryTimingAspect.
+     * @param registry reference to the MetricsRegistry
+     */
+    @Autowired
+    public RepositoryTimingAspect(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a call to a repository method.
+     * @param joinPoint the call
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call
+     */
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            String repositoryName = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(),
+                                                                    RepositoryTimingAspect::repositoryName);
+            registry.recordQuery(repositoryName + "." + joinPoint.getSignature().getName(), System.nanoTime() - start);
+        }
+    }
+
+    private static String repositoryName(Class<?> repositoryClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(repositoryClass)) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                return type.getSimpleName();
+            }
+        }
+        return repositoryClass.getSimpleName();
+    }
+}
@@ -1,29 +1,53 @@
 package com.example.studentmanagementsystem.model;
 
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
+import javax.persistence.OrderBy;
+import javax.persistence.Version;
 import java.io.Serializable;
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * The Classroom class.
+ * Classrooms and their students are kept in the second level cache, see <code>hibernate-ehcache.xml</code>. The seats
+ * of a classroom with a capacity are reserved by ClassroomSeats before its students are written.
  * @author Jorge Vasquez
  * @since 1.8
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Classroom.REGION)
+@JsonFilter(FieldSelection.CLASSROOM_FILTER)
 @JsonIgnoreProperties("students")
 public class Classroom implements Serializable{
 
+    public static final String REGION = "classroom";
+    public static final String STUDENTS_REGION = "classroom.students";
+
     @Id
     private String code;
     private String title;
     private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer capacity;
+
+    @Version
+    @JsonIgnore
+    private long version;
 
     @ManyToMany(mappedBy = "classrooms")
-    private List<Student> students;
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Classroom.STUDENTS_REGION)
+    private Set<Student> students;
 
     /**
      * Empty constructor for Classroom.
@@ -77,10 +101,40 @@ public class Classroom implements Serializable{
         this.description = description;
     }
 
+    /**
+     * @return the number of seats of the classroom, or null if it has no limit
+     */
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the number of seats of the classroom.
+     * @param capacity the new number of seats of the classroom, or null for no limit
+     */
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the version of the classroom, incremented by every update
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the classroom, which an update must match.
+     * @param version the expected version of the classroom
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * @return the students of the classroom
      */
-    public List<Student> getStudents() {
+    public Set<Student> getStudents() {
         return students;
     }
 
@@ -88,7 +142,31 @@ public class Classroom implements Serializable{
      * Sets the students of the classroom.
      * @param students the new students of the classroom
      */
-    public void setStudents(List<Student> students) {
+    public void setStudents(Set<Student> students) {
         this.students = students;
     }
+
+    /**
+     * Classrooms are equal when they have the same code.
+     * @param other the object to compare with
+     * @return true if the other object is the same classroom
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Classroom)) {
+            return false;
+        }
+        return code != null && code.equals(((Classroom) other).getCode());
+    }
+
+    /**
+     * @return the hash code of the classroom code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(code);
+    }
 }
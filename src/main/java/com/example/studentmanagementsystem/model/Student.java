@@ -1,28 +1,48 @@
 package com.example.studentmanagementsystem.model;
 
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.io.Serializable;
-import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * The Student class.
+ * Students and their classrooms are kept in the second level cache, see <code>hibernate-ehcache.xml</code>.
  * @author Jorge Vasquez
  * @since 1.8
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Student.REGION)
+@JsonFilter(FieldSelection.STUDENT_FILTER)
 public class Student implements Serializable {
 
+    public static final String REGION = "student";
+    public static final String CLASSROOMS_REGION = "student.classrooms";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_sequence")
+    @SequenceGenerator(name = "student_sequence", sequenceName = "student_sequence", allocationSize = 50)
     private Integer id;
     private String firstName;
     private String lastName;
 
+    @Version
+    @JsonIgnore
+    private long version;
+
     @ManyToMany
     @JoinTable(name = "student_classroom",
             joinColumns = @JoinColumn(name = "student_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "classroom_code", referencedColumnName = "code"))
-    private List<Classroom> classrooms;
+    @OrderBy("code")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Student.CLASSROOMS_REGION)
+    private Set<Classroom> classrooms;
 
     /**
      * Empty constructor for Student.
@@ -76,10 +96,25 @@ public class Student implements Serializable {
         this.lastName = lastName;
     }
 
+    /**
+     * @return the version of the student, incremented by every update
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the student, which an update must match.
+     * @param version the expected version of the student
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * @return the student's classrooms
      */
-    public List<Classroom> getClassrooms() {
+    public Set<Classroom> getClassrooms() {
         return classrooms;
     }
 
@@ -87,23 +122,50 @@ public class Student implements Serializable {
      * Sets the student's classrooms.
      * @param classrooms the new student's classrooms
      */
-    public void setClassrooms(List<Classroom> classrooms) {
+    public void setClassrooms(Set<Classroom> classrooms) {
         this.classrooms = classrooms;
     }
 
     /**
-     * Adds a classroom to this student's classrooms list.
+     * Adds a classroom to this student's classrooms.
      * @param classroom the classroom to be added
+     * @return true if the student was not assigned to the classroom yet
      */
-    public void addClassroom(Classroom classroom) {
-        classrooms.add(classroom);
+    public boolean addClassroom(Classroom classroom) {
+        return classrooms.add(classroom);
     }
 
     /**
-     * Removes a classroom from this student's classrooms list.
+     * Removes a classroom from this student's classrooms.
      * @param classroom the classroom to be removed
+     * @return true if the student was assigned to the classroom
+     */
+    public boolean removeClassroom(Classroom classroom) {
+        return classrooms.remove(classroom);
+    }
+
+    /**
+     * Students are equal when they have the same id. Students without an id are only equal to themselves.
+     * @param other the object to compare with
+     * @return true if the other object is the same student
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Student)) {
+            return false;
+        }
+        return id != null && id.equals(((Student) other).getId());
+    }
+
+    /**
+     * Students are only added to sets once they have been saved, so the hash code can depend on the id.
+     * @return the hash code of the id
      */
-    public void removeClassroom(Classroom classroom) {
-        classrooms.remove(classroom);
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
     }
 }
@@ -0,0 +1,17 @@
+package com.example.studentmanagementsystem.pagination;
+
+/**
+ * The InvalidCursorException class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class InvalidCursorException extends Exception {
+
+    /**
+     * Creates a new instance of InvalidCursorException.
+     * @param cursor the invalid cursor
+     */
+    public InvalidCursorException(String cursor) {
+        super("Cursor " + cursor + " is invalid");
+    }
+}
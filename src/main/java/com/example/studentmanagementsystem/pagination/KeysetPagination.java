@@ -0,0 +1,115 @@
+package com.example.studentmanagementsystem.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The KeysetPagination class.
+ * Pages are read seeking on the key of the last returned row instead of using an offset, so every page costs
+ * the same no matter how deep it is. The key is handed to clients as an opaque cursor, inside a Link header
+ * pointing to the next page. The link is a relative reference built from the search parameters only, never from the
+ * request, as pages are cached and answered to every client sending the same search, whatever its host.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class KeysetPagination {
+
+    private static final String PREFIX = "k:";
+
+    private KeysetPagination() {
+        // No Op
+    }
+
+    /**
+     * Creates the limit for a page query, which reads one extra row to know whether there is a next page.
+     * @param pageSize the page size
+     * @return the limit for the page query
+     */
+    public static Pageable limit(int pageSize) {
+        return new PageRequest(0, pageSize + 1);
+    }
+
+    /**
+     * Creates the response for a page.
+     * @param rows         the rows read by the page query
+     * @param pageSize     the page size
+     * @param keyExtractor the function giving the key of a row
+     * @param parameters   the search parameters repeated in the link to the next page, the null ones being left out
+     * @param <T>          the type of the rows
+     * @return the response with the rows of the page, and a Link header to the next page if there is one
+     */
+    public static <T> ResponseEntity<List<T>> page(List<T> rows, int pageSize, Function<T, Object> keyExtractor,
+                                                   Map<String, ?> parameters) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, pageSize));
+        String cursor = encode(keyExtractor.apply(content.get(pageSize - 1)));
+        UriComponentsBuilder next = UriComponentsBuilder.newInstance();
+        parameters.forEach((name, value) -> {
+            if (value != null) {
+                next.queryParam(name, value);
+            }
+        });
+        String link = next.queryParam("size", pageSize)
+                          .queryParam("after", cursor)
+                          .build()
+                          .encode()
+                          .toUriString();
+        return ResponseEntity.ok().header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"").body(content);
+    }
+
+    /**
+     * Creates the cursor for a key.
+     * @param key the key
+     * @return the cursor
+     */
+    public static String encode(Object key) {
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString((PREFIX + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Finds the key of a cursor.
+     * @param cursor the cursor
+     * @return the key
+     * @throws InvalidCursorException
+     */
+    public static String decode(String cursor) throws InvalidCursorException {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+        if (!decoded.startsWith(PREFIX)) {
+            throw new InvalidCursorException(cursor);
+        }
+        return decoded.substring(PREFIX.length());
+    }
+
+    /**
+     * Finds the numeric key of a cursor.
+     * @param cursor the cursor
+     * @return the key
+     * @throws InvalidCursorException
+     */
+    public static int decodeInt(String cursor) throws InvalidCursorException {
+        try {
+            return Integer.parseInt(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.studentmanagementsystem.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The PaginationProperties class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    private int defaultSize = 100;
+    private int maxSize = 1000;
+
+    /**
+     * @return the page size used when none is requested
+     */
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    /**
+     * Sets the page size used when none is requested.
+     * @param defaultSize the new default page size
+     */
+    public void setDefaultSize(int defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    /**
+     * @return the largest page size that can be requested
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the largest page size that can be requested.
+     * @param maxSize the new maximum page size
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Finds the page size to use for a request.
+     * @param requestedSize the requested page size (optional)
+     * @return the requested page size, within 1 and the maximum page size
+     */
+    public int pageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requestedSize, maxSize));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.studentmanagementsystem.projection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+
+/**
+ * The ClassroomSummary class.
+ * Read only view of a classroom without its students, built by the database query itself, so reading it does not
+ * create a managed entity.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@JsonFilter(FieldSelection.CLASSROOM_FILTER)
+public final class ClassroomSummary implements Serializable {
+
+    private final String code;
+    private final String title;
+    private final String description;
+    private final Integer capacity;
+    private final long version;
+
+    /**
+     * Creates a new instance of ClassroomSummary.
+     * @param code        the code of the classroom
+     * @param title       the title of the classroom
+     * @param description the description of the classroom
+     * @param capacity    the number of seats of the classroom, or null if it has no limit
+     * @param version     the version of the classroom
+     */
+    public ClassroomSummary(String code, String title, String description, Integer capacity, long version) {
+        this.code = code;
+        this.title = title;
+        this.description = description;
+        this.capacity = capacity;
+        this.version = version;
+    }
+
+    /**
+     * @return the code of the classroom
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return the title of the classroom
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * @return the description of the classroom
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the number of seats of the classroom, or null if it has no limit
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the version of the classroom
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.studentmanagementsystem.projection;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The FieldSelection class.
+ * The fields of a student or classroom requested through the <code>fields</code> parameter, as a comma separated
+ * list. Responses are serialized through a Jackson filter keeping only those fields, and the controllers use the
+ * selection to skip loading what is not rendered.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class FieldSelection {
+
+    /**
+     * The id of the Jackson filter applied to students.
+     */
+    public static final String STUDENT_FILTER = "studentFields";
+
+    /**
+     * The id of the Jackson filter applied to classrooms.
+     */
+    public static final String CLASSROOM_FILTER = "classroomFields";
+
+    private static final Set<String> STUDENT_FIELDS = fieldSet("id", "firstName", "lastName", "classrooms");
+    private static final Set<String> CLASSROOM_FIELDS = fieldSet("code", "title", "description", "capacity");
+
+    private final String filterId;
+    private final Set<String> fields;
+
+    private FieldSelection(String filterId, Set<String> fields) {
+        this.filterId = filterId;
+        this.fields = fields;
+    }
+
+    /**
+     * Parses the fields requested for students.
+     * @param fields the comma separated fields (optional, every field if null)
+     * @return the selection
+     * @throws InvalidFieldsException if a field is empty or unknown
+     */
+    public static FieldSelection ofStudent(String fields) throws InvalidFieldsException {
+        return parse(STUDENT_FILTER, STUDENT_FIELDS, fields);
+    }
+
+    /**
+     * Parses the fields requested for classrooms.
+     * @param fields the comma separated fields (optional, every field if null)
+     * @return the selection
+     * @throws InvalidFieldsException if a field is empty or unknown
+     */
+    public static FieldSelection ofClassroom(String fields) throws InvalidFieldsException {
+        return parse(CLASSROOM_FILTER, CLASSROOM_FIELDS, fields);
+    }
+
+    /**
+     * @return the selection of every student field, as when no fields are requested
+     */
+    public static FieldSelection allOfStudent() {
+        return new FieldSelection(STUDENT_FILTER, STUDENT_FIELDS);
+    }
+
+    /**
+     * @return the selection of every classroom field, as when no fields are requested
+     */
+    public static FieldSelection allOfClassroom() {
+        return new FieldSelection(CLASSROOM_FILTER, CLASSROOM_FIELDS);
+    }
+
+    /**
+     * @param field the field name
+     * @return true if the field is rendered
+     */
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Wraps a value so that it is serialized with the selected fields only.
+     * @param value the value to serialize
+     * @return the wrapped value
+     */
+    public MappingJacksonValue apply(Object value) {
+        MappingJacksonValue wrapped = new MappingJacksonValue(value);
+        wrapped.setFilters(filters());
+        return wrapped;
+    }
+
+    /**
+     * Wraps the body of a response so that it is serialized with the selected fields only, keeping its headers.
+     * @param response the response
+     * @return the response with the wrapped body
+     */
+    public ResponseEntity<MappingJacksonValue> apply(ResponseEntity<?> response) {
+        return new ResponseEntity<>(apply(response.getBody()), response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Creates the filters used when no selection applies, which render every field.
+     * @return the filter provider
+     */
+    public static FilterProvider defaultFilters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    private FilterProvider filters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                                         .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    private static FieldSelection parse(String filterId, Set<String> allowed, String fields)
+            throws InvalidFieldsException {
+        if (fields == null) {
+            return new FieldSelection(filterId, allowed);
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",", -1)) {
+            String trimmed = field.trim();
+            if (!allowed.contains(trimmed)) {
+                throw new InvalidFieldsException(fields);
+            }
+            selected.add(trimmed);
+        }
+        return new FieldSelection(filterId, Collections.unmodifiableSet(selected));
+    }
+
+    private static Set<String> fieldSet(String... fields) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(fields)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.studentmanagementsystem.projection;
+
+/**
+ * The InvalidFieldsException class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class InvalidFieldsException extends Exception {
+
+    /**
+     * Creates a new instance of InvalidFieldsException.
+     * @param fields the invalid field selection
+     */
+    public InvalidFieldsException(String fields) {
+        super("Fields " + fields + " are invalid");
+    }
+}
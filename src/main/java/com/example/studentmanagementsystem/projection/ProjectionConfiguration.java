@@ -0,0 +1,24 @@
+package com.example.studentmanagementsystem.projection;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The ProjectionConfiguration class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Configuration
+public class ProjectionConfiguration {
+
+    /**
+     * Registers the default field filters in the application ObjectMapper, so students and classrooms serialized
+     * without a field selection render every field.
+     * @return the customizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldFilterCustomizer() {
+        return builder -> builder.filters(FieldSelection.defaultFilters());
+    }
+}
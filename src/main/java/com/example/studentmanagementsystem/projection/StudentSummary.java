@@ -0,0 +1,65 @@
+package com.example.studentmanagementsystem.projection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+
+/**
+ * The StudentSummary class.
+ * Read only view of a student without its classrooms, built by the database query itself, so reading it does not
+ * create a managed entity.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@JsonFilter(FieldSelection.STUDENT_FILTER)
+public final class StudentSummary implements Serializable {
+
+    private final Integer id;
+    private final String firstName;
+    private final String lastName;
+    private final long version;
+
+    /**
+     * Creates a new instance of StudentSummary.
+     * @param id        the student's id
+     * @param firstName the student's first name
+     * @param lastName  the student's last name
+     * @param version   the student's version
+     */
+    public StudentSummary(Integer id, String firstName, String lastName, long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.version = version;
+    }
+
+    /**
+     * @return the student's id
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * @return the student's first name
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * @return the student's last name
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * @return the student's version
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.studentmanagementsystem.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BatchLookupResult class.
+ * The outcome of looking up many students or classrooms at once: the items found, in the order they were requested,
+ * and the ids or codes that do not belong to any item.
+ * @param <T> the type of the items
+ * @param <K> the type of the ids
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class BatchLookupResult<T, K> {
+
+    private final List<T> found = new ArrayList<>();
+    private final List<K> notFound = new ArrayList<>();
+
+    /**
+     * Creates a new instance of BatchLookupResult.
+     */
+    BatchLookupResult() {
+        // No Op
+    }
+
+    /**
+     * @return the items found, in the order they were requested
+     */
+    public List<T> getFound() {
+        return found;
+    }
+
+    /**
+     * @return the ids that do not belong to any item
+     */
+    public List<K> getNotFound() {
+        return notFound;
+    }
+}
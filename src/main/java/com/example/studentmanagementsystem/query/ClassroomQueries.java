@@ -0,0 +1,167 @@
+package com.example.studentmanagementsystem.query;
+
+import com.example.studentmanagementsystem.cache.DependencyTrackingCache;
+import com.example.studentmanagementsystem.etag.EntityTags;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.pagination.InvalidCursorException;
+import com.example.studentmanagementsystem.pagination.KeysetPagination;
+import com.example.studentmanagementsystem.pagination.PaginationProperties;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import com.example.studentmanagementsystem.repository.exception.ClassroomNotFoundException;
+import com.example.studentmanagementsystem.search.ClassroomSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The ClassroomQueries class.
+ * Answers the classroom searches and association lookups, which the controller runs on its bulkhead. The responses
+ * are cached here rather than on the controller, so the cache holds the responses and not the pending futures.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class ClassroomQueries {
+
+    private final ClassroomRepository classroomRepository;
+    private final StudentRepository studentRepository;
+    private final PaginationProperties paginationProperties;
+    private final ClassroomSearchIndex searchIndex;
+    private final DependencyTrackingCache classroomCache;
+
+    /**
+     * Creates a new instance of ClassroomQueries.
+     * @param classroomRepository  reference to the ClassroomRepository
+     * @param studentRepository    reference to the StudentRepository
+     * @param paginationProperties reference to the PaginationProperties
+     * @param searchIndex          reference to the ClassroomSearchIndex
+     * @param cacheManager         reference to the CacheManager
+     */
+    @Autowired
+    public ClassroomQueries(ClassroomRepository classroomRepository, StudentRepository studentRepository,
+                            PaginationProperties paginationProperties, ClassroomSearchIndex searchIndex,
+                            CacheManager cacheManager) {
+        this.classroomRepository = classroomRepository;
+        this.studentRepository = studentRepository;
+        this.paginationProperties = paginationProperties;
+        this.searchIndex = searchIndex;
+        this.classroomCache = (DependencyTrackingCache) cacheManager.getCache("classroomCache");
+    }
+
+    /**
+     * Finds a page of classrooms for the given search parameters, sorted by code. The classrooms are read as
+     * summaries.
+     * @param title       the searched title (optional)
+     * @param description the searched description (optional)
+     * @param after       the cursor after which the page starts, taken from the Link header of the previous page (optional)
+     * @param size        the page size (optional)
+     * @param fields      the comma separated fields to render (optional)
+     * @return the found classrooms for the given search parameters, with a Link header to the next page if there is one,
+     * and the entity tag of the page
+     * @throws InvalidCursorException
+     * @throws InvalidFieldsException
+     */
+    @Cacheable(value = "classroomCache", keyGenerator = "classroomSearchKeyGenerator", sync = true)
+    public ResponseEntity<MappingJacksonValue> getClassrooms(String title, String description, String after, Integer size,
+                                                             String fields) throws InvalidCursorException, InvalidFieldsException {
+        FieldSelection selection = FieldSelection.ofClassroom(fields);
+        String afterCode = after != null ? KeysetPagination.decode(after) : "";
+        int pageSize = paginationProperties.pageSize(size);
+        Pageable limit = KeysetPagination.limit(pageSize);
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("title", title);
+        parameters.put("description", description);
+        parameters.put("fields", fields);
+        List<ClassroomSummary> classrooms = searchIndex.findCodes(title, description, afterCode, limit.getPageSize())
+                                                       .map(this::findClassroomsByCodes)
+                                                       .orElseGet(() -> findClassrooms(title, description, afterCode, limit));
+        return EntityTags.tag(selection.apply(KeysetPagination.page(classrooms, pageSize, ClassroomSummary::getCode, parameters)));
+    }
+
+    /**
+     * Finds the students for a given classroom code
+     * @param code the searched classroom code
+     * @return the found students, with their entity tag
+     * @throws ClassroomNotFoundException
+     */
+    @Cacheable(value = "classroomStudentsCache", key = "#code", sync = true)
+    public ResponseEntity<List<Student>> getClassroomStudents(String code) throws ClassroomNotFoundException {
+        if (!classroomRepository.exists(code)) {
+            throw new ClassroomNotFoundException(code);
+        }
+        return EntityTags.tag(ResponseEntity.ok(studentRepository.findStudentsWithClassroomsByClassroomCode(code)));
+    }
+
+    /**
+     * Finds the classrooms with the given codes, in the order they were requested. The classrooms are first looked up
+     * among the cached responses of <code>GET /classes?code=</code>, and the missing ones are loaded in a single query,
+     * then cached as those responses, so the next lookups of either kind hit the cache.
+     * @param codes the searched classroom codes
+     * @return the found classrooms, and the codes that do not belong to any classroom
+     */
+    public BatchLookupResult<ClassroomSummary, String> getClassroomsByCodes(List<String> codes) {
+        Set<String> requestedCodes = new LinkedHashSet<>(codes);
+        requestedCodes.remove(null);
+        Map<Object, Object> responses = classroomCache.getAll(requestedCodes, this::loadClassroomResponses);
+        BatchLookupResult<ClassroomSummary, String> result = new BatchLookupResult<>();
+        for (String code : requestedCodes) {
+            Object response = responses.get(code);
+            if (response != null) {
+                result.getFound().add((ClassroomSummary) body(response));
+            } else {
+                result.getNotFound().add(code);
+            }
+        }
+        return result;
+    }
+
+    private List<ClassroomSummary> findClassrooms(String title, String description, String afterCode, Pageable limit) {
+        if (title != null && description != null) {
+            return classroomRepository.findClassroomSummariesByTitleAndDescription(title, description, afterCode, limit);
+        } else if (title != null) {
+            return classroomRepository.findClassroomSummariesByTitle(title, afterCode, limit);
+        } else if (description != null) {
+            return classroomRepository.findClassroomSummariesByDescription(description, afterCode, limit);
+        } else {
+            return classroomRepository.findClassroomSummaries(afterCode, limit);
+        }
+    }
+
+    private List<ClassroomSummary> findClassroomsByCodes(List<String> codes) {
+        List<ClassroomSummary> classrooms = codes.isEmpty() ? new ArrayList<>() : classroomRepository.findClassroomSummariesByCodes(codes);
+        classrooms.sort(Comparator.comparing(ClassroomSummary::getCode));
+        return classrooms;
+    }
+
+    private Map<Object, Object> loadClassroomResponses(Set<Object> codes) {
+        FieldSelection selection = FieldSelection.allOfClassroom();
+        List<String> classroomCodes = codes.stream().map(String.class::cast).collect(Collectors.toList());
+        Map<Object, Object> responses = new HashMap<>();
+        for (ClassroomSummary classroom : classroomRepository.findClassroomSummariesByCodes(classroomCodes)) {
+            responses.put(classroom.getCode(), EntityTags.tag(ResponseEntity.ok(selection.apply(classroom))));
+        }
+        return responses;
+    }
+
+    private static Object body(Object response) {
+        return ((MappingJacksonValue) ((ResponseEntity<?>) response).getBody()).getValue();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.studentmanagementsystem.query;
+
+import com.example.studentmanagementsystem.cache.DependencyTrackingCache;
+import com.example.studentmanagementsystem.etag.EntityTags;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.pagination.InvalidCursorException;
+import com.example.studentmanagementsystem.pagination.KeysetPagination;
+import com.example.studentmanagementsystem.pagination.PaginationProperties;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.projection.InvalidFieldsException;
+import com.example.studentmanagementsystem.projection.StudentSummary;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import com.example.studentmanagementsystem.repository.exception.StudentNotFoundException;
+import com.example.studentmanagementsystem.search.StudentSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The StudentQueries class.
+ * Answers the student searches and association lookups, which the controller runs on its bulkhead. The responses
+ * are cached here rather than on the controller, so the cache holds the responses and not the pending futures.
+ * Everything rendered is loaded by the queries themselves, as no persistence context is open on the bulkhead threads.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class StudentQueries {
+
+    private static final String CLASSROOMS = "classrooms";
+
+    private final StudentRepository studentRepository;
+    private final PaginationProperties paginationProperties;
+    private final StudentSearchIndex searchIndex;
+    private final DependencyTrackingCache studentCache;
+
+    /**
+     * Creates a new instance of StudentQueries.
+     * @param studentRepository    reference to the StudentRepository
+     * @param paginationProperties reference to the PaginationProperties
+     * @param searchIndex          reference to the StudentSearchIndex
+     * @param cacheManager         reference to the CacheManager
+     */
+    @Autowired
+    public StudentQueries(StudentRepository studentRepository, PaginationProperties paginationProperties,
+                          StudentSearchIndex searchIndex, CacheManager cacheManager) {
+        this.studentRepository = studentRepository;
+        this.paginationProperties = paginationProperties;
+        this.searchIndex = searchIndex;
+        this.studentCache = (DependencyTrackingCache) cacheManager.getCache("studentCache");
+    }
+
+    /**
+     * Finds a page of students for the given search parameters, sorted by id. The classrooms are only loaded when
+     * they are rendered, otherwise the students are read as summaries.
+     * @param firstName the searched first name (optional)
+     * @param lastName  the searched last name (optional)
+     * @param after     the cursor after which the page starts, taken from the Link header of the previous page (optional)
+     * @param size      the page size (optional)
+     * @param fields    the comma separated fields to render (optional)
+     * @return the found students for the given search parameters, with a Link header to the next page if there is one,
+     * and the entity tag of the page
+     * @throws InvalidCursorException
+     * @throws InvalidFieldsException
+     */
+    @Cacheable(value = "studentCache", keyGenerator = "studentSearchKeyGenerator", sync = true)
+    public ResponseEntity<MappingJacksonValue> getStudents(String firstName, String lastName, String after, Integer size,
+                                                           String fields) throws InvalidCursorException, InvalidFieldsException {
+        FieldSelection selection = FieldSelection.ofStudent(fields);
+        int afterId = after != null ? KeysetPagination.decodeInt(after) : 0;
+        int pageSize = paginationProperties.pageSize(size);
+        Pageable limit = KeysetPagination.limit(pageSize);
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("firstName", firstName);
+        parameters.put("lastName", lastName);
+        parameters.put("fields", fields);
+        Optional<List<Integer>> indexedIds = searchIndex.findIds(firstName, lastName, afterId, limit.getPageSize());
+        if (selection.includes(CLASSROOMS)) {
+            List<Integer> ids = indexedIds.orElseGet(() -> findStudentSummaries(firstName, lastName, afterId, limit)
+                    .stream()
+                    .map(StudentSummary::getId)
+                    .collect(Collectors.toList()));
+            return EntityTags.tag(selection.apply(KeysetPagination.page(findStudentsByIds(ids), pageSize, Student::getId, parameters)));
+        }
+        List<StudentSummary> students = indexedIds.map(this::findStudentSummariesByIds)
+                                                  .orElseGet(() -> findStudentSummaries(firstName, lastName, afterId, limit));
+        return EntityTags.tag(selection.apply(KeysetPagination.page(students, pageSize, StudentSummary::getId, parameters)));
+    }
+
+    /**
+     * Finds the classrooms for a given student id
+     * @param id the searched student id
+     * @return the found classrooms, with their entity tag
+     * @throws StudentNotFoundException
+     */
+    @Cacheable(value = "studentClassroomsCache", key = "#id", sync = true)
+    public ResponseEntity<List<Classroom>> getStudentClassrooms(int id) throws StudentNotFoundException {
+        Student student = Optional.ofNullable(studentRepository.findStudentById(id)).orElseThrow(() -> new StudentNotFoundException(id));
+        return EntityTags.tag(ResponseEntity.ok(new ArrayList<>(student.getClassrooms())));
+    }
+
+    /**
+     * Finds the students with the given ids, in the order they were requested. The students are first looked up among
+     * the cached responses of <code>GET /students?id=</code>, and the missing ones are loaded along with their
+     * classrooms in a single query, then cached as those responses, so the next lookups of either kind hit the cache.
+     * @param ids the searched student ids
+     * @return the found students, and the ids that do not belong to any student
+     */
+    public BatchLookupResult<Student, Integer> getStudentsByIds(List<Integer> ids) {
+        Set<Integer> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+        Map<Object, Object> responses = studentCache.getAll(requestedIds, this::loadStudentResponses);
+        BatchLookupResult<Student, Integer> result = new BatchLookupResult<>();
+        for (Integer id : requestedIds) {
+            Object response = responses.get(id);
+            if (response != null) {
+                result.getFound().add((Student) body(response));
+            } else {
+                result.getNotFound().add(id);
+            }
+        }
+        return result;
+    }
+
+    private List<StudentSummary> findStudentSummaries(String firstName, String lastName, int afterId, Pageable limit) {
+        if (firstName != null && lastName != null) {
+            return studentRepository.findStudentSummariesByFirstAndLastName(firstName, lastName, afterId, limit);
+        } else if (firstName != null) {
+            return studentRepository.findStudentSummariesByFirstName(firstName, afterId, limit);
+        } else if (lastName != null) {
+            return studentRepository.findStudentSummariesByLastName(lastName, afterId, limit);
+        } else {
+            return studentRepository.findStudentSummaries(afterId, limit);
+        }
+    }
+
+    private List<StudentSummary> findStudentSummariesByIds(List<Integer> ids) {
+        List<StudentSummary> students = ids.isEmpty() ? new ArrayList<>() : studentRepository.findStudentSummariesByIds(ids);
+        students.sort(Comparator.comparing(StudentSummary::getId));
+        return students;
+    }
+
+    /**
+     * Loads the students with the given ids, along with their classrooms, in a single query, so serializing them
+     * does not load the classrooms of each student one by one.
+     * @param ids the ids of the students
+     * @return the found students, sorted by id
+     */
+    private List<Student> findStudentsByIds(List<Integer> ids) {
+        List<Student> students = ids.isEmpty() ? new ArrayList<>() : studentRepository.findStudentsWithClassroomsByIds(ids);
+        students.sort(Comparator.comparing(Student::getId));
+        return students;
+    }
+
+    private Map<Object, Object> loadStudentResponses(Set<Object> ids) {
+        FieldSelection selection = FieldSelection.allOfStudent();
+        List<Integer> studentIds = ids.stream().map(Integer.class::cast).collect(Collectors.toList());
+        Map<Object, Object> responses = new HashMap<>();
+        for (Student student : studentRepository.findStudentsWithClassroomsByIds(studentIds)) {
+            responses.put(student.getId(), EntityTags.tag(ResponseEntity.ok(selection.apply(student))));
+        }
+        return responses;
+    }
+
+    private static Object body(Object response) {
+        return ((MappingJacksonValue) ((ResponseEntity<?>) response).getBody()).getValue();
+    }
+}
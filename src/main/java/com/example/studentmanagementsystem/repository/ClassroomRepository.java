@@ -1,39 +1,121 @@
 package com.example.studentmanagementsystem.repository;
 
 import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.projection.ClassroomSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * The ClassroomRepository interface.
+ * Search methods return a page of classroom summaries with a code greater than the given one, sorted by code,
+ * built by the query without loading the entities.
+ * The results of the finders are kept in the query cache, and dropped whenever the classroom table changes.
  * @author Jorge Vasquez
  * @since 1.8
  */
 public interface ClassroomRepository extends JpaRepository<Classroom, String> {
 
     /**
-     * Finds classrooms searching by their title.
-     * @param title the searched title
+     * Finds a page of classrooms.
+     * @param code     the code after which the page starts
+     * @param pageable the size of the page
+     * @return the list of found classrooms
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE classroom.code > :code ORDER BY classroom.code")
+    List<ClassroomSummary> findClassroomSummaries(@Param("code") String code, Pageable pageable);
+
+    /**
+     * Finds a page of classrooms whose title contains the given text, ignoring case.
+     * @param title    the searched title
+     * @param code     the code after which the page starts
+     * @param pageable the size of the page
      * @return the list of found classrooms
      */
-    List<Classroom> findClassRoomsByTitleContainsIgnoreCase(String title);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE LOWER(classroom.title) LIKE LOWER(CONCAT('%', :title, '%')) AND classroom.code > :code ORDER BY classroom.code")
+    List<ClassroomSummary> findClassroomSummariesByTitle(@Param("title") String title, @Param("code") String code,
+                                                         Pageable pageable);
 
     /**
-     * Finds classrooms searching by their description.
+     * Finds a page of classrooms whose description contains the given text, ignoring case.
      * @param description the searched description
+     * @param code        the code after which the page starts
+     * @param pageable    the size of the page
      * @return the list of found classrooms
      */
-    List<Classroom> findClassroomsByDescriptionContainsIgnoreCase(String description);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE LOWER(classroom.description) LIKE LOWER(CONCAT('%', :description, '%')) AND classroom.code > :code ORDER BY classroom.code")
+    List<ClassroomSummary> findClassroomSummariesByDescription(@Param("description") String description,
+                                                               @Param("code") String code, Pageable pageable);
 
     /**
-     * Finds classrooms searching by their title and description.
+     * Finds a page of classrooms searching by their title and description.
      * @param title       the searched title
      * @param description the searched description
+     * @param code        the code after which the page starts
+     * @param pageable    the size of the page
      * @return the list of found classrooms
      */
-    @Query("SELECT classroom FROM Classroom classroom WHERE LOWER(classroom.title) LIKE LOWER(:title) AND LOWER(classroom.description) LIKE LOWER(:description)")
-    List<Classroom> findClassroomsByTitleAndAndDescription(@Param("title") String title, @Param("description") String description);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE LOWER(classroom.title) LIKE LOWER(:title) AND LOWER(classroom.description) LIKE LOWER(:description) AND classroom.code > :code ORDER BY classroom.code")
+    List<ClassroomSummary> findClassroomSummariesByTitleAndDescription(@Param("title") String title,
+                                                                       @Param("description") String description,
+                                                                       @Param("code") String code, Pageable pageable);
+
+    /**
+     * Finds the classrooms with the given codes.
+     * @param codes the searched codes
+     * @return the found classrooms, in no particular order
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE classroom.code IN :codes")
+    List<ClassroomSummary> findClassroomSummariesByCodes(@Param("codes") Collection<String> codes);
+
+    /**
+     * Finds a classroom by code.
+     * @param code the searched code
+     * @return the found classroom, or null if there is none
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.ClassroomSummary(classroom.code, classroom.title, classroom.description, classroom.capacity, classroom.version) FROM Classroom classroom WHERE classroom.code = :code")
+    ClassroomSummary findClassroomSummaryByCode(@Param("code") String code);
+
+    /**
+     * Streams every classroom sorted by code, through a forward only cursor. Must be called within a
+     * transaction, and the stream must be closed.
+     * @return the stream of classrooms
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT classroom FROM Classroom classroom ORDER BY classroom.code")
+    Stream<Classroom> streamClassrooms();
+
+    /**
+     * Streams the code, title and description of every classroom, through a forward only cursor. Must be called
+     * within a transaction, and the stream must be closed.
+     * @return the stream of rows
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT classroom.code, classroom.title, classroom.description FROM Classroom classroom")
+    Stream<Object[]> streamClassroomTexts();
+
+    /**
+     * Finds which of the given codes belong to a classroom.
+     * @param codes the searched codes
+     * @return the codes of the existing classrooms
+     */
+    @Query("SELECT classroom.code FROM Classroom classroom WHERE classroom.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
 }
@@ -0,0 +1,75 @@
+package com.example.studentmanagementsystem.repository;
+
+import java.util.Locale;
+
+/**
+ * The LikePattern class.
+ * Evaluates in memory the case insensitive LIKE predicates used by the repositories, where '%' matches any
+ * sequence of characters, '_' matches a single character and '\' escapes the next character.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public final class LikePattern {
+
+    private static final char ESCAPE = '\\';
+
+    private LikePattern() {
+        // No Op
+    }
+
+    /**
+     * Checks whether a value contains the given text, the same way ContainingIgnoreCase queries do.
+     * @param text  the searched text
+     * @param value the value to check
+     * @return true if the value matches
+     */
+    public static boolean containsIgnoreCase(String text, String value) {
+        return matchesIgnoreCase("%" + text + "%", value);
+    }
+
+    /**
+     * Checks whether a value matches a LIKE pattern, ignoring case.
+     * @param pattern the LIKE pattern
+     * @param value   the value to check
+     * @return true if the value matches
+     */
+    public static boolean matchesIgnoreCase(String pattern, String value) {
+        if (pattern == null || value == null) {
+            return false;
+        }
+        return matches(pattern.toLowerCase(Locale.ROOT), value.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean matches(String pattern, String value) {
+        int p = 0;
+        int v = 0;
+        int starPattern = -1;
+        int starValue = -1;
+        while (v < value.length()) {
+            if (p < pattern.length() && pattern.charAt(p) == '%') {
+                starPattern = ++p;
+                starValue = v;
+            } else if (p < pattern.length() && matchesChar(pattern, p, value.charAt(v))) {
+                p += pattern.charAt(p) == ESCAPE && p + 1 < pattern.length() ? 2 : 1;
+                v++;
+            } else if (starPattern >= 0) {
+                p = starPattern;
+                v = ++starValue;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    private static boolean matchesChar(String pattern, int p, char c) {
+        char current = pattern.charAt(p);
+        if (current == ESCAPE && p + 1 < pattern.length()) {
+            return pattern.charAt(p + 1) == c;
+        }
+        return current == '_' || current == c;
+    }
+}
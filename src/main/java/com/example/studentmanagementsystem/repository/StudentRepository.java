@@ -1,39 +1,159 @@
 package com.example.studentmanagementsystem.repository;
 
 import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.StudentSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * The StudentRepository interface.
+ * Search methods return a page of student summaries with an id greater than the given one, sorted by id, built
+ * by the query without loading the entities.
+ * The results of the summary finders are kept in the query cache, and dropped whenever the student table changes.
+ * Finders fetching the classrooms are not cached: a cached result only holds the ids of the students, so their
+ * classrooms would not be fetched, and the bulk enrollment checks are rarely repeated.
  * @author Jorge Vasquez
  * @since 1.8
  */
 public interface StudentRepository extends JpaRepository<Student, Integer> {
 
     /**
-     * Finds students searching by their first name.
+     * Finds a page of students.
+     * @param id       the id after which the page starts
+     * @param pageable the size of the page
+     * @return the list of found students
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE student.id > :id ORDER BY student.id")
+    List<StudentSummary> findStudentSummaries(@Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Finds a page of students whose first name contains the given text, ignoring case.
      * @param firstName the searched first name
+     * @param id        the id after which the page starts
+     * @param pageable  the size of the page
      * @return the list of found students
      */
-    List<Student> findStudentsByFirstNameContainingIgnoreCase(String firstName);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE LOWER(student.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) AND student.id > :id ORDER BY student.id")
+    List<StudentSummary> findStudentSummariesByFirstName(@Param("firstName") String firstName, @Param("id") Integer id,
+                                                         Pageable pageable);
 
     /**
-     * Finds students searching by their last name.
+     * Finds a page of students whose last name contains the given text, ignoring case.
      * @param lastName the searched last name
+     * @param id       the id after which the page starts
+     * @param pageable the size of the page
      * @return the list of found students
      */
-    List<Student> findStudentsByLastNameContainingIgnoreCase(String lastName);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE LOWER(student.lastName) LIKE LOWER(CONCAT('%', :lastName, '%')) AND student.id > :id ORDER BY student.id")
+    List<StudentSummary> findStudentSummariesByLastName(@Param("lastName") String lastName, @Param("id") Integer id,
+                                                        Pageable pageable);
 
     /**
-     * Finds students searching by their first and last name.
+     * Finds a page of students searching by their first and last name.
      * @param firstName the searched first name
      * @param lastName  the searched last name
+     * @param id        the id after which the page starts
+     * @param pageable  the size of the page
      * @return the list of found students
      */
-    @Query("SELECT student FROM Student student WHERE LOWER(student.firstName) LIKE LOWER(:firstName) AND LOWER(student.lastName) LIKE LOWER(:lastName)")
-    List<Student> findStudentsByFirstAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE LOWER(student.firstName) LIKE LOWER(:firstName) AND LOWER(student.lastName) LIKE LOWER(:lastName) AND student.id > :id ORDER BY student.id")
+    List<StudentSummary> findStudentSummariesByFirstAndLastName(@Param("firstName") String firstName,
+                                                                @Param("lastName") String lastName,
+                                                                @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Finds the students with the given ids, without their classrooms.
+     * @param ids the searched ids
+     * @return the found students, in no particular order
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE student.id IN :ids")
+    List<StudentSummary> findStudentSummariesByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Finds a student by id, without its classrooms.
+     * @param id the searched id
+     * @return the found student, or null if there is none
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT NEW com.example.studentmanagementsystem.projection.StudentSummary(student.id, student.firstName, student.lastName, student.version) FROM Student student WHERE student.id = :id")
+    StudentSummary findStudentSummaryById(@Param("id") Integer id);
+
+    /**
+     * Streams every student with the codes of its classrooms, through a forward only cursor. There is one row
+     * per student and classroom, holding the student id, first name, last name and classroom code (null for
+     * students without classrooms), and the rows of a student are consecutive. Must be called within a
+     * transaction, and the stream must be closed.
+     * @return the stream of rows
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT student.id, student.firstName, student.lastName, classroom.code FROM Student student LEFT JOIN student.classrooms classroom ORDER BY student.id, classroom.code")
+    Stream<Object[]> streamStudentsWithClassroomCodes();
+
+    /**
+     * Streams the id, first name and last name of every student, through a forward only cursor. Must be called
+     * within a transaction, and the stream must be closed.
+     * @return the stream of rows
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT student.id, student.firstName, student.lastName FROM Student student")
+    Stream<Object[]> streamStudentNames();
+
+    /**
+     * Finds a student by id, along with its classrooms, in a single query.
+     * @param id the searched id
+     * @return the found student, or null if there is none
+     */
+    @EntityGraph(attributePaths = "classrooms")
+    Student findStudentById(Integer id);
+
+    /**
+     * Finds the students with the given ids, along with their classrooms, in a single query.
+     * @param ids the searched ids
+     * @return the found students, in no particular order
+     */
+    @Query("SELECT DISTINCT student FROM Student student LEFT JOIN FETCH student.classrooms WHERE student.id IN :ids")
+    List<Student> findStudentsWithClassroomsByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Finds the students assigned to a classroom, along with their classrooms, in a single query.
+     * @param code the classroom code
+     * @return the found students, sorted by id
+     */
+    @Query("SELECT DISTINCT student FROM Student student LEFT JOIN FETCH student.classrooms WHERE student.id IN (SELECT enrolled.id FROM Student enrolled JOIN enrolled.classrooms classroom WHERE classroom.code = :code) ORDER BY student.id")
+    List<Student> findStudentsWithClassroomsByClassroomCode(@Param("code") String code);
+
+    /**
+     * Finds which of the given ids belong to a student.
+     * @param ids the searched ids
+     * @return the ids of the existing students
+     */
+    @Query("SELECT student.id FROM Student student WHERE student.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Finds which of the given students are assigned to a classroom.
+     * @param code the classroom code
+     * @param ids  the searched student ids
+     * @return the ids of the students assigned to the classroom
+     */
+    @Query("SELECT student.id FROM Student student JOIN student.classrooms classroom WHERE classroom.code = :code AND student.id IN :ids")
+    List<Integer> findIdsAssignedToClassroom(@Param("code") String code, @Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,219 @@
+package com.example.studentmanagementsystem.search;
+
+import com.example.studentmanagementsystem.event.ClassroomEvent;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.repository.ClassroomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The ClassroomSearchIndex class.
+ * Keeps the titles and descriptions of every classroom in memory, in trigram indexes, so contains searches are
+ * answered without scanning the table. Classroom codes are mapped to document numbers, which are reused when a
+ * deleted code is created again. The index is loaded from the database in the background once the application is
+ * ready, so it never delays the startup, and then kept up to date from the classroom events. Until it is loaded,
+ * searches fall back to the database. Titles also feed a prefix tree answering typeahead suggestions.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class ClassroomSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomSearchIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ClassroomRepository classroomRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrigramIndex titles = new TrigramIndex();
+    private final TrigramIndex descriptions = new TrigramIndex();
+    private final SuggestionTrie titleSuggestions;
+    private final Map<String, Integer> documents = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<String> changedWhileLoading;
+    private volatile boolean ready;
+
+    /**
+     * Creates a new instance of ClassroomSearchIndex.
+     * @param classroomRepository  reference to the ClassroomRepository
+     * @param transactionManager   reference to the PlatformTransactionManager
+     * @param suggestionProperties reference to the SuggestionProperties
+     */
+    @Autowired
+    public ClassroomSearchIndex(ClassroomRepository classroomRepository, PlatformTransactionManager transactionManager,
+                                SuggestionProperties suggestionProperties) {
+        this.classroomRepository = classroomRepository;
+        this.titleSuggestions = new SuggestionTrie(suggestionProperties.getMaxSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Starts loading the index on a thread of its own, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("classroom-search-index-");
+        threadFactory.setDaemon(true);
+        threadFactory.newThread(this::load).start();
+    }
+
+    /**
+     * Loads every classroom into the index. Classrooms changed while loading keep the values given by their events.
+     */
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        write(() -> changedWhileLoading = new HashSet<>());
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<Object[]> rows = classroomRepository.streamClassroomTexts()) {
+                    Iterator<Object[]> iterator = rows.iterator();
+                    List<Object[]> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+                    while (iterator.hasNext()) {
+                        batch.add(iterator.next());
+                        if (batch.size() == LOAD_BATCH_SIZE || !iterator.hasNext()) {
+                            write(() -> batch.stream()
+                                             .filter(row -> !changedWhileLoading.contains((String) row[0]))
+                                             .forEach(row -> put((String) row[0], (String) row[1], (String) row[2])));
+                            batch.clear();
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Classroom search index could not be loaded, searches will use the database", e);
+            write(() -> changedWhileLoading = null);
+            return;
+        }
+        write(() -> {
+            changedWhileLoading = null;
+            ready = true;
+        });
+        logger.info("Classroom search index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Updates the index after a classroom has been created, updated or deleted, or after several classrooms have been
+     * deleted at once. Runs before the cache invalidation, so a search loaded once the mutation is recorded always
+     * reads the updated index.
+     * @param event the classroom event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onClassroomEvent(ClassroomEvent event) {
+        write(() -> {
+            Classroom classroom = event.getClassroom();
+            if (classroom == null) {
+                for (String classroomCode : event.getClassroomCodes()) {
+                    Integer document = documents.get(classroomCode);
+                    if (document != null) {
+                        remove(document);
+                    }
+                }
+            } else {
+                put(event.getClassroomCode(), classroom.getTitle(), classroom.getDescription());
+            }
+            if (changedWhileLoading != null) {
+                changedWhileLoading.addAll(event.getClassroomCodes());
+            }
+        });
+    }
+
+    /**
+     * Finds the codes of a page of classrooms whose title or description contains the given text, ignoring case.
+     * The index only answers searches by exactly one of the fields, without LIKE wildcards, once it is loaded.
+     * @param title       the searched title (optional)
+     * @param description the searched description (optional)
+     * @param afterCode   the code after which the page starts
+     * @param limit       the maximum number of codes
+     * @return the sorted codes of the found classrooms, or empty if the index cannot answer the search
+     */
+    public Optional<List<String>> findCodes(String title, String description, String afterCode, int limit) {
+        if (!ready || (title == null) == (description == null)) {
+            return Optional.empty();
+        }
+        String query = title != null ? title : description;
+        if (!TrigramIndex.supports(query)) {
+            return Optional.empty();
+        }
+        List<String> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int document : (title != null ? titles : descriptions).search(query)) {
+                String code = codes.get(document);
+                if (code.compareTo(afterCode) > 0) {
+                    matches.add(code);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(matches.stream().sorted().limit(limit).collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds the most frequent titles starting with the given prefix, ignoring case. Suggestions are answered from
+     * memory, and are empty until the index is loaded.
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, the most frequent first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return titleSuggestions.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(String code, String title, String description) {
+        int document = documents.computeIfAbsent(code, key -> {
+            codes.add(key);
+            return codes.size() - 1;
+        });
+        remove(document);
+        titles.put(document, title);
+        descriptions.put(document, description);
+        titleSuggestions.add(title);
+    }
+
+    private void remove(int document) {
+        titleSuggestions.remove(titles.get(document));
+        titles.remove(document);
+        descriptions.remove(document);
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.studentmanagementsystem.search;
+
+import java.util.Arrays;
+
+/**
+ * The IntPostingList class.
+ * Sorted set of document numbers backed by a growable int array. Documents are usually added in increasing order,
+ * which only appends to the array.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class IntPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] documents = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a document.
+     * @param document the document number
+     */
+    void add(int document) {
+        if (size > 0 && documents[size - 1] >= document) {
+            int index = Arrays.binarySearch(documents, 0, size, document);
+            if (index >= 0) {
+                return;
+            }
+            insert(-index - 1, document);
+        } else {
+            insert(size, document);
+        }
+    }
+
+    /**
+     * Removes a document.
+     * @param document the document number
+     */
+    void remove(int document) {
+        int index = Arrays.binarySearch(documents, 0, size, document);
+        if (index >= 0) {
+            System.arraycopy(documents, index + 1, documents, index, size - index - 1);
+            size--;
+        }
+    }
+
+    /**
+     * @return the number of documents
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index the position of the document
+     * @return the document at the given position
+     */
+    int get(int index) {
+        return documents[index];
+    }
+
+    /**
+     * @param document the document number
+     * @return true if the list holds the document
+     */
+    boolean contains(int document) {
+        return Arrays.binarySearch(documents, 0, size, document) >= 0;
+    }
+
+    /**
+     * @param document the document number
+     * @return the position of the first document greater than the given one
+     */
+    int indexAfter(int document) {
+        int index = Arrays.binarySearch(documents, 0, size, document);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * @param from the position of the first copied document
+     * @param to   the position after the last copied document
+     * @return a sorted copy of the documents in the given range
+     */
+    int[] copyOfRange(int from, int to) {
+        return Arrays.copyOfRange(documents, from, Math.min(to, size));
+    }
+
+    private void insert(int index, int document) {
+        if (size == documents.length) {
+            documents = Arrays.copyOf(documents, size + (size >> 1) + 1);
+        }
+        System.arraycopy(documents, index, documents, index + 1, size - index);
+        documents[index] = document;
+        size++;
+    }
+}
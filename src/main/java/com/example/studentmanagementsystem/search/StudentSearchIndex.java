@@ -0,0 +1,203 @@
+package com.example.studentmanagementsystem.search;
+
+import com.example.studentmanagementsystem.event.StudentEvent;
+import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The StudentSearchIndex class.
+ * Keeps the first and last names of every student in memory, in trigram indexes, so contains searches are answered
+ * without scanning the table. The index is loaded from the database in the background once the application is
+ * ready, so it never delays the startup, and then kept up to date from the student events. Until it is loaded,
+ * searches fall back to the database. Both names also feed a prefix tree answering typeahead suggestions.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+public class StudentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TrigramIndex firstNames = new TrigramIndex();
+    private final TrigramIndex lastNames = new TrigramIndex();
+    private final SuggestionTrie names;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Set<Integer> changedWhileLoading;
+    private volatile boolean ready;
+
+    /**
+     * Creates a new instance of StudentSearchIndex.
+     * @param studentRepository    reference to the StudentRepository
+     * @param transactionManager   reference to the PlatformTransactionManager
+     * @param suggestionProperties reference to the SuggestionProperties
+     */
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository, PlatformTransactionManager transactionManager,
+                              SuggestionProperties suggestionProperties) {
+        this.studentRepository = studentRepository;
+        this.names = new SuggestionTrie(suggestionProperties.getMaxSize());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Starts loading the index on a thread of its own, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("student-search-index-");
+        threadFactory.setDaemon(true);
+        threadFactory.newThread(this::load).start();
+    }
+
+    /**
+     * Loads every student into the index. Students changed while loading keep the values given by their events.
+     */
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        write(() -> changedWhileLoading = new HashSet<>());
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<Object[]> rows = studentRepository.streamStudentNames()) {
+                    Iterator<Object[]> iterator = rows.iterator();
+                    List<Object[]> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+                    while (iterator.hasNext()) {
+                        batch.add(iterator.next());
+                        if (batch.size() == LOAD_BATCH_SIZE || !iterator.hasNext()) {
+                            write(() -> batch.stream()
+                                             .filter(row -> !changedWhileLoading.contains((Integer) row[0]))
+                                             .forEach(row -> put((Integer) row[0], (String) row[1], (String) row[2])));
+                            batch.clear();
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Student search index could not be loaded, searches will use the database", e);
+            write(() -> changedWhileLoading = null);
+            return;
+        }
+        write(() -> {
+            changedWhileLoading = null;
+            ready = true;
+        });
+        logger.info("Student search index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Updates the index after a student has been created, updated or deleted, or after several students have been
+     * deleted at once. Runs before the cache invalidation, so a search loaded once the mutation is recorded always
+     * reads the updated index.
+     * @param event the student event
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStudentEvent(StudentEvent event) {
+        write(() -> {
+            Student student = event.getStudent();
+            if (student == null) {
+                event.getStudentIds().forEach(this::remove);
+            } else {
+                put(event.getStudentId(), student.getFirstName(), student.getLastName());
+            }
+            if (changedWhileLoading != null) {
+                changedWhileLoading.addAll(event.getStudentIds());
+            }
+        });
+    }
+
+    /**
+     * Finds the ids of a page of students whose first name or last name contains the given text, ignoring case.
+     * The index only answers searches by exactly one of the names, without LIKE wildcards, once it is loaded.
+     * @param firstName the searched first name (optional)
+     * @param lastName  the searched last name (optional)
+     * @param afterId   the id after which the page starts
+     * @param limit     the maximum number of ids
+     * @return the sorted ids of the found students, or empty if the index cannot answer the search
+     */
+    public Optional<List<Integer>> findIds(String firstName, String lastName, int afterId, int limit) {
+        if (!ready || (firstName == null) == (lastName == null)) {
+            return Optional.empty();
+        }
+        String query = firstName != null ? firstName : lastName;
+        if (!TrigramIndex.supports(query)) {
+            return Optional.empty();
+        }
+        int[] matches;
+        lock.readLock().lock();
+        try {
+            matches = (firstName != null ? firstNames : lastNames).search(query, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(Arrays.stream(matches).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Finds the most frequent first and last names starting with the given prefix, ignoring case. Suggestions are
+     * answered from memory, and are empty until the index is loaded.
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, the most frequent first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(int id, String firstName, String lastName) {
+        remove(id);
+        firstNames.put(id, firstName);
+        lastNames.put(id, lastName);
+        names.add(firstName);
+        names.add(lastName);
+    }
+
+    private void remove(int id) {
+        names.remove(firstNames.get(id));
+        names.remove(lastNames.get(id));
+        firstNames.remove(id);
+        lastNames.remove(id);
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
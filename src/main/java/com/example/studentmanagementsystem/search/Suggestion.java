@@ -0,0 +1,37 @@
+package com.example.studentmanagementsystem.search;
+
+/**
+ * The Suggestion class.
+ * A value completing a typed prefix, with the number of items holding it.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+public class Suggestion {
+
+    private final String text;
+    private final int count;
+
+    /**
+     * Creates a new instance of Suggestion.
+     * @param text  the suggested value
+     * @param count the number of items holding the value
+     */
+    public Suggestion(String text, int count) {
+        this.text = text;
+        this.count = count;
+    }
+
+    /**
+     * @return the suggested value
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the number of items holding the value
+     */
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.studentmanagementsystem.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The SuggestionProperties class.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+@Component
+@ConfigurationProperties(prefix = "suggestion")
+public class SuggestionProperties {
+
+    private int maxSize = 10;
+
+    /**
+     * @return the maximum number of suggestions for a prefix, which is also the number kept for every node
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of suggestions for a prefix.
+     * @param maxSize the new maximum number of suggestions
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Finds the number of suggestions to return.
+     * @param size the requested number of suggestions (optional)
+     * @return the requested number, between one and the maximum, or the maximum if none is requested
+     */
+    public int size(Integer size) {
+        if (size == null) {
+            return maxSize;
+        }
+        return Math.max(1, Math.min(size, maxSize));
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.studentmanagementsystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The SuggestionTrie class.
+ * Compact prefix tree counting how many items hold every value, ignoring case. Chains of nodes with a single child
+ * are merged into one edge, and every node keeps the best suggestions of its subtree, the most frequent values first,
+ * so completing a prefix is a walk down the tree with no subtree scan. Updates recompute the best suggestions along
+ * the changed path only. Not thread safe.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class SuggestionTrie {
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::getCount)
+                                                                    .reversed()
+                                                                    .thenComparing(suggestion -> normalize(suggestion.getText()));
+
+    private final int capacity;
+    private final Node root = new Node(new char[0]);
+
+    /**
+     * Creates a new instance of SuggestionTrie.
+     * @param capacity the number of suggestions kept for every prefix
+     */
+    SuggestionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts one more item holding the value. Null and empty values are ignored.
+     * @param value the value
+     */
+    void add(String value) {
+        adjust(value, 1);
+    }
+
+    /**
+     * Counts one less item holding the value. Null and empty values are ignored.
+     * @param value the value
+     */
+    void remove(String value) {
+        adjust(value, -1);
+    }
+
+    /**
+     * Finds the most frequent values starting with the given prefix, ignoring case.
+     * @param prefix the typed prefix
+     * @param limit  the maximum number of suggestions
+     * @return the suggestions, the most frequent first
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int common = commonLength(child.label, key, offset);
+            if (offset + common < key.length() && common < child.label.length) {
+                return Collections.emptyList();
+            }
+            node = child;
+            offset += common;
+        }
+        return Arrays.asList(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    private void adjust(String value, int delta) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String key = normalize(value);
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node(key.substring(offset).toCharArray());
+                node.addChild(child);
+                offset = key.length();
+            } else {
+                int common = commonLength(child.label, key, offset);
+                if (common < child.label.length) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = node.split(child, common);
+                }
+                offset += common;
+            }
+            path.add(child);
+            node = child;
+        }
+        if (delta < 0 && node.count == 0) {
+            return;
+        }
+        if (node.count == 0) {
+            node.text = value;
+        }
+        node.count += delta;
+        if (node.count == 0) {
+            node.text = null;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.count == 0 && current.children.length == 0) {
+                path.get(i - 1).removeChild(current);
+                continue;
+            }
+            if (i > 0 && current.count == 0 && current.children.length == 1) {
+                current.absorbChild();
+            }
+            current.updateTop(capacity);
+        }
+    }
+
+    private static int commonLength(char[] label, String key, int offset) {
+        int length = 0;
+        while (length < label.length && offset + length < key.length() && label[length] == key.charAt(offset + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A node of the tree, reached through an edge labelled with one or more characters.
+     */
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        private String text;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            int index = -indexOf(child.label[0]) - 1;
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            updated[index] = child;
+            System.arraycopy(children, index, updated, index + 1, children.length - index);
+            children = updated;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label[0]);
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, index);
+            System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+            children = updated;
+        }
+
+        private Node split(Node child, int length) {
+            int index = indexOf(child.label[0]);
+            Node middle = new Node(Arrays.copyOf(child.label, length));
+            child.label = Arrays.copyOfRange(child.label, length, child.label.length);
+            middle.children = new Node[]{child};
+            middle.top = child.top;
+            children[index] = middle;
+            return middle;
+        }
+
+        private void absorbChild() {
+            Node child = children[0];
+            char[] merged = Arrays.copyOf(label, label.length + child.label.length);
+            System.arraycopy(child.label, 0, merged, label.length, child.label.length);
+            label = merged;
+            children = child.children;
+            count = child.count;
+            text = child.text;
+            top = child.top;
+        }
+
+        private void updateTop(int capacity) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(new Suggestion(text, count));
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(capacity, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label[0];
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.studentmanagementsystem.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The TrigramIndex class.
+ * Inverted index answering case insensitive contains queries over one text field. Every substring of up to three
+ * characters of a value maps to the sorted list of documents containing it, so a query of up to three characters is
+ * a single lookup, and a longer one intersects the lists of its trigrams, starting from the shortest, and checks the
+ * remaining candidates against the stored value. Not thread safe.
+ * @author Jorge Vasquez
+ * @since 1.8
+ */
+final class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+    private final Map<Integer, String> values = new HashMap<>();
+    private final IntPostingList documents = new IntPostingList();
+
+    /**
+     * Checks whether a query can be answered by the index, that is, it holds none of the LIKE wildcards, which
+     * the database would interpret.
+     * @param query the searched text
+     * @return true if the index can answer the query
+     */
+    static boolean supports(String query) {
+        return query.indexOf('%') < 0 && query.indexOf('_') < 0 && query.indexOf('\\') < 0;
+    }
+
+    /**
+     * Indexes the value of a document, replacing the previous one. Null values are not indexed.
+     * @param document the document number
+     * @param value    the value
+     */
+    void put(int document, String value) {
+        remove(document);
+        if (value == null) {
+            return;
+        }
+        String normalized = normalize(value);
+        values.put(document, normalized);
+        documents.add(document);
+        for (long gram : grams(normalized)) {
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(document);
+        }
+    }
+
+    /**
+     * @param document the document number
+     * @return the indexed value of the document, in lower case, or null if it is not indexed
+     */
+    String get(int document) {
+        return values.get(document);
+    }
+
+    /**
+     * Removes a document from the index.
+     * @param document the document number
+     */
+    void remove(int document) {
+        String previous = values.remove(document);
+        if (previous == null) {
+            return;
+        }
+        documents.remove(document);
+        for (long gram : grams(previous)) {
+            IntPostingList list = postings.get(gram);
+            list.remove(document);
+            if (list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Finds the documents whose value contains the query, ignoring case.
+     * @param query the searched text
+     * @return the sorted document numbers
+     */
+    int[] search(String query) {
+        return search(query, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the first documents after the given one whose value contains the query, ignoring case.
+     * @param query the searched text
+     * @param after the document after which the search starts
+     * @param limit the maximum number of documents
+     * @return the sorted document numbers
+     */
+    int[] search(String query, int after, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return range(documents, after, limit);
+        }
+        if (normalized.length() <= GRAM_LENGTH) {
+            IntPostingList list = postings.get(encode(normalized, 0, normalized.length()));
+            return list == null ? new int[0] : range(list, after, limit);
+        }
+        Set<Long> grams = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= normalized.length(); start++) {
+            grams.add(encode(normalized, start, GRAM_LENGTH));
+        }
+        IntPostingList[] lists = new IntPostingList[grams.size()];
+        int count = 0;
+        for (long gram : grams) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists[count++] = list;
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size(), second.size()));
+        IntPostingList shortest = lists[0];
+        int[] matches = new int[Math.min(limit, shortest.size())];
+        int found = 0;
+        for (int i = shortest.indexAfter(after); i < shortest.size() && found < matches.length; i++) {
+            int document = shortest.get(i);
+            if (inAll(lists, document) && values.get(document).contains(normalized)) {
+                matches[found++] = document;
+            }
+        }
+        return Arrays.copyOf(matches, found);
+    }
+
+    private static int[] range(IntPostingList list, int after, int limit) {
+        int from = list.indexAfter(after);
+        return list.copyOfRange(from, (int) Math.min((long) from + limit, list.size()));
+    }
+
+    private static boolean inAll(IntPostingList[] lists, int document) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> grams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int start = 0; start < value.length(); start++) {
+            for (int length = 1; length <= GRAM_LENGTH && start + length <= value.length(); length++) {
+                grams.add(encode(value, start, length));
+            }
+        }
+        return grams;
+    }
+
+    private static long encode(String value, int start, int length) {
+        long gram = length;
+        for (int i = 0; i < GRAM_LENGTH; i++) {
+            gram = (gram << 16) | (i < length ? value.charAt(start + i) : 0);
+        }
+        return gram;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
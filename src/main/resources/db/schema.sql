@@ -0,0 +1,32 @@
+-- Schema of the persistent storage mode, created on the first start and left untouched by the next ones, which only
+-- validate it against the entities
+CREATE SEQUENCE IF NOT EXISTS student_sequence START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS classroom (
+    code VARCHAR(255) NOT NULL PRIMARY KEY,
+    description VARCHAR(255),
+    title VARCHAR(255),
+    capacity INTEGER,
+    version BIGINT NOT NULL
+);
+
+ALTER TABLE classroom ADD COLUMN IF NOT EXISTS capacity INTEGER;
+
+CREATE TABLE IF NOT EXISTS student (
+    id INTEGER NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    version BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS student_classroom (
+    student_id INTEGER NOT NULL,
+    classroom_code VARCHAR(255) NOT NULL,
+    PRIMARY KEY (student_id, classroom_code)
+);
+
+ALTER TABLE student_classroom ADD CONSTRAINT IF NOT EXISTS fk_student_classroom_student
+    FOREIGN KEY (student_id) REFERENCES student (id);
+
+ALTER TABLE student_classroom ADD CONSTRAINT IF NOT EXISTS fk_student_classroom_classroom
+    FOREIGN KEY (classroom_code) REFERENCES classroom (code);
@@ -0,0 +1,83 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.bulkhead.Bulkhead;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = StudentManagementSystemApplication.class)
+@WebAppConfiguration
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BulkheadApiControllerTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    @Qualifier("classroomBulkhead")
+    private Bulkhead classroomBulkhead;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setupMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    public void testGetBulkheadStatistics() throws Exception {
+        mockMvc.perform(get("/bulkheads"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$[*].name", contains("classrooms", "students")))
+               .andExpect(jsonPath("$[*].queueCapacity", contains(100, 200)))
+               .andExpect(jsonPath("$[*].activeCount", everyItem(is(0))))
+               .andExpect(jsonPath("$[*].rejectedCount", everyItem(is(0))));
+    }
+
+    @Test
+    public void testGetBulkheadStatisticsWhenFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 104; i++) {
+                classroomBulkhead.submit(() -> {
+                    started.countDown();
+                    return release.await(1, TimeUnit.MINUTES);
+                });
+            }
+            started.await(1, TimeUnit.MINUTES);
+            mockMvc.perform(get("/classes/search"))
+                   .andExpect(status().isServiceUnavailable());
+            mockMvc.perform(get("/bulkheads"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$[0].name", is("classrooms")))
+                   .andExpect(jsonPath("$[0].poolSize", is(4)))
+                   .andExpect(jsonPath("$[0].activeCount", is(4)))
+                   .andExpect(jsonPath("$[0].queueSize", is(100)))
+                   .andExpect(jsonPath("$[0].rejectedCount", is(1)))
+                   .andExpect(jsonPath("$[1].name", is("students")))
+                   .andExpect(jsonPath("$[1].rejectedCount", is(0)));
+        } finally {
+            release.countDown();
+        }
+    }
+}
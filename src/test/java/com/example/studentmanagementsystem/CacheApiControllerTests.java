@@ -0,0 +1,91 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.model.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = StudentManagementSystemApplication.class)
+@WebAppConfiguration
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CacheApiControllerTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    private JacksonTester<Student> studentJacksonTester;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setupMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        JacksonTester.initFields(this, objectMapper);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    public void testGetCacheStatistics() throws Exception {
+        mockMvc.perform(get("/caches"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$[*].name", contains("classroomCache", "classroomStudentsCache",
+                                                         "studentCache", "studentClassroomsCache")))
+               .andExpect(jsonPath("$[*].size", everyItem(is(0))));
+    }
+
+    @Test
+    public void testGetCacheStatisticsAfterLookups() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/caches"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[2].name", is("studentCache")))
+               .andExpect(jsonPath("$[2].size", is(2)))
+               .andExpect(jsonPath("$[2].hitCount", is(2)))
+               .andExpect(jsonPath("$[2].missCount", is(2)))
+               .andExpect(jsonPath("$[2].loadSuccessCount", is(2)))
+               .andExpect(jsonPath("$[2].totalLoadTime", greaterThan(0)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = StudentManagementSystemApplication.class)
+@WebAppConfiguration
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ChangeApiControllerTests {
+
+    private static final String CHANGES_EXPIRED_REASON = "The requested changes are no longer available";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    private JacksonTester<Student> studentJacksonTester;
+    private JacksonTester<Classroom> classroomJacksonTester;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setupMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        JacksonTester.initFields(this, objectMapper);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private void createStudent(String firstName) throws Exception {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+    }
+
+    private void createClassroom(String code) throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode(code);
+        classroom.setTitle("Programacion");
+        classroom.setDescription("Programacion");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetChanges() throws Exception {
+        createStudent("Jorge");
+        createClassroom("INF-102");
+        Student student = new Student();
+        student.setId(1);
+        student.setFirstName("Pedro");
+        student.setLastName("Vasquez");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(delete("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(delete("/classes?code=INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/changes?since=0"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.changes[*].sequence", contains(1, 2, 3, 4, 5, 6)))
+               .andExpect(jsonPath("$.changes[*].type", contains("STUDENT_CREATED", "CLASSROOM_CREATED",
+                                                                 "STUDENT_UPDATED", "STUDENT_ASSIGNED",
+                                                                 "STUDENT_REMOVED", "CLASSROOM_DELETED")))
+               .andExpect(jsonPath("$.changes[0].studentIds", contains(1)))
+               .andExpect(jsonPath("$.changes[0].classroomCodes").doesNotExist())
+               .andExpect(jsonPath("$.changes[3].studentIds", contains(1)))
+               .andExpect(jsonPath("$.changes[3].classroomCodes", contains("INF-102")))
+               .andExpect(jsonPath("$.lastSequence", is(6)));
+        performAsync(get("/changes?since=4"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.changes[*].type", contains("STUDENT_REMOVED", "CLASSROOM_DELETED")))
+               .andExpect(jsonPath("$.lastSequence", is(6)));
+    }
+
+    @Test
+    public void testWaitForChanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/changes?since=0"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        createStudent("Jorge");
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.changes[*].type", contains("STUDENT_CREATED")))
+               .andExpect(jsonPath("$.changes[0].studentIds", contains(1)))
+               .andExpect(jsonPath("$.lastSequence", is(1)));
+    }
+
+    @Test
+    public void testGetExpiredChanges() throws Exception {
+        mockMvc.perform(get("/changes?since=3"))
+               .andExpect(status().isGone())
+               .andExpect(status().reason(CHANGES_EXPIRED_REASON));
+        mockMvc.perform(get("/changes/stream").header("Last-Event-ID", "3"))
+               .andExpect(status().isGone())
+               .andExpect(status().reason(CHANGES_EXPIRED_REASON));
+    }
+
+    @Test
+    public void testStreamChanges() throws Exception {
+        createStudent("Jorge");
+        MvcResult result = mockMvc.perform(get("/changes/stream?since=0"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        createClassroom("INF-102");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!result.getResponse().getContentAsString().contains("id:2") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = result.getResponse().getContentAsString();
+        assertThat(events, containsString("id:1\ndata:{\"sequence\":1,\"type\":\"STUDENT_CREATED\""));
+        assertThat(events, containsString("id:2\ndata:{\"sequence\":2,\"type\":\"CLASSROOM_CREATED\""));
+    }
+
+    @Test
+    public void testResumeStreamFromLastEventId() throws Exception {
+        createStudent("Jorge");
+        createStudent("Pedro");
+        MvcResult result = mockMvc.perform(get("/changes/stream?since=0").header("Last-Event-ID", "1"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        createClassroom("INF-102");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!result.getResponse().getContentAsString().contains("id:3") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String events = result.getResponse().getContentAsString();
+        assertThat(events, not(containsString("id:1\n")));
+        assertThat(events, containsString("id:2\ndata:{\"sequence\":2,\"type\":\"STUDENT_CREATED\""));
+        assertThat(events, containsString("id:3\ndata:{\"sequence\":3,\"type\":\"CLASSROOM_CREATED\""));
+    }
+}
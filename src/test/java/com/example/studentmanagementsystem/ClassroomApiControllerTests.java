@@ -2,7 +2,11 @@ package com.example.studentmanagementsystem;
 
 import com.example.studentmanagementsystem.model.Classroom;
 import com.example.studentmanagementsystem.model.Student;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -13,11 +17,27 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import javax.persistence.EntityManagerFactory;
+
+import static com.example.studentmanagementsystem.encoding.EncodingConfiguration.APPLICATION_CBOR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LINK;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,10 +50,16 @@ public class ClassroomApiControllerTests {
 
     private static final String CLASSROOM_NOT_FOUND_REASON = "The classroom was not found in the system";
     private static final String DELETE_ERROR_REASON = "There is no item to delete";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String INVALID_FIELDS_REASON = "The requested fields are invalid";
+    private static final String PRECONDITION_FAILED_REASON = "The item has been modified by another request";
 
     @Autowired
     private WebApplicationContext context;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private ObjectMapper objectMapper;
     private JacksonTester<Student> studentJacksonTester;
@@ -47,6 +73,13 @@ public class ClassroomApiControllerTests {
         JacksonTester.initFields(this, objectMapper);
     }
 
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     public void testCreateClassroom() throws Exception {
         Classroom classroom = new Classroom();
@@ -102,7 +135,7 @@ public class ClassroomApiControllerTests {
         mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
                                         .content(classroomJacksonTester.write(classroom2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/search"))
+        performAsync(get("/classes/search"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -114,6 +147,61 @@ public class ClassroomApiControllerTests {
                .andExpect(jsonPath("$[1].description", is("Programacion2")));
     }
 
+    @Test
+    public void testGetClassroomsWithFields() throws Exception {
+        Classroom classroom1 = new Classroom();
+        classroom1.setCode("INF-102");
+        classroom1.setTitle("ProgramacionI");
+        classroom1.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom1).getJson()))
+               .andExpect(status().isOk());
+        Classroom classroom2 = new Classroom();
+        classroom2.setCode("INF-103");
+        classroom2.setTitle("ProgramacionII");
+        classroom2.setDescription("Programacion2");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom2).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/search?fields=code,title"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$", hasSize(2)))
+               .andExpect(jsonPath("$[0].code", is("INF-102")))
+               .andExpect(jsonPath("$[0].title", is("ProgramacionI")))
+               .andExpect(jsonPath("$[0].description").doesNotExist())
+               .andExpect(jsonPath("$[1].code", is("INF-103")))
+               .andExpect(jsonPath("$[1].description").doesNotExist());
+        mockMvc.perform(get("/classes?code=INF-103&fields=description"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.code").doesNotExist())
+               .andExpect(jsonPath("$.title").doesNotExist())
+               .andExpect(jsonPath("$.description", is("Programacion2")));
+        performAsync(get("/classes/search?fields=code,students"))
+               .andExpect(status().isBadRequest())
+               .andExpect(status().reason(INVALID_FIELDS_REASON));
+    }
+
+    @Test
+    public void testGetClassroomsAsCbor() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        byte[] body = performAsync(get("/classes/search?fields=code,title").accept(APPLICATION_CBOR))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType(APPLICATION_CBOR))
+                             .andReturn().getResponse().getContentAsByteArray();
+        JsonNode classrooms = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(classrooms.size(), is(1));
+        assertThat(classrooms.get(0).get("code").asText(), is("INF-102"));
+        assertThat(classrooms.get(0).get("title").asText(), is("ProgramacionI"));
+        assertThat(classrooms.get(0).has("description"), is(false));
+    }
+
     @Test
     public void testGetClassroomsByTitle() throws Exception {
         Classroom classroom1 = new Classroom();
@@ -130,7 +218,7 @@ public class ClassroomApiControllerTests {
         mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
                                         .content(classroomJacksonTester.write(classroom2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/search?title=programacioni"))
+        performAsync(get("/classes/search?title=programacioni"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -158,7 +246,7 @@ public class ClassroomApiControllerTests {
         mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
                                         .content(classroomJacksonTester.write(classroom2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/search?description=programacion1"))
+        performAsync(get("/classes/search?description=programacion1"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(1)))
@@ -183,7 +271,7 @@ public class ClassroomApiControllerTests {
         mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
                                         .content(classroomJacksonTester.write(classroom2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/search?title=programacioni&description=programacion1"))
+        performAsync(get("/classes/search?title=programacioni&description=programacion1"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(1)))
@@ -217,7 +305,7 @@ public class ClassroomApiControllerTests {
                .andExpect(status().isOk());
         mockMvc.perform(post("/students/2/class/INF-102"))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/students?code=INF-102"))
+        performAsync(get("/classes/students?code=INF-102"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -231,6 +319,134 @@ public class ClassroomApiControllerTests {
                .andExpect(jsonPath("$[1].classrooms", hasSize(1)));
     }
 
+    @Test
+    public void testGetClassroomStudentsInFixedNumberOfStatements() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student();
+            student.setFirstName("Jorge" + i);
+            student.setLastName("Vasquez" + i);
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        for (String code : new String[]{"INF-102", "INF-103"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+            performAsync(post("/classes/" + code + "/students").contentType(APPLICATION_JSON_UTF8)
+                                                               .content("[1, 2, 3, 4, 5]"))
+                   .andExpect(status().isOk());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(5)))
+               .andExpect(jsonPath("$[0].id", is(1)))
+               .andExpect(jsonPath("$[4].id", is(5)))
+               .andExpect(jsonPath("$[4].classrooms", hasSize(2)));
+        assertThat(statistics.getPrepareStatementCount(), is(2L));
+    }
+
+    @Test
+    public void testGetClassroomNotModified() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"0\""));
+        mockMvc.perform(get("/classes?code=INF-102").header(IF_NONE_MATCH, "\"0\""))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        String tag = performAsync(get("/classes/students?code=INF-102"))
+                            .andExpect(status().isOk())
+                            .andExpect(header().string(ETAG, notNullValue()))
+                            .andReturn().getResponse().getHeader(ETAG);
+        performAsync(get("/classes/students?code=INF-102").header(IF_NONE_MATCH, tag))
+               .andExpect(status().isNotModified());
+        classroom.setTitle("ProgramacionII");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .header(IF_MATCH, "\"0\"")
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"1\""));
+        performAsync(get("/classes/students?code=INF-102").header(IF_NONE_MATCH, tag))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].classrooms[0].title", is("ProgramacionII")));
+        performAsync(get("/classes/search?title=Programacion").header(IF_NONE_MATCH, "\"0\""))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, notNullValue()));
+    }
+
+    @Test
+    public void testUpdateClassroomWithIfMatch() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        classroom.setTitle("ProgramacionII");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .header(IF_MATCH, "\"0\"")
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"1\""))
+               .andExpect(jsonPath("$.title", is("ProgramacionII")));
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"1\""))
+               .andExpect(jsonPath("$.title", is("ProgramacionII")));
+        performAsync(get("/classes/search?title=programacionii"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-102")));
+        classroom.setCode("INF-103");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .header(IF_MATCH, "\"0\"")
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(status().reason(PRECONDITION_FAILED_REASON));
+    }
+
+    @Test
+    public void testUpdateClassroomWithStaleIfMatch() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        classroom.setTitle("ProgramacionII");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .header(IF_MATCH, "\"1\"")
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(status().reason(PRECONDITION_FAILED_REASON));
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.title", is("ProgramacionI")));
+    }
+
     @Test
     public void testGetNullClassroomStudents() throws Exception {
         Student student1 = new Student();
@@ -245,7 +461,7 @@ public class ClassroomApiControllerTests {
         mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
                                          .content(studentJacksonTester.write(student2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/classes/students?code=INF-102"))
+        performAsync(get("/classes/students?code=INF-102"))
                .andExpect(status().isNotFound())
                .andExpect(status().reason(CLASSROOM_NOT_FOUND_REASON));
     }
@@ -300,4 +516,342 @@ public class ClassroomApiControllerTests {
                .andExpect(status().isNoContent())
                .andExpect(status().reason(DELETE_ERROR_REASON));
     }
+
+    @Test
+    public void testGetClassroomsAfterUpdateClassroom() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/search?title=programacion"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        performAsync(get("/classes/search?title=calculo"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        classroom.setTitle("CalculoI");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/search?title=programacion"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(get("/classes/search?title=calculo"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].title", is("CalculoI")));
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.title", is("CalculoI")));
+    }
+
+    @Test
+    public void testGetClassroomStudentsAfterUpdateClassroom() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].classrooms[0].title", is("ProgramacionI")));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.classrooms[0].title", is("ProgramacionI")));
+        classroom.setTitle("CalculoI");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].classrooms[0].title", is("CalculoI")));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.classrooms[0].title", is("CalculoI")));
+    }
+
+    @Test
+    public void testGetClassroomsByPage() throws Exception {
+        for (String code : new String[]{"INF-103", "INF-101", "INF-102"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        String link = performAsync(get("/classes/search?size=2"))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                             .andExpect(header().string(LINK, endsWith("; rel=\"next\"")))
+                             .andExpect(jsonPath("$", hasSize(2)))
+                             .andExpect(jsonPath("$[0].code", is("INF-101")))
+                             .andExpect(jsonPath("$[1].code", is("INF-102")))
+                             .andReturn().getResponse().getHeader(LINK);
+        assertThat(link, startsWith("<?size=2&after="));
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        performAsync(get("/classes/search" + next))
+               .andExpect(status().isOk())
+               .andExpect(header().doesNotExist(LINK))
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].code", is("INF-103")));
+    }
+
+    @Test
+    public void testExportClassrooms() throws Exception {
+        for (String code : new String[]{"INF-103", "INF-102"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        MvcResult result = mockMvc.perform(get("/classes/export"))
+                                  .andExpect(status().isOk())
+                                  .andExpect(request().asyncStarted())
+                                  .andExpect(content().contentType(APPLICATION_NDJSON))
+                                  .andReturn();
+        result.getAsyncResult();
+        assertThat(result.getResponse().getContentAsString(),
+                   is("{\"code\":\"INF-102\",\"title\":\"Programacion\",\"description\":\"Programacion\"}\n"
+                           + "{\"code\":\"INF-103\",\"title\":\"Programacion\",\"description\":\"Programacion\"}\n"));
+    }
+
+    @Test
+    public void testImportClassrooms() throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("Programacion");
+        classroom.setDescription("Programacion");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(post("/classes/bulk").contentType(APPLICATION_JSON_UTF8)
+                                          .content("[{\"code\":\"INF-102\",\"title\":\"Duplicada\"},"
+                                                   + "{\"code\":\"INF-103\",\"title\":\"Algoritmos\"},"
+                                                   + "{\"code\":\"INF-103\",\"title\":\"Duplicada\"},"
+                                                   + "{\"title\":\"Sin codigo\"}]"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.total", is(4)))
+               .andExpect(jsonPath("$.created", is(1)))
+               .andExpect(jsonPath("$.failed", is(3)))
+               .andExpect(jsonPath("$.rows[0].status", is("FAILED")))
+               .andExpect(jsonPath("$.rows[0].id", is("INF-102")))
+               .andExpect(jsonPath("$.rows[1].status", is("CREATED")))
+               .andExpect(jsonPath("$.rows[1].id", is("INF-103")))
+               .andExpect(jsonPath("$.rows[2].status", is("FAILED")))
+               .andExpect(jsonPath("$.rows[3].status", is("FAILED")))
+               .andExpect(jsonPath("$.rows[3].message", notNullValue()));
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.title", is("Programacion")));
+        mockMvc.perform(get("/classes?code=INF-103"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.title", is("Algoritmos")));
+    }
+
+    @Test
+    public void testEnrollStudents() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria", "Jose"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("Programacion");
+        classroom.setDescription("Programacion");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        performAsync(get("/students/classes?id=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(post("/classes/INF-102/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1, 2, 3, 2, 99]"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.classroomCode", is("INF-102")))
+               .andExpect(jsonPath("$.enrolled", contains(2, 3)))
+               .andExpect(jsonPath("$.alreadyEnrolled", contains(1)))
+               .andExpect(jsonPath("$.notFound", contains(99)));
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(3)));
+        performAsync(get("/students/classes?id=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].code", is("INF-102")));
+    }
+
+    @Test
+    public void testEnrollStudentsInNullClassroom() throws Exception {
+        performAsync(post("/classes/INF-102/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1]"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(CLASSROOM_NOT_FOUND_REASON));
+    }
+
+    @Test
+    public void testDeleteClassrooms() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        for (String code : new String[]{"INF-102", "INF-103", "MAT-101"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Primer semestre");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        performAsync(post("/classes/INF-102/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1, 2]"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/MAT-101"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(2)));
+        performAsync(delete("/classes/bulk").contentType(APPLICATION_JSON_UTF8)
+                                            .content("[\"INF-102\", \"INF-103\", \"QUI-100\"]"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.deleted", contains("INF-102", "INF-103")))
+               .andExpect(jsonPath("$.notFound", contains("QUI-100")));
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(CLASSROOM_NOT_FOUND_REASON));
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("MAT-101")));
+        performAsync(get("/students/classes?id=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(get("/classes/search?description=semestre"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("MAT-101")));
+    }
+
+    @Test
+    public void testGetClassroomsByCodes() throws Exception {
+        for (String code : new String[]{"INF-102", "INF-103"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        performAsync(get("/classes/batch?codes=INF-103,QUI-100,INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.found[*].code", contains("INF-103", "INF-102")))
+               .andExpect(jsonPath("$.found[1].title", is("Programacion")))
+               .andExpect(jsonPath("$.notFound", contains("QUI-100")));
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("Programacion I");
+        classroom.setDescription("Programacion");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/classes?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.title", is("Programacion I")));
+        performAsync(get("/classes/batch?codes=INF-102,INF-103"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.found[*].title", contains("Programacion I", "Programacion")));
+    }
+
+    @Test
+    public void testGetClassroomsByTitlePart() throws Exception {
+        String[][] classrooms = {{"INF-103", "Programacion II"}, {"INF-102", "Programacion I"}, {"MAT-101", "Calculo"}};
+        for (String[] values : classrooms) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(values[0]);
+            classroom.setTitle(values[1]);
+            classroom.setDescription("Primer semestre");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        performAsync(get("/classes/search?title=GRAMA&size=1"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(LINK, endsWith("; rel=\"next\"")))
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].code", is("INF-102")));
+        performAsync(get("/classes/search?title=c"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-102", "INF-103", "MAT-101")));
+        mockMvc.perform(delete("/classes?code=INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/search?description=semestre"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-103", "MAT-101")));
+    }
+
+    @Test
+    public void testSuggestTitles() throws Exception {
+        String[][] classrooms = {{"INF-102", "Programacion"}, {"INF-103", "Programacion"}, {"MAT-102", "Probabilidad"}};
+        for (String[] values : classrooms) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(values[0]);
+            classroom.setTitle(values[1]);
+            classroom.setDescription(values[1]);
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/classes/suggest?prefix=pro"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$[*].text", contains("Programacion", "Probabilidad")))
+               .andExpect(jsonPath("$[*].count", contains(2, 1)));
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-103");
+        classroom.setTitle("Algoritmos");
+        classroom.setDescription("Algoritmos");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/classes/suggest?prefix=pro&size=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].text", contains("Probabilidad")));
+        mockMvc.perform(get("/classes/suggest?prefix=AL"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].text", contains("Algoritmos")));
+    }
 }
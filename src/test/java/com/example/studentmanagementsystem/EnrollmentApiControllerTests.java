@@ -0,0 +1,405 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.enrollment.EnrollmentQueue;
+import com.example.studentmanagementsystem.enrollment.EnrollmentQueueProperties;
+import com.example.studentmanagementsystem.model.Classroom;
+import com.example.studentmanagementsystem.model.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = StudentManagementSystemApplication.class,
+                properties = {"enrollment.queue.capacity=3", "enrollment.queue.flush-interval=3600000"})
+@WebAppConfiguration
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class EnrollmentApiControllerTests {
+
+    private static final String STUDENT_NOT_FOUND_REASON = "The student was not found in the system";
+    private static final String CLASSROOM_NOT_FOUND_REASON = "The classroom was not found in the system";
+    private static final String CLASSROOM_FULL_REASON = "The classroom is full";
+    private static final String SERVICE_UNAVAILABLE_REASON = "The server is too busy to handle the request";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EnrollmentQueue enrollmentQueue;
+
+    @Autowired
+    private EnrollmentQueueProperties enrollmentQueueProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    private JacksonTester<Student> studentJacksonTester;
+    private JacksonTester<Classroom> classroomJacksonTester;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setupMockMvc() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        JacksonTester.initFields(this, objectMapper);
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        for (String code : new String[]{"INF-102", "INF-103", "INF-104", "INF-105"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private void awaitStudentCount(String classroomCode, int studentCount) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            String statistics = mockMvc.perform(get("/enrollments/classes?code=" + classroomCode))
+                                       .andReturn().getResponse().getContentAsString();
+            if (JsonPath.<Integer>read(statistics, "$.studentCount") == studentCount) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testQueueEnrollments() throws Exception {
+        enrollmentQueueProperties.setEnabled(true);
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isAccepted());
+        mockMvc.perform(post("/students/1/class/INF-103"))
+               .andExpect(status().isAccepted());
+        mockMvc.perform(delete("/students/1/class/INF-103"))
+               .andExpect(status().isAccepted());
+        mockMvc.perform(get("/enrollments/queue"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.enabled", is(true)))
+               .andExpect(jsonPath("$.pendingCount", is(2)))
+               .andExpect(jsonPath("$.pendingAssignedCount", is(1)))
+               .andExpect(jsonPath("$.pendingRemovedCount", is(1)))
+               .andExpect(jsonPath("$.enqueuedCount", is(2)))
+               .andExpect(jsonPath("$.coalescedCount", is(1)));
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        enrollmentQueue.flush();
+        mockMvc.perform(get("/enrollments/queue"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.pendingCount", is(0)))
+               .andExpect(jsonPath("$.oldestPendingAge", is(0)))
+               .andExpect(jsonPath("$.writtenCount", is(1)))
+               .andExpect(jsonPath("$.skippedCount", is(1)))
+               .andExpect(jsonPath("$.flushCount", is(1)));
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-102")));
+        mockMvc.perform(delete("/students/1/class/INF-102"))
+               .andExpect(status().isAccepted());
+        enrollmentQueue.flush();
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    public void testQueueEnrollmentOfNullStudent() throws Exception {
+        enrollmentQueueProperties.setEnabled(true);
+        mockMvc.perform(post("/students/2/class/INF-102"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
+        mockMvc.perform(get("/enrollments/queue"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.pendingCount", is(0)));
+    }
+
+    @Test
+    public void testQueueEnrollmentWhenFull() throws Exception {
+        enrollmentQueueProperties.setEnabled(true);
+        for (String code : new String[]{"INF-102", "INF-103", "INF-104"}) {
+            mockMvc.perform(post("/students/1/class/" + code))
+                   .andExpect(status().isAccepted());
+        }
+        mockMvc.perform(post("/students/1/class/INF-105"))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(status().reason(SERVICE_UNAVAILABLE_REASON));
+        mockMvc.perform(delete("/students/1/class/INF-104"))
+               .andExpect(status().isAccepted());
+        mockMvc.perform(get("/enrollments/queue"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.pendingCount", is(3)))
+               .andExpect(jsonPath("$.capacity", is(3)))
+               .andExpect(jsonPath("$.rejectedCount", is(1)));
+    }
+
+    @Test
+    public void testFlushEnrollmentsOnShutdown() throws Exception {
+        enrollmentQueueProperties.setEnabled(true);
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isAccepted());
+        enrollmentQueue.close();
+        mockMvc.perform(post("/students/1/class/INF-103"))
+               .andExpect(status().isServiceUnavailable());
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-102")));
+    }
+
+    @Test
+    public void testGetEnrollmentStatistics() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Maria");
+        student.setLastName("Lopez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-103"))
+               .andExpect(status().isOk());
+        performAsync(post("/classes/INF-103/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1, 2]"))
+               .andExpect(status().isOk());
+        mockMvc.perform(delete("/students/1/class/INF-104"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/enrollments/classes?code=INF-103"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.code", is("INF-103")))
+               .andExpect(jsonPath("$.studentCount", is(2)))
+               .andExpect(jsonPath("$.recentGrowth", is(2)));
+        mockMvc.perform(get("/enrollments/classes?code=INF-104"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.studentCount", is(0)));
+        mockMvc.perform(get("/enrollments/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.studentId", is(1)))
+               .andExpect(jsonPath("$.classroomCount", is(2)));
+        mockMvc.perform(get("/enrollments/classes/largest?size=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-103", "INF-102")))
+               .andExpect(jsonPath("$[*].studentCount", contains(2, 1)));
+        mockMvc.perform(get("/enrollments/classes/growing"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-103", "INF-102")));
+    }
+
+    @Test
+    public void testGetEnrollmentStatisticsAfterStudentChanges() throws Exception {
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-103"))
+               .andExpect(status().isOk());
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content("{\"id\":1,\"firstName\":\"Jose\",\"lastName\":\"Perez\","
+                                                 + "\"classrooms\":[{\"code\":\"INF-103\"},{\"code\":\"INF-104\"}]}"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/enrollments/classes/largest"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-103", "INF-104", "INF-102", "INF-105")))
+               .andExpect(jsonPath("$[*].studentCount", contains(1, 1, 0, 0)));
+        mockMvc.perform(delete("/students?id=1"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/enrollments/classes/largest"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].studentCount", everyItem(is(0))));
+        mockMvc.perform(get("/enrollments/students?id=1"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
+    }
+
+    @Test
+    public void testGetEnrollmentStatisticsOfNullClassroom() throws Exception {
+        mockMvc.perform(get("/enrollments/classes?code=INF-101"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(CLASSROOM_NOT_FOUND_REASON));
+        mockMvc.perform(get("/enrollments/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.classroomCount", is(0)));
+    }
+
+    private void createClassroom(String code, int capacity) throws Exception {
+        Classroom classroom = new Classroom();
+        classroom.setCode(code);
+        classroom.setTitle("Algoritmos");
+        classroom.setDescription("Algoritmos");
+        classroom.setCapacity(capacity);
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.capacity", is(capacity)));
+    }
+
+    @Test
+    public void testWaitlistStudentsOfFullClassroom() throws Exception {
+        createClassroom("INF-201", 1);
+        Student student = new Student();
+        student.setFirstName("Maria");
+        student.setLastName("Lopez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-201"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/2/class/INF-201"))
+               .andExpect(status().isConflict())
+               .andExpect(status().reason(CLASSROOM_FULL_REASON));
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.code", is("INF-201")))
+               .andExpect(jsonPath("$.capacity", is(1)))
+               .andExpect(jsonPath("$.reservedCount", is(1)))
+               .andExpect(jsonPath("$.availableCount", is(0)))
+               .andExpect(jsonPath("$.waitlistedCount", is(1)));
+        mockMvc.perform(delete("/students/1/class/INF-201"))
+               .andExpect(status().isOk());
+        awaitStudentCount("INF-201", 1);
+        performAsync(get("/students/classes?id=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-201")));
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.reservedCount", is(1)))
+               .andExpect(jsonPath("$.waitlistedCount", is(0)));
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content("{\"id\":1,\"firstName\":\"Jorge\",\"lastName\":\"Vasquez\","
+                                                 + "\"classrooms\":[{\"code\":\"INF-102\"},{\"code\":\"INF-201\"}]}"))
+               .andExpect(status().isConflict())
+               .andExpect(status().reason(CLASSROOM_FULL_REASON));
+        performAsync(post("/classes/INF-201/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1, 2]"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.enrolled", empty()))
+               .andExpect(jsonPath("$.alreadyEnrolled", contains(2)))
+               .andExpect(jsonPath("$.waitlisted", contains(1)));
+        mockMvc.perform(delete("/students/1/class/INF-201"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.waitlistedCount", is(0)));
+        mockMvc.perform(post("/students/1/class/INF-201"))
+               .andExpect(status().isConflict());
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content("{\"code\":\"INF-201\",\"title\":\"Algoritmos\","
+                                                + "\"description\":\"Algoritmos\",\"capacity\":2}"))
+               .andExpect(status().isOk());
+        awaitStudentCount("INF-201", 2);
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].code", contains("INF-201")));
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.capacity", is(2)))
+               .andExpect(jsonPath("$.reservedCount", is(2)))
+               .andExpect(jsonPath("$.availableCount", is(0)))
+               .andExpect(jsonPath("$.waitlistedCount", is(0)));
+        mockMvc.perform(get("/enrollments/seats?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.capacity", nullValue()))
+               .andExpect(jsonPath("$.availableCount", nullValue()));
+        mockMvc.perform(get("/enrollments/seats?code=INF-101"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(CLASSROOM_NOT_FOUND_REASON));
+    }
+
+    @Test
+    public void testReserveSeatsConcurrently() throws Exception {
+        int capacity = 5;
+        int studentCount = 40;
+        createClassroom("INF-201", capacity);
+        for (int i = 0; i < studentCount - 1; i++) {
+            Student student = new Student();
+            student.setFirstName("Maria");
+            student.setLastName("Lopez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+        List<Future<?>> requests = new ArrayList<>();
+        for (int id = 1; id <= studentCount; id++) {
+            int studentId = id;
+            requests.add(executor.submit(() -> {
+                start.await();
+                statuses.put(studentId, mockMvc.perform(post("/students/" + studentId + "/class/INF-201"))
+                                               .andReturn().getResponse().getStatus());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> request : requests) {
+            request.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        assertEquals(capacity, statuses.values().stream().filter(status -> status == 200).count());
+        assertEquals(studentCount - capacity, statuses.values().stream().filter(status -> status == 409).count());
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.reservedCount", is(capacity)))
+               .andExpect(jsonPath("$.availableCount", is(0)))
+               .andExpect(jsonPath("$.waitlistedCount", is(studentCount - capacity)));
+        performAsync(get("/classes/students?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(capacity)));
+        int enrolledId = statuses.entrySet().stream().filter(entry -> entry.getValue() == 200).findFirst().get().getKey();
+        mockMvc.perform(delete("/students/" + enrolledId + "/class/INF-201"))
+               .andExpect(status().isOk());
+        awaitStudentCount("INF-201", capacity);
+        mockMvc.perform(get("/enrollments/seats?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.reservedCount", is(capacity)))
+               .andExpect(jsonPath("$.waitlistedCount", is(studentCount - capacity - 1)));
+        mockMvc.perform(get("/enrollments/classes?code=INF-201"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.studentCount", is(capacity)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.studentmanagementsystem;
+
+import com.example.studentmanagementsystem.model.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = StudentManagementSystemApplication.class)
+@WebAppConfiguration
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MetricsApiControllerTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    private JacksonTester<Student> studentJacksonTester;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setupMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        JacksonTester.initFields(this, objectMapper);
+    }
+
+    @Test
+    public void testGetMetrics() throws Exception {
+        mockMvc.perform(get("/metrics"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.handlers", empty()))
+               .andExpect(jsonPath("$.caches[*].name", contains("classroomCache", "classroomStudentsCache",
+                                                                "studentCache", "studentClassroomsCache")))
+               .andExpect(jsonPath("$.hibernate.enabled", is(true)))
+               .andExpect(jsonPath("$.hibernate.requestCount", is(0)));
+    }
+
+    @Test
+    public void testGetMetricsAfterRequests() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk());
+        MvcResult search = mockMvc.perform(get("/students/search?firstName=jorge"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        mockMvc.perform(asyncDispatch(search))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/metrics"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.handlers[*].name", contains("StudentApiController.createStudent",
+                                                                  "StudentApiController.getStudentById",
+                                                                  "StudentApiController.getStudents")))
+               .andExpect(jsonPath("$.handlers[1].count", is(2)))
+               .andExpect(jsonPath("$.handlers[1].max", greaterThan(0)))
+               .andExpect(jsonPath("$.handlers[2].count", is(1)))
+               .andExpect(jsonPath("$.queries[*].name", hasItems("StudentRepository.save",
+                                                                 "StudentRepository.findStudentById")))
+               .andExpect(jsonPath("$.queries[?(@.name == 'StudentRepository.findStudentById')].count",
+                                   contains(1)))
+               .andExpect(jsonPath("$.caches[2].hitCount", is(1)))
+               .andExpect(jsonPath("$.hibernate.requestCount", is(4)))
+               .andExpect(jsonPath("$.hibernate.prepareStatementCount", greaterThan(0)))
+               .andExpect(jsonPath("$.hibernate.statementsPerRequest", greaterThan(0.0)));
+    }
+}
@@ -1,22 +1,51 @@
 package com.example.studentmanagementsystem;
 
+import com.example.studentmanagementsystem.bulkhead.Bulkhead;
+import com.example.studentmanagementsystem.bulkhead.BulkheadProperties;
 import com.example.studentmanagementsystem.model.Classroom;
 import com.example.studentmanagementsystem.model.Student;
+import com.example.studentmanagementsystem.projection.FieldSelection;
+import com.example.studentmanagementsystem.search.StudentSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.studentmanagementsystem.encoding.EncodingConfiguration.APPLICATION_SMILE;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LINK;
+import static org.springframework.http.HttpHeaders.VARY;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,10 +59,29 @@ public class StudentApiControllerTests {
     private static final String STUDENT_NOT_FOUND_REASON = "The student was not found in the system";
     private static final String CLASSROOM_NOT_FOUND_REASON = "The classroom was not found in the system";
     private static final String DELETE_ERROR_REASON = "There is no item to delete";
+    private static final String INVALID_CURSOR_REASON = "The cursor is invalid";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String MALFORMED_BODY_REASON = "The request body is malformed";
+    private static final String INVALID_FIELDS_REASON = "The requested fields are invalid";
+    private static final String PRECONDITION_FAILED_REASON = "The item has been modified by another request";
+    private static final String SERVICE_UNAVAILABLE_REASON = "The server is too busy to handle the request";
 
     @Autowired
     private WebApplicationContext context;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("studentBulkhead")
+    private Bulkhead studentBulkhead;
+
+    @Autowired
+    private BulkheadProperties bulkheadProperties;
+
+    @Autowired
+    private StudentSearchIndex studentSearchIndex;
+
     @Autowired
     private ObjectMapper objectMapper;
     private JacksonTester<Student> studentJacksonTester;
@@ -47,6 +95,22 @@ public class StudentApiControllerTests {
         JacksonTester.initFields(this, objectMapper);
     }
 
+    private int countClassrooms(int studentId) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(Student.class, studentId).getClassrooms().size();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     public void testCreateStudent() throws Exception {
         Student student = new Student();
@@ -220,6 +284,81 @@ public class StudentApiControllerTests {
                .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
     }
 
+    @Test
+    public void testGetStudentByIdWithFields() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1&fields=id,lastName"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.id", is(1)))
+               .andExpect(jsonPath("$.firstName").doesNotExist())
+               .andExpect(jsonPath("$.lastName", is("Vasquez")))
+               .andExpect(jsonPath("$.classrooms").doesNotExist());
+        mockMvc.perform(get("/students?id=1&fields=firstName,classrooms"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.id").doesNotExist())
+               .andExpect(jsonPath("$.firstName", is("Jorge")))
+               .andExpect(jsonPath("$.classrooms", empty()));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.id", is(1)))
+               .andExpect(jsonPath("$.firstName", is("Jorge")))
+               .andExpect(jsonPath("$.lastName", is("Vasquez")))
+               .andExpect(jsonPath("$.classrooms", empty()));
+    }
+
+    @Test
+    public void testGetNullStudentByIdWithFields() throws Exception {
+        mockMvc.perform(get("/students?id=1&fields=id"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
+    }
+
+    @Test
+    public void testGetStudentsWithFields() throws Exception {
+        Student student1 = new Student();
+        student1.setFirstName("Jorge");
+        student1.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student1).getJson()))
+               .andExpect(status().isOk());
+        Student student2 = new Student();
+        student2.setFirstName("Maria");
+        student2.setLastName("Lopez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student2).getJson()))
+               .andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        performAsync(get("/students/search?lastName=z&size=1&fields=id,firstName"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(header().string(LINK, notNullValue()))
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].id", is(1)))
+               .andExpect(jsonPath("$[0].firstName", is("Jorge")))
+               .andExpect(jsonPath("$[0].lastName").doesNotExist())
+               .andExpect(jsonPath("$[0].classrooms").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(statistics.getEntityLoadCount(), is(0L));
+    }
+
+    @Test
+    public void testGetStudentsWithInvalidFields() throws Exception {
+        performAsync(get("/students/search?fields=id,age"))
+               .andExpect(status().isBadRequest())
+               .andExpect(status().reason(INVALID_FIELDS_REASON));
+        mockMvc.perform(get("/students?id=1&fields="))
+               .andExpect(status().isBadRequest())
+               .andExpect(status().reason(INVALID_FIELDS_REASON));
+    }
+
     @Test
     public void testGetStudents() throws Exception {
         Student student1 = new Student();
@@ -234,7 +373,7 @@ public class StudentApiControllerTests {
         mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
                                          .content(studentJacksonTester.write(student2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/search"))
+        performAsync(get("/students/search"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -248,6 +387,36 @@ public class StudentApiControllerTests {
                .andExpect(jsonPath("$[1].classrooms", empty()));
     }
 
+    @Test
+    public void testGetStudentsAsSmile() throws Exception {
+        Student student1 = new Student();
+        student1.setFirstName("Jorge");
+        student1.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student1).getJson()))
+               .andExpect(status().isOk());
+        Student student2 = new Student();
+        student2.setFirstName("Maria");
+        student2.setLastName("Lopez");
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).setFilterProvider(FieldSelection.defaultFilters());
+        mockMvc.perform(post("/students").contentType(APPLICATION_SMILE)
+                                         .content(smileMapper.writeValueAsBytes(student2)))
+               .andExpect(status().isOk());
+        byte[] body = performAsync(get("/students/search").accept(APPLICATION_SMILE))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType(APPLICATION_SMILE))
+                             .andExpect(header().string(VARY, ACCEPT))
+                             .andReturn().getResponse().getContentAsByteArray();
+        JsonNode students = smileMapper.readTree(body);
+        assertThat(students.size(), is(2));
+        assertThat(students.get(0).get("firstName").asText(), is("Jorge"));
+        assertThat(students.get(1).get("lastName").asText(), is("Lopez"));
+        assertThat(students.get(1).get("classrooms").size(), is(0));
+        performAsync(get("/students/search").accept(APPLICATION_JSON_UTF8, APPLICATION_SMILE))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8));
+    }
+
     @Test
     public void testGetStudentsByFirstName() throws Exception {
         Student student1 = new Student();
@@ -268,7 +437,7 @@ public class StudentApiControllerTests {
         mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
                                          .content(studentJacksonTester.write(student3).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/search?firstName=jorge"))
+        performAsync(get("/students/search?firstName=jorge"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -302,7 +471,7 @@ public class StudentApiControllerTests {
         mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
                                          .content(studentJacksonTester.write(student3).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/search?lastName=lopez"))
+        performAsync(get("/students/search?lastName=lopez"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -336,7 +505,7 @@ public class StudentApiControllerTests {
         mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
                                          .content(studentJacksonTester.write(student3).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/search?firstName=jorge&lastName=lopez"))
+        performAsync(get("/students/search?firstName=jorge&lastName=lopez"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(1)))
@@ -372,7 +541,7 @@ public class StudentApiControllerTests {
                .andExpect(status().isOk());
         mockMvc.perform(post("/students/1/class/INF-103"))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/classes?id=1"))
+        performAsync(get("/students/classes?id=1"))
                .andExpect(status().isOk())
                .andExpect(content().contentType(APPLICATION_JSON_UTF8))
                .andExpect(jsonPath("$", hasSize(2)))
@@ -384,6 +553,41 @@ public class StudentApiControllerTests {
                .andExpect(jsonPath("$[1].description", is("Programacion2")));
     }
 
+    @Test
+    public void testGetStudentsInFixedNumberOfStatements() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Student student = new Student();
+            student.setFirstName("Jorge" + i);
+            student.setLastName("Vasquez" + i);
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(post("/classes/INF-102/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1, 2, 3, 4, 5]"))
+               .andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        performAsync(get("/students/search").param("lastName", "vasq%"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(5)))
+               .andExpect(jsonPath("$[4].classrooms", hasSize(1)));
+        assertThat(statistics.getPrepareStatementCount(), is(2L));
+        statistics.clear();
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+    }
+
     @Test
     public void testGetNullStudentClassrooms() throws Exception {
         Classroom classroom1 = new Classroom();
@@ -400,7 +604,7 @@ public class StudentApiControllerTests {
         mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
                                         .content(classroomJacksonTester.write(classroom2).getJson()))
                .andExpect(status().isOk());
-        mockMvc.perform(get("/students/classes?id=1"))
+        performAsync(get("/students/classes?id=1"))
                .andExpect(status().isNotFound())
                .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
     }
@@ -425,6 +629,113 @@ public class StudentApiControllerTests {
                .andExpect(jsonPath("$.classrooms", nullValue()));
     }
 
+    @Test
+    public void testGetStudentByIdNotModified() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"0\""));
+        mockMvc.perform(get("/students?id=1").header(IF_NONE_MATCH, "\"0\""))
+               .andExpect(status().isNotModified())
+               .andExpect(header().string(ETAG, "\"0\""))
+               .andExpect(content().string(""));
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(post("/classes/INF-102/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1]"))
+               .andExpect(status().isOk());
+        String enrolledTag = mockMvc.perform(get("/students?id=1").header(IF_NONE_MATCH, "\"0\""))
+                                    .andExpect(status().isOk())
+                                    .andExpect(header().string(ETAG, startsWith("\"1-")))
+                                    .andExpect(jsonPath("$.classrooms", hasSize(1)))
+                                    .andReturn().getResponse().getHeader(ETAG);
+        classroom.setTitle("ProgramacionII");
+        mockMvc.perform(put("/classes").contentType(APPLICATION_JSON_UTF8)
+                                       .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students?id=1").header(IF_NONE_MATCH, enrolledTag))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, allOf(startsWith("\"1-"), not(enrolledTag))))
+               .andExpect(jsonPath("$.classrooms[0].title", is("ProgramacionII")));
+    }
+
+    @Test
+    public void testGetStudentsNotModified() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        String tag = performAsync(get("/students/search"))
+                            .andExpect(status().isOk())
+                            .andExpect(header().string(ETAG, notNullValue()))
+                            .andReturn().getResponse().getHeader(ETAG);
+        performAsync(get("/students/search").header(IF_NONE_MATCH, tag))
+               .andExpect(status().isNotModified());
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, notNullValue()));
+        student.setId(1);
+        student.setFirstName("Jose");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search").header(IF_NONE_MATCH, tag))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, not(tag)))
+               .andExpect(jsonPath("$[0].firstName", is("Jose")));
+    }
+
+    @Test
+    public void testUpdateStudentWithIfMatch() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        student.setId(1);
+        student.setFirstName("Jose");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .header(IF_MATCH, "\"0\"")
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"1\""))
+               .andExpect(jsonPath("$.firstName", is("Jose")));
+        student.setFirstName("Juan");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .header(IF_MATCH, "\"0\"")
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(status().reason(PRECONDITION_FAILED_REASON));
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .header(IF_MATCH, "W/\"1\"")
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(status().reason(PRECONDITION_FAILED_REASON));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(header().string(ETAG, "\"1\""))
+               .andExpect(jsonPath("$.firstName", is("Jose")));
+        student.setId(2);
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .header(IF_MATCH, "\"0\"")
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(status().reason(PRECONDITION_FAILED_REASON));
+    }
+
     @Test
     public void testUpdateNullStudent() throws Exception {
         Student student = new Student();
@@ -460,4 +771,497 @@ public class StudentApiControllerTests {
                .andExpect(status().isNoContent())
                .andExpect(status().reason(DELETE_ERROR_REASON));
     }
+
+    @Test
+    public void testDeleteStudents() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria", "Jose"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("Programacion");
+        classroom.setDescription("Programacion");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/3/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(2)));
+        performAsync(delete("/students/bulk").contentType(APPLICATION_JSON_UTF8)
+                                             .content("[1, 2, 99]"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.deleted", contains(1, 2)))
+               .andExpect(jsonPath("$.notFound", contains(99)));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isNotFound())
+               .andExpect(status().reason(STUDENT_NOT_FOUND_REASON));
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].id", contains(3)));
+        performAsync(get("/students/search?lastName=vasquez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Jose")));
+    }
+
+    @Test
+    public void testGetStudentsAfterCreateStudent() throws Exception {
+        Student student1 = new Student();
+        student1.setFirstName("Jorge");
+        student1.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student1).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        Student student2 = new Student();
+        student2.setFirstName("Jorge");
+        student2.setLastName("Lopez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student2).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(2)))
+               .andExpect(jsonPath("$[1].id", is(2)))
+               .andExpect(jsonPath("$[1].lastName", is("Lopez")));
+    }
+
+    @Test
+    public void testGetStudentsAfterUpdateStudent() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?lastName=vasquez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        performAsync(get("/students/search?lastName=perez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        student.setId(1);
+        student.setLastName("Perez");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?lastName=vasquez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(get("/students/search?lastName=perez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].lastName", is("Perez")));
+    }
+
+    @Test
+    public void testGetStudentsWhileUpdatingStudent() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        studentSearchIndex.load();
+        AtomicBoolean updating = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> searches = executor.submit(() -> {
+            while (updating.get()) {
+                performAsync(get("/students/search?lastName=perez")).andExpect(status().isOk());
+            }
+            return null;
+        });
+        try {
+            student.setId(1);
+            for (int i = 0; i < 50; i++) {
+                student.setLastName(i % 2 == 0 ? "Perez" : "Vasquez");
+                mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                                .content(studentJacksonTester.write(student).getJson()))
+                       .andExpect(status().isOk());
+                performAsync(get("/students/search?lastName=perez"))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$", hasSize(i % 2 == 0 ? 1 : 0)));
+            }
+        } finally {
+            updating.set(false);
+            searches.get(1, TimeUnit.MINUTES);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetStudentsAfterAssignStudentToClassroom() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].classrooms", empty()));
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=jorge"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].classrooms", hasSize(1)))
+               .andExpect(jsonPath("$[0].classrooms[0].code", is("INF-102")));
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].code", is("INF-102")));
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.classrooms", hasSize(1)));
+    }
+
+    @Test
+    public void testGetStudentClassroomsAfterRemoveStudentFromClassroom() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        Classroom classroom = new Classroom();
+        classroom.setCode("INF-102");
+        classroom.setTitle("ProgramacionI");
+        classroom.setDescription("Programacion1");
+        mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                        .content(classroomJacksonTester.write(classroom).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(delete("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/classes?id=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(get("/classes/students?code=INF-102"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    public void testGetStudentsByPage() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria", "Jose"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        String link = performAsync(get("/students/search?lastName=vasquez&size=2"))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+                             .andExpect(header().string(LINK, endsWith("; rel=\"next\"")))
+                             .andExpect(jsonPath("$", hasSize(2)))
+                             .andExpect(jsonPath("$[0].id", is(1)))
+                             .andExpect(jsonPath("$[1].id", is(2)))
+                             .andReturn().getResponse().getHeader(LINK);
+        assertThat(link, startsWith("<?lastName=vasquez&size=2&after="));
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        performAsync(get("/students/search" + next))
+               .andExpect(status().isOk())
+               .andExpect(header().doesNotExist(LINK))
+               .andExpect(jsonPath("$", hasSize(1)))
+               .andExpect(jsonPath("$[0].id", is(3)))
+               .andExpect(jsonPath("$[0].firstName", is("Jose")));
+    }
+
+    @Test
+    public void testGetStudentsByInvalidCursor() throws Exception {
+        performAsync(get("/students/search?after=invalid"))
+               .andExpect(status().isBadRequest())
+               .andExpect(status().reason(INVALID_CURSOR_REASON));
+    }
+
+    @Test
+    public void testExportStudents() throws Exception {
+        Student student1 = new Student();
+        student1.setFirstName("Jorge");
+        student1.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student1).getJson()))
+               .andExpect(status().isOk());
+        Student student2 = new Student();
+        student2.setFirstName("Maria");
+        student2.setLastName("Lopez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student2).getJson()))
+               .andExpect(status().isOk());
+        for (String code : new String[]{"INF-103", "INF-102"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+            mockMvc.perform(post("/students/1/class/" + code))
+                   .andExpect(status().isOk());
+        }
+        MvcResult result = mockMvc.perform(get("/students/export"))
+                                  .andExpect(status().isOk())
+                                  .andExpect(request().asyncStarted())
+                                  .andExpect(content().contentType(APPLICATION_NDJSON))
+                                  .andReturn();
+        result.getAsyncResult();
+        assertThat(result.getResponse().getContentAsString(),
+                   is("{\"id\":1,\"firstName\":\"Jorge\",\"lastName\":\"Vasquez\",\"classroomCodes\":[\"INF-102\",\"INF-103\"]}\n"
+                           + "{\"id\":2,\"firstName\":\"Maria\",\"lastName\":\"Lopez\",\"classroomCodes\":[]}\n"));
+    }
+
+    @Test
+    public void testImportStudents() throws Exception {
+        performAsync(post("/students/bulk").contentType(APPLICATION_JSON_UTF8)
+                                           .content("[{\"firstName\":\"Jorge\",\"lastName\":\"Vasquez\"},"
+                                                    + "{\"firstName\":\"Maria\"},"
+                                                    + "{\"id\":7,\"firstName\":\"Jose\",\"lastName\":\"Perez\"},"
+                                                    + "{\"firstName\":\"Jose\",\"lastName\":\"Perez\"}]"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.total", is(4)))
+               .andExpect(jsonPath("$.created", is(2)))
+               .andExpect(jsonPath("$.failed", is(2)))
+               .andExpect(jsonPath("$.rows[0].status", is("CREATED")))
+               .andExpect(jsonPath("$.rows[0].id", is(1)))
+               .andExpect(jsonPath("$.rows[1].status", is("FAILED")))
+               .andExpect(jsonPath("$.rows[1].message", notNullValue()))
+               .andExpect(jsonPath("$.rows[2].status", is("FAILED")))
+               .andExpect(jsonPath("$.rows[3].index", is(3)))
+               .andExpect(jsonPath("$.rows[3].status", is("CREATED")))
+               .andExpect(jsonPath("$.rows[3].id", is(2)));
+        mockMvc.perform(get("/students?id=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.firstName", is("Jose")))
+               .andExpect(jsonPath("$.lastName", is("Perez")));
+    }
+
+    @Test
+    public void testImportStudentsAsNdjson() throws Exception {
+        performAsync(get("/students/search?lastName=vasquez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(post("/students/bulk").contentType(APPLICATION_NDJSON)
+                                           .content("{\"firstName\":\"Jorge\",\"lastName\":\"Vasquez\"}\n"
+                                                    + "{\"firstName\":\"Maria\",\"lastName\":\"Vasquez\"}\n"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total", is(2)))
+               .andExpect(jsonPath("$.created", is(2)));
+        performAsync(get("/students/search?lastName=vasquez"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    public void testImportMalformedStudents() throws Exception {
+        performAsync(post("/students/bulk").contentType(APPLICATION_JSON_UTF8)
+                                           .content("[{\"firstName\":\"Jorge\","))
+               .andExpect(status().isBadRequest())
+               .andExpect(status().reason(MALFORMED_BODY_REASON));
+    }
+
+    @Test
+    public void testGetStudentsByNamePart() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria", "Jose"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        performAsync(get("/students/search?firstName=O"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Jorge", "Jose")));
+        performAsync(get("/students/search?firstName=ri"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Maria")));
+        performAsync(get("/students/search?firstName=ORGE"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Jorge")));
+        performAsync(get("/students/search?lastName=squeza"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        performAsync(get("/students/search").param("firstName", "j%e"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Jorge", "Jose")));
+        Student student = new Student();
+        student.setId(1);
+        student.setFirstName("Pedro");
+        student.setLastName("Vasquez");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        mockMvc.perform(delete("/students?id=3"))
+               .andExpect(status().isOk());
+        performAsync(get("/students/search?firstName=o"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].firstName", contains("Pedro")));
+        performAsync(get("/students/search?firstName=ORGE"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    public void testSuggestNames() throws Exception {
+        String[][] names = {{"Jorge", "Vasquez"}, {"Jose", "Vasquez"}, {"Maria", "Lopez"}, {"Javier", "Vargas"}};
+        for (String[] name : names) {
+            Student student = new Student();
+            student.setFirstName(name[0]);
+            student.setLastName(name[1]);
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/students/suggest?prefix=VA"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$[*].text", contains("Vasquez", "Vargas")))
+               .andExpect(jsonPath("$[*].count", contains(2, 1)));
+        mockMvc.perform(get("/students/suggest?prefix=j&size=2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].text", contains("Javier", "Jorge")));
+        mockMvc.perform(get("/students/suggest?prefix=x"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+        mockMvc.perform(delete("/students?id=1"))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/students/suggest?prefix=vas"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].text", contains("Vasquez")))
+               .andExpect(jsonPath("$[*].count", contains(1)));
+        mockMvc.perform(get("/students/suggest?prefix=jor"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    public void testGetStudentClassroomsFromSecondLevelCache() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        for (String code : new String[]{"INF-102", "INF-103"}) {
+            Classroom classroom = new Classroom();
+            classroom.setCode(code);
+            classroom.setTitle("Programacion");
+            classroom.setDescription("Programacion");
+            mockMvc.perform(post("/classes").contentType(APPLICATION_JSON_UTF8)
+                                            .content(classroomJacksonTester.write(classroom).getJson()))
+                   .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/students/1/class/INF-102"))
+               .andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        assertThat(countClassrooms(1), is(1));
+        statistics.clear();
+        assertThat(countClassrooms(1), is(1));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        performAsync(post("/classes/INF-103/students").contentType(APPLICATION_JSON_UTF8)
+                                                      .content("[1]"))
+               .andExpect(status().isOk());
+        assertThat(countClassrooms(1), is(2));
+    }
+
+    @Test
+    public void testGetStudentsByIds() throws Exception {
+        for (String firstName : new String[]{"Jorge", "Maria", "Jose"}) {
+            Student student = new Student();
+            student.setFirstName(firstName);
+            student.setLastName("Vasquez");
+            mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                             .content(studentJacksonTester.write(student).getJson()))
+                   .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/students?id=1"))
+               .andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        performAsync(get("/students/batch?ids=3,1,99,3,2"))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(APPLICATION_JSON_UTF8))
+               .andExpect(jsonPath("$.found[*].id", contains(3, 1, 2)))
+               .andExpect(jsonPath("$.found[0].firstName", is("Jose")))
+               .andExpect(jsonPath("$.found[0].classrooms", empty()))
+               .andExpect(jsonPath("$.notFound", contains(99)));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        statistics.clear();
+        performAsync(get("/students/batch?ids=1,2,3"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.found[*].id", contains(1, 2, 3)));
+        mockMvc.perform(get("/students?id=3"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.firstName", is("Jose")));
+        assertThat(statistics.getPrepareStatementCount(), is(0L));
+        Student student = new Student();
+        student.setId(3);
+        student.setFirstName("Pedro");
+        student.setLastName("Vasquez");
+        mockMvc.perform(put("/students").contentType(APPLICATION_JSON_UTF8)
+                                        .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        performAsync(get("/students/batch?ids=3"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.found[*].firstName", contains("Pedro")))
+               .andExpect(jsonPath("$.notFound", empty()));
+    }
+
+    @Test
+    public void testGetStudentsWhenBulkheadIsFull() throws Exception {
+        Student student = new Student();
+        student.setFirstName("Jorge");
+        student.setLastName("Vasquez");
+        mockMvc.perform(post("/students").contentType(APPLICATION_JSON_UTF8)
+                                         .content(studentJacksonTester.write(student).getJson()))
+               .andExpect(status().isOk());
+        BulkheadProperties.Pool pool = bulkheadProperties.getPool("students");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < pool.getPoolSize() + pool.getQueueCapacity(); i++) {
+                studentBulkhead.submit(() -> release.await(1, TimeUnit.MINUTES));
+            }
+            mockMvc.perform(get("/students/search?firstName=jorge"))
+                   .andExpect(status().isServiceUnavailable())
+                   .andExpect(status().reason(SERVICE_UNAVAILABLE_REASON));
+            mockMvc.perform(get("/students?id=1"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.firstName", is("Jorge")));
+        } finally {
+            release.countDown();
+        }
+    }
 }